@@ -4,8 +4,10 @@ import fc.coupon.core.CoreConfiguration;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @Import(CoreConfiguration.class)
+@EnableScheduling
 @SpringBootApplication
 public class CouponApiApplication {
 
@@ -2,14 +2,28 @@ package fc.coupon.api.controller;
 
 import fc.coupon.api.controller.dto.CouponIssueResponse;
 import fc.coupon.core.exception.CouponIssueException;
+import fc.coupon.core.exception.ErrorCode;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.util.EnumMap;
+import java.util.Map;
+
 @RestControllerAdvice
 public class CouponControllerAdvice {
+    /**
+     * 응답은 ErrorCode 로만 결정되므로 미리 만들어두고 재사용한다.
+     */
+    private static final Map<ErrorCode, CouponIssueResponse> RESPONSES = new EnumMap<>(ErrorCode.class);
+
+    static {
+        for (ErrorCode errorCode : ErrorCode.values()) {
+            RESPONSES.put(errorCode, new CouponIssueResponse(false, errorCode.message));
+        }
+    }
 
     @ExceptionHandler(CouponIssueException.class)
     public CouponIssueResponse couponIssueExceptionHandler(CouponIssueException e) {
-        return new CouponIssueResponse(false, e.getErrorCode().message);
+        return RESPONSES.get(e.getErrorCode());
     }
 }
@@ -2,11 +2,17 @@ package fc.coupon.api.controller;
 
 import fc.coupon.api.controller.dto.CouponIssueRequestDto;
 import fc.coupon.api.controller.dto.CouponIssueResponse;
+import fc.coupon.api.controller.dto.WaitingRoomResponse;
 import fc.coupon.api.service.CouponIssueRequestService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletableFuture;
 
 @RequiredArgsConstructor
 @RestController
@@ -27,4 +33,68 @@ public class CouponIssueController {
         this.couponIssueRequestService.asyncIssue(body);
         return new CouponIssueResponse(true, null);
     }
+
+    /**
+     * Redis 스크립트 기반 비동기 쿠폰 발급
+     */
+    @PostMapping("/v2/issue-async")
+    public CouponIssueResponse asyncIssueV2(@RequestBody CouponIssueRequestDto body) {
+        this.couponIssueRequestService.asyncIssueV2(body);
+        return new CouponIssueResponse(true, null);
+    }
+
+    /**
+     * Redis 샤딩된 재고 기반 비동기 쿠폰 발급
+     */
+    @PostMapping("/v2/issue-async-sharded")
+    public CouponIssueResponse asyncIssueSharded(@RequestBody CouponIssueRequestDto body) {
+        this.couponIssueRequestService.asyncIssueSharded(body);
+        return new CouponIssueResponse(true, null);
+    }
+
+    /**
+     * Redis 발급 토큰 기반 비동기 쿠폰 발급
+     */
+    @PostMapping("/v2/issue-async-token")
+    public CouponIssueResponse asyncIssueToken(@RequestBody CouponIssueRequestDto body) {
+        this.couponIssueRequestService.asyncIssueToken(body);
+        return new CouponIssueResponse(true, null);
+    }
+
+    /**
+     * Redis 스크립트 기반 non-blocking 비동기 쿠폰 발급
+     * 레디스 응답을 기다리는 동안 요청 스레드를 반환하고 (Servlet async) 응답이 오면 이어서 처리한다.
+     */
+    @PostMapping("/v2/issue-async-reactive")
+    public Mono<CouponIssueResponse> asyncIssueReactive(@RequestBody CouponIssueRequestDto body) {
+        return this.couponIssueRequestService.asyncIssueReactive(body)
+                .thenReturn(new CouponIssueResponse(true, null));
+    }
+
+    /**
+     * 요청을 쿠폰 단위로 모아서 처리하는 비동기 쿠폰 발급 (coupon.issue.batch.enabled)
+     * 요청이 모이는 동안 요청 스레드를 반환하고 (Servlet async) batch가 처리되면 이어서 응답한다.
+     */
+    @PostMapping("/v2/issue-async-batch")
+    public CompletableFuture<CouponIssueResponse> asyncIssueBatch(@RequestBody CouponIssueRequestDto body) {
+        return this.couponIssueRequestService.asyncIssueBatch(body)
+                .thenApply(ignored -> new CouponIssueResponse(true, null));
+    }
+
+    /**
+     * 대기열 등록 (coupon.issue.waiting-room)
+     * 발급 시작 전에도 등록할 수 있고, 발급이 시작되면 대기 순서대로 입장하여 발급된다.
+     */
+    @PostMapping("/v1/waiting-room")
+    public WaitingRoomResponse enterWaitingRoom(@RequestBody CouponIssueRequestDto body) {
+        return new WaitingRoomResponse(this.couponIssueRequestService.enterWaitingRoom(body));
+    }
+
+    /**
+     * 대기 순번, 발급 결과 조회
+     */
+    @GetMapping("/v1/waiting-room")
+    public WaitingRoomResponse getWaitingRoomStatus(@RequestParam long couponId, @RequestParam long userId) {
+        return new WaitingRoomResponse(this.couponIssueRequestService.getWaitingRoomStatus(couponId, userId));
+    }
 }
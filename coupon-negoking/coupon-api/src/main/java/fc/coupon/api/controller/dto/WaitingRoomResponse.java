@@ -0,0 +1,17 @@
+package fc.coupon.api.controller.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import fc.coupon.core.repository.redis.dto.WaitingRoomStatus;
+
+/**
+ * @param status   WAITING(대기중), ADMITTED(입장), NOT_FOUND(대기열에 없음)
+ * @param position 대기 순번, 대기중일 때만 반환한다.
+ * @param result   발급 결과 (PROCESSING, SUCCESS, ErrorCode), 입장했을 때만 반환한다.
+ */
+@JsonInclude(value = JsonInclude.Include.NON_NULL)
+public record WaitingRoomResponse(String status, Long position, String result) {
+
+    public WaitingRoomResponse(WaitingRoomStatus status) {
+        this(status.state().name(), status.position(), status.result());
+    }
+}
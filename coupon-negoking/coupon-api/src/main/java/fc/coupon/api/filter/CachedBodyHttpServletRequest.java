@@ -0,0 +1,124 @@
+package fc.coupon.api.filter;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import org.springframework.util.StreamUtils;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 요청 body를 필터에서 읽은 뒤에도 컨트롤러에서 다시 읽을 수 있도록 바이트로 보관한다.
+ * ContentCachingRequestWrapper 는 컨트롤러가 읽은 뒤에만 body를 확인할 수 있어 사용하지 않는다.
+ * 큰 body로 메모리를 점유하지 않도록 maxBodySize 까지만 읽고, 초과하면 BodyTooLargeException 을 던진다.
+ */
+class CachedBodyHttpServletRequest extends HttpServletRequestWrapper {
+    private final byte[] body;
+
+    CachedBodyHttpServletRequest(HttpServletRequest request, int maxBodySize) throws IOException {
+        super(request);
+        if (request.getContentLengthLong() > maxBodySize) {
+            throw new BodyTooLargeException();
+        }
+        // Content-Length 없이(chunked) 보내는 경우를 위해 한 바이트 더 읽어서 초과 여부를 확인한다.
+        final byte[] read = StreamUtils.copyToByteArray(limit(request.getInputStream(), maxBodySize + 1L));
+        if (read.length > maxBodySize) {
+            throw new BodyTooLargeException();
+        }
+        this.body = read;
+    }
+
+    byte[] getBody() {
+        return body;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+        final ByteArrayInputStream inputStream = new ByteArrayInputStream(body);
+        return new ServletInputStream() {
+            @Override
+            public boolean isFinished() {
+                return inputStream.available() == 0;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            /**
+             * body는 이미 메모리에 있으므로 등록 즉시 읽을 수 있음을 알린다.
+             */
+            @Override
+            public void setReadListener(ReadListener listener) {
+                try {
+                    listener.onDataAvailable();
+                    if (isFinished()) {
+                        listener.onAllDataRead();
+                    }
+                } catch (IOException e) {
+                    listener.onError(e);
+                }
+            }
+
+            @Override
+            public int read() {
+                return inputStream.read();
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                return inputStream.read(b, off, len);
+            }
+        };
+    }
+
+    @Override
+    public BufferedReader getReader() {
+        final Charset charset = getCharacterEncoding() != null ? Charset.forName(getCharacterEncoding()) : StandardCharsets.UTF_8;
+        return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+    }
+
+    private static InputStream limit(InputStream inputStream, long limit) {
+        return new InputStream() {
+            private long remaining = limit;
+
+            @Override
+            public int read() throws IOException {
+                if (remaining <= 0) {
+                    return -1;
+                }
+                final int read = inputStream.read();
+                if (read != -1) {
+                    remaining--;
+                }
+                return read;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                if (remaining <= 0) {
+                    return -1;
+                }
+                final int read = inputStream.read(b, off, (int) Math.min(len, remaining));
+                if (read > 0) {
+                    remaining -= read;
+                }
+                return read;
+            }
+        };
+    }
+
+    static class BodyTooLargeException extends IOException {
+        BodyTooLargeException() {
+            super("request body too large");
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package fc.coupon.api.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fc.coupon.api.controller.dto.CouponIssueRequestDto;
+import fc.coupon.api.controller.dto.CouponIssueResponse;
+import fc.coupon.core.component.CouponIssueRateLimiter;
+import fc.coupon.core.exception.ErrorCode;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 쿠폰 발급 요청(POST /v1/issue*, /v2/issue*, /v1/waiting-room)의 사용자별, 쿠폰별 요청 수를 제한한다.
+ * 반복 클릭, 봇 요청을 쿠폰 조회, lock, 레디스 발급 스크립트에 도달하기 전에 거절한다.
+ * 제한을 초과하면 429 (TOO_MANY_REQUESTS)로 응답한다.
+ *
+ * 대기열 등록은 입장 단계에서 처리량을 제어하므로 사용자별 요청 수만 제한한다.
+ * body는 MAX_BODY_SIZE 까지만 읽고 초과하면 413 (PAYLOAD_TOO_LARGE)로 응답한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class CouponIssueRateLimitFilter extends OncePerRequestFilter {
+    private static final String WAITING_ROOM_PATH = "/v1/waiting-room";
+    private static final List<String> PATH_PREFIXES = List.of("/v1/issue", "/v2/issue", WAITING_ROOM_PATH);
+
+    /**
+     * 발급 요청 body는 couponId, userId 뿐이므로 수 KB를 넘으면 정상 요청이 아니다.
+     */
+    static final int MAX_BODY_SIZE = 4 * 1024;
+
+    private final CouponIssueRateLimiter couponIssueRateLimiter;
+    private final ObjectMapper objectMapper;
+
+    private byte[] tooManyRequestsBody;
+    private byte[] payloadTooLargeBody;
+
+    @Override
+    protected void initFilterBean() {
+        try {
+            tooManyRequestsBody = objectMapper.writeValueAsBytes(new CouponIssueResponse(false, ErrorCode.TOO_MANY_REQUESTS.message));
+            payloadTooLargeBody = objectMapper.writeValueAsBytes(new CouponIssueResponse(false, ErrorCode.PAYLOAD_TOO_LARGE.message));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!HttpMethod.POST.matches(request.getMethod())) {
+            return true;
+        }
+        final String path = request.getRequestURI();
+        return PATH_PREFIXES.stream().noneMatch(path::startsWith);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        final CachedBodyHttpServletRequest cachedRequest;
+        try {
+            cachedRequest = new CachedBodyHttpServletRequest(request, MAX_BODY_SIZE);
+        } catch (CachedBodyHttpServletRequest.BodyTooLargeException e) {
+            reject(response, HttpStatus.PAYLOAD_TOO_LARGE, payloadTooLargeBody);
+            return;
+        }
+
+        final CouponIssueRequestDto body;
+        try {
+            body = objectMapper.readValue(cachedRequest.getBody(), CouponIssueRequestDto.class);
+        } catch (IOException e) {
+            // 잘못된 요청은 컨트롤러에서 처리한다.
+            filterChain.doFilter(cachedRequest, response);
+            return;
+        }
+
+        final boolean acquired = request.getRequestURI().startsWith(WAITING_ROOM_PATH)
+                ? couponIssueRateLimiter.tryAcquireUser(body.couponId(), body.userId())
+                : couponIssueRateLimiter.tryAcquire(body.couponId(), body.userId());
+        if (!acquired) {
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, tooManyRequestsBody);
+            return;
+        }
+        filterChain.doFilter(cachedRequest, response);
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, byte[] body) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getOutputStream().write(body);
+    }
+}
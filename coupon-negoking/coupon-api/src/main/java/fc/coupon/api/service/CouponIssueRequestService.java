@@ -1,12 +1,29 @@
 package fc.coupon.api.service;
 
 import fc.coupon.api.controller.dto.CouponIssueRequestDto;
+import fc.coupon.core.component.CouponIssueMetrics;
+import fc.coupon.core.component.CouponIssueMetrics.Stage;
 import fc.coupon.core.component.DistributeLockExecutor;
+import fc.coupon.core.configuration.CouponIssueProperties;
+import fc.coupon.core.repository.redis.dto.WaitingRoomStatus;
 import fc.coupon.core.service.AsyncCouponIssueService;
+import fc.coupon.core.service.AsyncCouponIssueServiceV2;
+import fc.coupon.core.service.BatchAsyncCouponIssueService;
+import fc.coupon.core.service.ConditionalUpdateCouponIssueService;
 import fc.coupon.core.service.CouponIssueService;
+import fc.coupon.core.service.InMemoryCouponIssueService;
+import fc.coupon.core.service.ReactiveAsyncCouponIssueService;
+import fc.coupon.core.service.ShardedAsyncCouponIssueService;
+import fc.coupon.core.service.TokenPoolAsyncCouponIssueService;
+import fc.coupon.core.service.WaitingRoomService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantLock;
 
 import static fc.coupon.core.component.DistributeLockExecutor.LOCK_PREFIX;
 
@@ -16,23 +33,50 @@ import static fc.coupon.core.component.DistributeLockExecutor.LOCK_PREFIX;
 public class CouponIssueRequestService {
     private final CouponIssueService couponIssueService;
     private final DistributeLockExecutor lockExecutor;
+    private final CouponIssueProperties couponIssueProperties;
+    private final ObjectProvider<InMemoryCouponIssueService> inMemoryCouponIssueService;
+    private final ConditionalUpdateCouponIssueService conditionalUpdateCouponIssueService;
+    private final CouponIssueMetrics metrics;
+
+    private final ReentrantLock issueLock = new ReentrantLock();
 
     private final AsyncCouponIssueService asyncCouponIssueService;
+    private final AsyncCouponIssueServiceV2 asyncCouponIssueServiceV2;
+    private final ShardedAsyncCouponIssueService shardedAsyncCouponIssueService;
+    private final ReactiveAsyncCouponIssueService reactiveAsyncCouponIssueService;
+    private final BatchAsyncCouponIssueService batchAsyncCouponIssueService;
+    private final TokenPoolAsyncCouponIssueService tokenPoolAsyncCouponIssueService;
+    private final WaitingRoomService waitingRoomService;
 
+    /**
+     * coupon.issue.strategy 설정에 따라 동기 쿠폰 발급 방식을 선택한다.
+     */
     public void issueV1(CouponIssueRequestDto requestDto) {
-        // this.issueV1WithSynchronized(requestDto);
-        this.issueV1WithRedisDistributeLock(requestDto);
-        // this.issueV1WithXLock(requestDto);
-        log.info("쿠폰 발급 완료. couponId : %s, userId : %s".formatted(requestDto.couponId(), requestDto.userId()));
+        metrics.observe(Stage.ISSUE_V1, requestDto.couponId(), () -> {
+            switch (couponIssueProperties.getStrategy()) {
+                case SYNCHRONIZED -> this.issueV1WithSynchronized(requestDto);
+                case REDIS_LOCK -> this.issueV1WithRedisDistributeLock(requestDto);
+                case X_LOCK -> this.issueV1WithXLock(requestDto);
+                case IN_MEMORY -> this.issueV1InMemory(requestDto);
+                case CONDITIONAL_UPDATE -> this.issueV1WithConditionalUpdate(requestDto);
+            }
+        });
+        log.debug("쿠폰 발급 완료. couponId : {}, userId : {}", requestDto.couponId(), requestDto.userId());
     }
 
     /**
      * synchronized는 어플리케이션에 종속되기 때문에
      * 여러 서버로 확장되면 lock을 관리할 수 없어 분산락을 구현해야한다.
+     *
+     * synchronized 블록 안에서 DB I/O를 기다리면 가상 스레드가 캐리어 스레드에 고정(pinning)되므로
+     * 같은 의미의 ReentrantLock을 사용한다.
      */
     public void issueV1WithSynchronized(CouponIssueRequestDto requestDto) {
-        synchronized (this) {
+        issueLock.lock();
+        try {
             couponIssueService.issue(requestDto.couponId(), requestDto.userId());
+        } finally {
+            issueLock.unlock();
         }
     }
 
@@ -41,7 +85,7 @@ public class CouponIssueRequestService {
      */
     public void issueV1WithRedisDistributeLock(CouponIssueRequestDto requestDto) {
         final String lockName = LOCK_PREFIX + requestDto.couponId();
-        lockExecutor.execute(lockName, 5_000, 5_000,
+        lockExecutor.execute(lockName,
                 () -> couponIssueService.issue(requestDto.couponId(), requestDto.userId())
         );
     }
@@ -54,10 +98,73 @@ public class CouponIssueRequestService {
         couponIssueService.issueWithXLock(requestDto.couponId(), requestDto.userId());
     }
 
+    /**
+     * mysql 조건부 UPDATE (조회, lock 없이 수량 검증과 증가를 한번에 처리)
+     */
+    public void issueV1WithConditionalUpdate(CouponIssueRequestDto requestDto) {
+        conditionalUpdateCouponIssueService.issue(requestDto.couponId(), requestDto.userId());
+    }
+
+    /**
+     * lock 없이 메모리에서 발급, 발급 내역은 모아서 DB에 저장한다. (서버가 하나인 경우)
+     */
+    public void issueV1InMemory(CouponIssueRequestDto requestDto) {
+        inMemoryCouponIssueService.getObject().issue(requestDto.couponId(), requestDto.userId());
+    }
+
     /**
      * redis 기반 비동기 쿠폰 발급
      */
     public void asyncIssue(CouponIssueRequestDto requestDto) {
         asyncCouponIssueService.issue(requestDto.couponId(), requestDto.userId());
     }
+
+    /**
+     * redis 스크립트 기반 비동기 쿠폰 발급 (lock 없음)
+     */
+    public void asyncIssueV2(CouponIssueRequestDto requestDto) {
+        asyncCouponIssueServiceV2.issue(requestDto.couponId(), requestDto.userId());
+    }
+
+    /**
+     * redis 샤딩된 재고 기반 비동기 쿠폰 발급 (요청이 몰리는 단일 쿠폰용)
+     */
+    public void asyncIssueSharded(CouponIssueRequestDto requestDto) {
+        shardedAsyncCouponIssueService.issue(requestDto.couponId(), requestDto.userId());
+    }
+
+    /**
+     * redis 스크립트 기반 non-blocking 비동기 쿠폰 발급
+     */
+    public Mono<Void> asyncIssueReactive(CouponIssueRequestDto requestDto) {
+        return reactiveAsyncCouponIssueService.issue(requestDto.couponId(), requestDto.userId());
+    }
+
+    /**
+     * redis 발급 토큰 기반 비동기 쿠폰 발급 (발급 수량이 정해진 쿠폰용)
+     */
+    public void asyncIssueToken(CouponIssueRequestDto requestDto) {
+        tokenPoolAsyncCouponIssueService.issue(requestDto.couponId(), requestDto.userId());
+    }
+
+    /**
+     * 같은 쿠폰에 대한 요청을 모아서 한번에 처리하는 비동기 쿠폰 발급
+     */
+    public CompletableFuture<Void> asyncIssueBatch(CouponIssueRequestDto requestDto) {
+        return batchAsyncCouponIssueService.issue(requestDto.couponId(), requestDto.userId());
+    }
+
+    /**
+     * 대기열 등록, 발급은 대기 순서대로 입장할 때 처리된다.
+     */
+    public WaitingRoomStatus enterWaitingRoom(CouponIssueRequestDto requestDto) {
+        return waitingRoomService.enter(requestDto.couponId(), requestDto.userId());
+    }
+
+    /**
+     * 대기 순번, 발급 결과 조회
+     */
+    public WaitingRoomStatus getWaitingRoomStatus(long couponId, long userId) {
+        return waitingRoomService.getStatus(couponId, userId);
+    }
 }
@@ -0,0 +1,69 @@
+package fc.coupon.api.controller;
+
+import fc.coupon.core.model.Coupon;
+import fc.coupon.core.model.CouponType;
+import fc.coupon.core.repository.mysql.CouponIssueJpaRepository;
+import fc.coupon.core.repository.mysql.CouponJpaRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.config.name=application-core",
+        "coupon.issue.rate-limit.enabled=true"
+})
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class CouponIssueControllerTest {
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    CouponJpaRepository couponJpaRepository;
+
+    @Autowired
+    CouponIssueJpaRepository couponIssueJpaRepository;
+
+    @Test
+    @DisplayName("요청 수 제한 필터를 거친 요청도 컨트롤러에서 body를 읽어 발급한다.")
+    void issue() throws Exception {
+        // given
+        Coupon coupon = saveCoupon();
+        long userId = System.nanoTime();
+
+        // when & then
+        mockMvc.perform(post("/v1/issue")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userId\":" + userId + ",\"couponId\":" + coupon.getId() + "}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.isSuccess").value(true));
+        assertThat(couponIssueJpaRepository.findAllUserIdByCouponId(coupon.getId())).containsExactly(userId);
+    }
+
+    private Coupon saveCoupon() {
+        final Coupon coupon = Coupon.builder().couponType(CouponType.FIRST_COME_FIRST_SERVED)
+                .title("선착순 테스트 쿠폰")
+                .totalQuantity(100)
+                .issuedQuantity(0)
+                .dateIssueStart(LocalDateTime.now().minusDays(1))
+                .dateIssueEnd(LocalDateTime.now().plusDays(1))
+                .build();
+        return couponJpaRepository.save(coupon);
+    }
+}
@@ -0,0 +1,65 @@
+package fc.coupon.api.filter;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CachedBodyHttpServletRequestTest {
+
+    @Test
+    @DisplayName("non-blocking 으로 읽어도 body 전체를 전달하고 읽기 완료를 알린다.")
+    void setReadListener() throws IOException {
+        // given
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/v1/issue");
+        request.setContent("body".getBytes(StandardCharsets.UTF_8));
+        ServletInputStream inputStream = new CachedBodyHttpServletRequest(request, 16).getInputStream();
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        boolean[] allDataRead = {false};
+
+        // when
+        inputStream.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                while (inputStream.isReady() && !inputStream.isFinished()) {
+                    read.write(inputStream.read());
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                allDataRead[0] = true;
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                throw new AssertionError(t);
+            }
+        });
+
+        // then
+        assertThat(read.toString(StandardCharsets.UTF_8)).isEqualTo("body");
+        assertThat(allDataRead[0]).isTrue();
+    }
+
+    @Test
+    @DisplayName("최대 크기와 같은 body는 허용하고 초과하면 예외가 발생한다.")
+    void maxBodySize() throws IOException {
+        // given
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/v1/issue");
+        request.setContent(new byte[16]);
+
+        // when & then
+        assertThat(new CachedBodyHttpServletRequest(request, 16).getBody()).hasSize(16);
+        assertThatThrownBy(() -> new CachedBodyHttpServletRequest(request, 15))
+                .isInstanceOf(CachedBodyHttpServletRequest.BodyTooLargeException.class);
+    }
+}
@@ -0,0 +1,146 @@
+package fc.coupon.api.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fc.coupon.core.component.CouponIssueRateLimiter;
+import fc.coupon.core.configuration.CouponIssueProperties;
+import fc.coupon.core.exception.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StreamUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CouponIssueRateLimitFilterTest {
+    private static final String BODY = "{\"userId\":1,\"couponId\":2}";
+
+    StubRateLimiter rateLimiter;
+    CouponIssueRateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        rateLimiter = new StubRateLimiter();
+        filter = new CouponIssueRateLimitFilter(rateLimiter, new ObjectMapper());
+        filter.afterPropertiesSet();
+    }
+
+    @Test
+    @DisplayName("제한을 초과하면 컨트롤러로 넘기지 않고 429로 응답한다.")
+    void doFilter_tooManyRequests() throws Exception {
+        // given
+        rateLimiter.acquired = false;
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // when
+        filter.doFilter(post("/v1/issue", BODY), response, chain);
+
+        // then
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(response.getContentAsString(StandardCharsets.UTF_8)).contains(ErrorCode.TOO_MANY_REQUESTS.message);
+        assertThat(chain.getRequest()).isNull();
+        assertThat(rateLimiter.calls).containsExactly("coupon:2:1");
+    }
+
+    @Test
+    @DisplayName("허용된 요청은 필터에서 읽은 body를 컨트롤러에서 다시 읽을 수 있다.")
+    void doFilter_passBody() throws Exception {
+        // given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // when
+        filter.doFilter(post("/v2/issue-async", BODY), response, chain);
+
+        // then
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(StreamUtils.copyToString(chain.getRequest().getInputStream(), StandardCharsets.UTF_8)).isEqualTo(BODY);
+    }
+
+    @Test
+    @DisplayName("대기열 등록은 사용자 버킷만 검사한다.")
+    void doFilter_waitingRoom() throws Exception {
+        // when
+        filter.doFilter(post("/v1/waiting-room", BODY), new MockHttpServletResponse(), new MockFilterChain());
+
+        // then
+        assertThat(rateLimiter.calls).containsExactly("user:2:1");
+    }
+
+    @Test
+    @DisplayName("body가 최대 크기를 초과하면 읽지 않고 413으로 응답한다.")
+    void doFilter_payloadTooLarge() throws Exception {
+        // given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        String body = "{\"userId\":1,\"couponId\":2,\"padding\":\"" + "a".repeat(CouponIssueRateLimitFilter.MAX_BODY_SIZE) + "\"}";
+
+        // when
+        filter.doFilter(post("/v1/issue", body), response, chain);
+
+        // then
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE.value());
+        assertThat(chain.getRequest()).isNull();
+        assertThat(rateLimiter.calls).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Content-Length 없이 보낸 body도 최대 크기를 초과하면 413으로 응답한다.")
+    void doFilter_payloadTooLarge_chunked() throws Exception {
+        // given
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/v1/issue") {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+        request.setContent(new byte[CouponIssueRateLimitFilter.MAX_BODY_SIZE + 1]);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // when
+        filter.doFilter(request, response, new MockFilterChain());
+
+        // then
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE.value());
+    }
+
+    private static MockHttpServletRequest post(String uri, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    /**
+     * 레디스 없이 허용 여부를 정하고 호출된 버킷을 기록한다.
+     */
+    static class StubRateLimiter extends CouponIssueRateLimiter {
+        boolean acquired = true;
+        final List<String> calls = new ArrayList<>();
+
+        StubRateLimiter() {
+            super(null, null, new CouponIssueProperties(), new SimpleMeterRegistry());
+        }
+
+        @Override
+        public boolean tryAcquire(long couponId, long userId) {
+            calls.add("coupon:" + couponId + ":" + userId);
+            return acquired;
+        }
+
+        @Override
+        public boolean tryAcquireUser(long couponId, long userId) {
+            calls.add("user:" + couponId + ":" + userId);
+            return acquired;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+plugins {
+    id("me.champeau.jmh") version "0.7.2"
+}
+
+val bootJar: org.springframework.boot.gradle.tasks.bundling.BootJar by tasks
+bootJar.enabled = false
+
+repositories {
+    mavenCentral()
+}
+
+dependencies {
+    jmh(project(":coupon-core"))
+    jmh("org.redisson:redisson-spring-boot-starter:3.16.4")
+    jmh("com.fasterxml.jackson.core:jackson-databind")
+    jmh("com.github.codemonstur:embedded-redis:1.4.3")
+    jmh("com.h2database:h2")
+}
+
+/**
+ * ./gradlew :coupon-benchmark:jmh -PjmhIncludes=IssueStrategyBenchmark
+ * 할당량 측정 : ./gradlew :coupon-benchmark:jmh -PjmhIncludes=RejectionPathBenchmark -PjmhProfilers=gc
+ * 결과는 build/results/jmh/results.json 에 저장된다.
+ */
+jmh {
+    jmhVersion.set("1.37")
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    resultFormat.set("JSON")
+    (project.findProperty("jmhIncludes") as String?)?.let { includes.set(listOf(it)) }
+    (project.findProperty("jmhProfilers") as String?)?.let { profilers.set(it.split(",")) }
+}
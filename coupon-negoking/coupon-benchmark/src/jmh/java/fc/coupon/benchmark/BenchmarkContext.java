@@ -0,0 +1,50 @@
+package fc.coupon.benchmark;
+
+import fc.coupon.core.CoreConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import redis.embedded.RedisServer;
+
+/**
+ * 벤치마크용 실행 환경
+ * 외부 인프라 없이 embedded redis와 H2(test 프로파일)로 coupon-core를 띄운다.
+ */
+public class BenchmarkContext implements AutoCloseable {
+    private static final int REDIS_PORT = 6390;
+
+    private final RedisServer redisServer;
+    private final ConfigurableApplicationContext applicationContext;
+
+    private BenchmarkContext(RedisServer redisServer, ConfigurableApplicationContext applicationContext) {
+        this.redisServer = redisServer;
+        this.applicationContext = applicationContext;
+    }
+
+    public static BenchmarkContext start() throws Exception {
+        final RedisServer redisServer = new RedisServer(REDIS_PORT);
+        redisServer.start();
+
+        final ConfigurableApplicationContext applicationContext = new SpringApplicationBuilder(CoreConfiguration.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties(
+                        "spring.config.name=application-core",
+                        "spring.data.redis.port=" + REDIS_PORT,
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=warn"
+                )
+                .run();
+        return new BenchmarkContext(redisServer, applicationContext);
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return applicationContext.getBean(type);
+    }
+
+    @Override
+    public void close() throws Exception {
+        applicationContext.close();
+        redisServer.stop();
+    }
+}
@@ -0,0 +1,48 @@
+package fc.coupon.benchmark;
+
+import fc.coupon.core.model.Coupon;
+import fc.coupon.core.model.CouponType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coupon 엔티티의 발급 검증 비용
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CouponIssueBenchmark {
+    private Coupon coupon;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        coupon = Coupon.builder()
+                .title("벤치마크 쿠폰")
+                .couponType(CouponType.FIRST_COME_FIRST_SERVED)
+                .totalQuantity(null)
+                .issuedQuantity(0)
+                .dateIssueStart(LocalDateTime.now().minusDays(1))
+                .dateIssueEnd(LocalDateTime.now().plusDays(1))
+                .build();
+    }
+
+    @Benchmark
+    public int issue() {
+        coupon.issue();
+        return coupon.getIssuedQuantity();
+    }
+
+    @Benchmark
+    public boolean availableIssueDate() {
+        return coupon.availableIssueDate();
+    }
+}
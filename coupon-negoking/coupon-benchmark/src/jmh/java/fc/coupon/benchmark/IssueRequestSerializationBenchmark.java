@@ -0,0 +1,64 @@
+package fc.coupon.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fc.coupon.core.repository.redis.codec.BinaryCouponIssueRequestCodec;
+import fc.coupon.core.repository.redis.codec.JsonCouponIssueRequestCodec;
+import fc.coupon.core.repository.redis.dto.CouponIssueRequestDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 발급 Queue에 적재하는 요청의 직렬화 비용 (CouponIssueRequestSerializer)
+ * -prof gc 옵션으로 요청당 할당량(gc.alloc.rate.norm)을 함께 비교한다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class IssueRequestSerializationBenchmark {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JsonCouponIssueRequestCodec jsonCodec = new JsonCouponIssueRequestCodec();
+    private final BinaryCouponIssueRequestCodec binaryCodec = new BinaryCouponIssueRequestCodec();
+    private final String serialized = "{\"couponId\":3,\"userId\":1234567}";
+    private final byte[] binarySerialized = binaryCodec.encode(3, 1234567);
+
+    private long userId;
+
+    /**
+     * 기존 방식 (DTO 생성 + 문자열 JSON)
+     */
+    @Benchmark
+    public String serialize() throws JsonProcessingException {
+        final CouponIssueRequestDto request = CouponIssueRequestDto.builder()
+                .couponId(3)
+                .userId(++userId)
+                .build();
+        return objectMapper.writeValueAsString(request);
+    }
+
+    @Benchmark
+    public CouponIssueRequestDto deserialize() throws JsonProcessingException {
+        return objectMapper.readValue(serialized, CouponIssueRequestDto.class);
+    }
+
+    @Benchmark
+    public byte[] serializeJson() {
+        return jsonCodec.encode(3, ++userId);
+    }
+
+    @Benchmark
+    public byte[] serializeBinary() {
+        return binaryCodec.encode(3, ++userId);
+    }
+
+    @Benchmark
+    public CouponIssueRequestDto deserializeBinary() {
+        return binaryCodec.decode(binarySerialized);
+    }
+}
@@ -0,0 +1,156 @@
+package fc.coupon.benchmark;
+
+import fc.coupon.core.component.DistributeLockExecutor;
+import fc.coupon.core.exception.CouponIssueException;
+import fc.coupon.core.exception.ErrorCode;
+import fc.coupon.core.model.Coupon;
+import fc.coupon.core.model.CouponType;
+import fc.coupon.core.repository.mysql.CouponJpaRepository;
+import fc.coupon.core.service.AsyncCouponIssueService;
+import fc.coupon.core.service.AsyncCouponIssueServiceV2;
+import fc.coupon.core.service.ConditionalUpdateCouponIssueService;
+import fc.coupon.core.service.CouponIssueService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static fc.coupon.core.component.DistributeLockExecutor.LOCK_PREFIX;
+
+/**
+ * 발급 전략별 end-to-end 처리량과 지연 시간
+ * 같은 쿠폰에 여러 스레드가 동시에 요청하는 상황을 재현한다.
+ * soldOut* 는 매진된 쿠폰에 요청이 계속 몰리는 상황에서 DB 기반 전략의 거절 비용을 비교한다.
+ *
+ * 실제 MySQL, Redis와 네트워크 비용이 다르므로 절대값보다 전략간 상대 비교와 회귀 확인 용도로 사용한다.
+ */
+@State(Scope.Benchmark)
+@Threads(8)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class IssueStrategyBenchmark {
+    private final AtomicLong userIdSequence = new AtomicLong();
+    private final Object monitor = new Object();
+
+    private BenchmarkContext context;
+    private CouponIssueService couponIssueService;
+    private AsyncCouponIssueService asyncCouponIssueService;
+    private AsyncCouponIssueServiceV2 asyncCouponIssueServiceV2;
+    private ConditionalUpdateCouponIssueService conditionalUpdateCouponIssueService;
+    private DistributeLockExecutor lockExecutor;
+    private StringRedisTemplate redisTemplate;
+    private long couponId;
+    private long soldOutCouponId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = BenchmarkContext.start();
+        couponIssueService = context.getBean(CouponIssueService.class);
+        asyncCouponIssueService = context.getBean(AsyncCouponIssueService.class);
+        asyncCouponIssueServiceV2 = context.getBean(AsyncCouponIssueServiceV2.class);
+        conditionalUpdateCouponIssueService = context.getBean(ConditionalUpdateCouponIssueService.class);
+        lockExecutor = context.getBean(DistributeLockExecutor.class);
+        redisTemplate = context.getBean(StringRedisTemplate.class);
+
+        // 수량 제한이 없는 쿠폰으로 측정 중 매진되지 않도록 한다.
+        final Coupon coupon = context.getBean(CouponJpaRepository.class).save(Coupon.builder()
+                .title("벤치마크 쿠폰")
+                .couponType(CouponType.FIRST_COME_FIRST_SERVED)
+                .totalQuantity(null)
+                .issuedQuantity(0)
+                .dateIssueStart(LocalDateTime.now().minusDays(1))
+                .dateIssueEnd(LocalDateTime.now().plusDays(1))
+                .build());
+        couponId = coupon.getId();
+
+        final Coupon soldOutCoupon = context.getBean(CouponJpaRepository.class).save(Coupon.builder()
+                .title("벤치마크 매진 쿠폰")
+                .couponType(CouponType.FIRST_COME_FIRST_SERVED)
+                .totalQuantity(0)
+                .issuedQuantity(0)
+                .dateIssueStart(LocalDateTime.now().minusDays(1))
+                .dateIssueEnd(LocalDateTime.now().plusDays(1))
+                .build());
+        soldOutCouponId = soldOutCoupon.getId();
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearRedis() {
+        redisTemplate.delete(redisTemplate.keys("issue:*"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        context.close();
+    }
+
+    @Benchmark
+    public void issueV1WithSynchronized() {
+        synchronized (monitor) {
+            couponIssueService.issue(couponId, nextUserId());
+        }
+    }
+
+    @Benchmark
+    public void issueV1WithRedisDistributeLock() {
+        final long userId = nextUserId();
+        lockExecutor.execute(LOCK_PREFIX + couponId, 5_000, 5_000,
+                () -> couponIssueService.issue(couponId, userId)
+        );
+    }
+
+    @Benchmark
+    public void issueV1WithXLock() {
+        couponIssueService.issueWithXLock(couponId, nextUserId());
+    }
+
+    @Benchmark
+    public void issueV1WithConditionalUpdate() {
+        conditionalUpdateCouponIssueService.issue(couponId, nextUserId());
+    }
+
+    @Benchmark
+    public void asyncIssueV1() {
+        asyncCouponIssueService.issue(couponId, nextUserId());
+    }
+
+    @Benchmark
+    public void asyncIssueV2() {
+        asyncCouponIssueServiceV2.issue(couponId, nextUserId());
+    }
+
+    @Benchmark
+    public ErrorCode soldOutWithXLock() {
+        try {
+            couponIssueService.issueWithXLock(soldOutCouponId, nextUserId());
+        } catch (CouponIssueException e) {
+            return e.getErrorCode();
+        }
+        return null;
+    }
+
+    @Benchmark
+    public ErrorCode soldOutWithConditionalUpdate() {
+        try {
+            conditionalUpdateCouponIssueService.issue(soldOutCouponId, nextUserId());
+        } catch (CouponIssueException e) {
+            return e.getErrorCode();
+        }
+        return null;
+    }
+
+    private long nextUserId() {
+        return userIdSequence.incrementAndGet();
+    }
+}
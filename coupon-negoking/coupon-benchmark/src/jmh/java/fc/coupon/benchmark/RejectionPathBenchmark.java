@@ -0,0 +1,101 @@
+package fc.coupon.benchmark;
+
+import fc.coupon.core.exception.CouponIssueException;
+import fc.coupon.core.exception.ErrorCode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 발급 거절(매진, 중복) 예외 비용
+ * 요청 처리 스택 깊이(depth)에서 예외를 던지고 잡는 비용을 방식별로 비교한다.
+ *
+ * - legacy : 상세 메시지를 바로 만들고 스택 트레이스를 채우는 기존 방식
+ * - lazyMessage : 스택 트레이스 없이 상세 메시지 인자만 보관
+ * - preallocated : 미리 만들어둔 예외 재사용
+ *
+ * 할당량은 gc 프로파일러로 확인한다. (-PjmhProfilers=gc, gc.alloc.rate.norm)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RejectionPathBenchmark {
+
+    @Param({"20", "120"})
+    private int depth;
+
+    private long couponId = 1;
+    private long userId = 1;
+
+    @Benchmark
+    public ErrorCode legacy() {
+        try {
+            throwAt(depth, Kind.LEGACY);
+        } catch (LegacyCouponIssueException e) {
+            return e.errorCode;
+        }
+        return null;
+    }
+
+    @Benchmark
+    public ErrorCode lazyMessage() {
+        try {
+            throwAt(depth, Kind.LAZY_MESSAGE);
+        } catch (CouponIssueException e) {
+            return e.getErrorCode();
+        }
+        return null;
+    }
+
+    @Benchmark
+    public ErrorCode preallocated() {
+        try {
+            throwAt(depth, Kind.PREALLOCATED);
+        } catch (CouponIssueException e) {
+            return e.getErrorCode();
+        }
+        return null;
+    }
+
+    private void throwAt(int remaining, Kind kind) {
+        if (remaining > 0) {
+            throwAt(remaining - 1, kind);
+            return;
+        }
+        switch (kind) {
+            case LEGACY -> throw new LegacyCouponIssueException(ErrorCode.DUPLICATED_COUPON_ISSUE,
+                    "쿠폰 중복 발급 couponId : %s, userId : %s".formatted(couponId, userId));
+            case LAZY_MESSAGE -> throw new CouponIssueException(ErrorCode.DUPLICATED_COUPON_ISSUE,
+                    "쿠폰 중복 발급 couponId : %s, userId : %s", couponId, userId);
+            case PREALLOCATED -> throw CouponIssueException.of(ErrorCode.DUPLICATED_COUPON_ISSUE);
+        }
+    }
+
+    private enum Kind {
+        LEGACY, LAZY_MESSAGE, PREALLOCATED
+    }
+
+    /**
+     * 변경 전 CouponIssueException 과 같은 방식 (스택 트레이스 생성, 생성 시점에 메시지 포맷)
+     */
+    private static class LegacyCouponIssueException extends RuntimeException {
+        private final ErrorCode errorCode;
+        private final String message;
+
+        LegacyCouponIssueException(ErrorCode errorCode, String message) {
+            this.errorCode = errorCode;
+            this.message = message;
+        }
+
+        @Override
+        public String getMessage() {
+            return "[%s] %s".formatted(errorCode, message);
+        }
+    }
+}
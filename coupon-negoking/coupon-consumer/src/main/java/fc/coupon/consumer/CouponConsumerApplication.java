@@ -3,10 +3,14 @@ package fc.coupon.consumer;
 import fc.coupon.core.CoreConfiguration;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @Import(CoreConfiguration.class)
 @SpringBootApplication
+@ConfigurationPropertiesScan
+@EnableScheduling
 public class CouponConsumerApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,358 @@
+package fc.coupon.consumer.component;
+
+import fc.coupon.consumer.configuration.CouponIssueConsumerProperties;
+import fc.coupon.core.configuration.CouponIssueProperties;
+import fc.coupon.core.repository.redis.CouponIssueQueue;
+import fc.coupon.core.repository.redis.codec.CouponIssueRequestSerializer;
+import fc.coupon.core.repository.redis.dto.CouponIssueQueueMessage;
+import fc.coupon.core.repository.redis.dto.CouponIssueRequestDto;
+import fc.coupon.core.service.CouponIssueService;
+import fc.coupon.core.util.CouponUserDedup;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.dao.NonTransientDataAccessResourceException;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static fc.coupon.core.util.CouponRedisUtils.getCouponSoldOutChannel;
+
+/**
+ * 쿠폰 발급 Queue(coupon.issue.queue.type)를 소비하여 쿠폰 발급 내역을 저장한다.
+ *
+ * - worker 수만큼 동시에 Queue를 조회하고 batchSize 단위로 동기로 저장하기 때문에
+ *   MySQL이 느려지면 Queue 소비 속도도 함께 느려진다. (처리량 이상으로 DB에 부하를 주지 않는다.)
+ * - 저장에 성공한 요청만 ack 하고, 일시적인 오류(DB 연결, lock 등)로 실패한 요청은 Queue에 되돌린 뒤 backoff 만큼 대기한다.
+ * - 요청 데이터 때문에 실패하면 (제약 조건 위반 등) 건별로 다시 저장해 저장할 수 없는 요청만 dead letter로 옮긴다.
+ * - 이 consumer가 저장한 사용자를 메모리에 기록해 다시 전달된 요청(retry, reclaim)은 DB 조회 없이 건너뛴다.
+ *   매진된 쿠폰과 savedUserIdleTimeout 동안 요청이 없었던 쿠폰의 기록은 제거해 메모리가 계속 늘어나지 않는다.
+ * - Stream Queue인 경우 reclaimInterval 마다 종료된 consumer가 처리하지 못한 요청을 가져와 처리한다.
+ * - 종료시 새로운 요청은 가져오지 않고 처리중인 요청이 끝날 때까지 기다린다.
+ *   shutdownTimeout 안에 끝나지 않으면 worker 스레드를 인터럽트한다.
+ * - Queue 조회 시간은 outcome(SUCCESS, EMPTY, ERROR), 저장 시간은 couponId 와 outcome(SUCCESS, POISON, ERROR) 태그로 기록한다.
+ *   한번에 가져온 요청에 여러 쿠폰이 섞여 있으면 하나의 insert 로 저장하므로 couponId 는 mixed 로 기록한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "coupon.consumer", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class CouponIssueWorker implements SmartLifecycle {
+    private static final String PROCESSED_METRIC = "coupon.issue.consumer.processed";
+    private static final String POLL_METRIC = "coupon.issue.consumer.poll";
+    private static final String SAVE_METRIC = "coupon.issue.consumer.save";
+    private static final String MIXED_COUPON = "mixed";
+
+    private final CouponIssueQueue couponIssueQueue;
+    private final CouponIssueRequestSerializer couponIssueRequestSerializer;
+    private final CouponIssueService couponIssueService;
+    private final CouponIssueConsumerProperties properties;
+    private final CouponIssueProperties couponIssueProperties;
+    private final MeterRegistry meterRegistry;
+    private final Environment environment;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    private volatile boolean running;
+    private CountDownLatch terminated;
+    private final Set<Thread> workers = ConcurrentHashMap.newKeySet();
+    private volatile long lastReclaimedAt;
+    private CouponUserDedup savedUsers;
+    private MessageListener soldOutListener;
+
+    @Override
+    public void start() {
+        registerMetrics();
+
+        final CouponIssueProperties.Dedup dedup = couponIssueProperties.getDedup();
+        savedUsers = new CouponUserDedup(dedup.getInitialCapacity(), dedup.isOffHeap());
+        // 매진된 쿠폰은 더 이상 새로운 사용자가 저장되지 않으므로 기록을 제거한다.
+        soldOutListener = (message, pattern) -> savedUsers.clear(Long.parseLong(new String(message.getBody(), StandardCharsets.UTF_8)));
+        listenerContainer.addMessageListener(soldOutListener, ChannelTopic.of(getCouponSoldOutChannel()));
+
+        // spring.threads.virtual.enabled=true 이고 Java 21 이상이면 가상 스레드로 worker를 실행한다.
+        final boolean virtualThreads = Threading.VIRTUAL.isActive(environment);
+        final SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("coupon-issue-worker-");
+        executor.setVirtualThreads(virtualThreads);
+
+        running = true;
+        terminated = new CountDownLatch(properties.getWorkerCount());
+        for (int i = 0; i < properties.getWorkerCount(); i++) {
+            executor.execute(this::work);
+        }
+        log.info("쿠폰 발급 worker 시작. workerCount : {}, virtualThreads : {}", properties.getWorkerCount(), virtualThreads);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            if (!terminated.await(properties.getShutdownTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("쿠폰 발급 worker가 제한 시간내에 종료되지 않았습니다. 남은 worker를 인터럽트합니다. count : {}", workers.size());
+                workers.forEach(Thread::interrupt);
+            }
+        } catch (InterruptedException e) {
+            workers.forEach(Thread::interrupt);
+            Thread.currentThread().interrupt();
+        }
+        listenerContainer.removeMessageListener(soldOutListener);
+        log.info("쿠폰 발급 worker 종료");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void work() {
+        // SimpleAsyncTaskExecutor 는 실행한 스레드를 관리하지 않으므로 종료시 인터럽트할 수 있도록 직접 기록한다.
+        workers.add(Thread.currentThread());
+        try {
+            doWork();
+        } finally {
+            workers.remove(Thread.currentThread());
+            terminated.countDown();
+        }
+    }
+
+    private void doWork() {
+        Duration backoff = properties.getMinBackoff();
+        while (running && !Thread.currentThread().isInterrupted()) {
+            try {
+                List<CouponIssueQueueMessage> messages = reclaimIfNecessary();
+                if (messages.isEmpty()) {
+                    messages = poll();
+                }
+                if (messages.isEmpty()) {
+                    sleep(properties.getIdleInterval());
+                    continue;
+                }
+
+                if (process(messages)) {
+                    backoff = properties.getMinBackoff();
+                } else {
+                    sleep(backoff);
+                    backoff = nextBackoff(backoff);
+                }
+            } catch (Exception e) {
+                log.error("쿠폰 발급 Queue 조회 실패", e);
+                sleep(backoff);
+                backoff = nextBackoff(backoff);
+            }
+        }
+    }
+
+    /**
+     * 여러 worker가 동시에 같은 요청을 가져가지 않도록 reclaimInterval 마다 하나의 worker만 reclaim 한다.
+     * 같은 주기로 오래 요청이 없었던 쿠폰의 저장한 사용자 기록을 제거한다.
+     */
+    private List<CouponIssueQueueMessage> reclaimIfNecessary() {
+        final long now = System.currentTimeMillis();
+        final long last = lastReclaimedAt;
+        if (now - last < properties.getReclaimInterval().toMillis()) {
+            return List.of();
+        }
+        synchronized (this) {
+            if (lastReclaimedAt != last) {
+                return List.of();
+            }
+            lastReclaimedAt = now;
+        }
+        final int evicted = savedUsers.evictAccessedBefore(now - properties.getSavedUserIdleTimeout().toMillis());
+        if (evicted > 0) {
+            log.info("요청이 없는 쿠폰의 저장한 사용자 기록 제거. count : {}", evicted);
+        }
+        return couponIssueQueue.reclaim(properties.getBatchSize());
+    }
+
+    /**
+     * 조회한 요청들을 하나의 트랜잭션, 하나의 multi-row insert로 저장한다.
+     *
+     * @return 다시 시도할 필요가 없으면 true, 일시적인 오류로 Queue에 되돌렸다면 false
+     */
+    private boolean process(List<CouponIssueQueueMessage> messages) {
+        final List<CouponIssueRequestDto> requests = new ArrayList<>(messages.size());
+        final List<CouponIssueQueueMessage> invalidMessages = new ArrayList<>();
+        final List<CouponIssueQueueMessage> validMessages = new ArrayList<>(messages.size());
+        final List<CouponIssueQueueMessage> savedMessages = new ArrayList<>();
+        for (CouponIssueQueueMessage message : messages) {
+            try {
+                final CouponIssueRequestDto request = couponIssueRequestSerializer.deserialize(message.value());
+                if (savedUsers.contains(request.couponId(), request.userId())) {
+                    savedMessages.add(message);
+                    continue;
+                }
+                requests.add(request);
+                validMessages.add(message);
+            } catch (IllegalArgumentException e) {
+                log.error("잘못된 쿠폰 발급 요청입니다. value : {}", HexFormat.of().formatHex(message.value()), e);
+                invalidMessages.add(message);
+                count("invalid", 1);
+            }
+        }
+        // 다시 시도해도 처리할 수 없는 요청은 dead letter로 옮기고, 이미 저장한 요청은 바로 제거한다.
+        couponIssueQueue.deadLetter(invalidMessages);
+        couponIssueQueue.ack(savedMessages);
+        count("skipped", savedMessages.size());
+        if (requests.isEmpty()) {
+            return true;
+        }
+
+        final int saved;
+        try {
+            saved = save(requests);
+        } catch (Exception e) {
+            if (isPoison(e)) {
+                log.error("저장할 수 없는 요청이 포함되어 있습니다. 건별로 다시 저장합니다. size : {}", validMessages.size(), e);
+                return processEach(requests, validMessages);
+            }
+            log.error("쿠폰 발급 저장 실패. 다시 Queue에 되돌립니다. size : {}", validMessages.size(), e);
+            couponIssueQueue.retry(validMessages);
+            count("failed", requests.size());
+            return false;
+        }
+
+        requests.forEach(request -> savedUsers.add(request.couponId(), request.userId()));
+        // 저장 후 ack 전에 종료되면 다시 처리될 수 있지만 중복 발급 내역은 무시되므로 안전하다.
+        couponIssueQueue.ack(validMessages);
+        // 다른 consumer가 먼저 저장해 DB에서 무시된 요청은 성공에 포함하지 않는다.
+        count("success", saved);
+        count("duplicated", requests.size() - saved);
+        return true;
+    }
+
+    /**
+     * 요청을 하나씩 저장해 저장할 수 없는 요청만 dead letter로 옮긴다.
+     * 일시적인 오류가 발생하면 남은 요청을 Queue에 되돌린다.
+     */
+    private boolean processEach(List<CouponIssueRequestDto> requests, List<CouponIssueQueueMessage> messages) {
+        for (int i = 0; i < requests.size(); i++) {
+            final CouponIssueRequestDto request = requests.get(i);
+            final CouponIssueQueueMessage message = messages.get(i);
+            try {
+                final int saved = save(List.of(request));
+                savedUsers.add(request.couponId(), request.userId());
+                couponIssueQueue.ack(List.of(message));
+                count(saved == 1 ? "success" : "duplicated", 1);
+            } catch (Exception e) {
+                if (!isPoison(e)) {
+                    final List<CouponIssueQueueMessage> remaining = messages.subList(i, messages.size());
+                    log.error("쿠폰 발급 저장 실패. 다시 Queue에 되돌립니다. size : {}", remaining.size(), e);
+                    couponIssueQueue.retry(remaining);
+                    count("failed", remaining.size());
+                    return false;
+                }
+                log.error("저장할 수 없는 쿠폰 발급 요청입니다. couponId : {}, userId : {}", request.couponId(), request.userId(), e);
+                couponIssueQueue.deadLetter(List.of(message));
+                count("dead-letter", 1);
+            }
+        }
+        return true;
+    }
+
+    private List<CouponIssueQueueMessage> poll() {
+        final Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "ERROR";
+        try {
+            final List<CouponIssueQueueMessage> messages = couponIssueQueue.poll(properties.getBatchSize());
+            outcome = messages.isEmpty() ? "EMPTY" : "SUCCESS";
+            return messages;
+        } finally {
+            sample.stop(Timer.builder(POLL_METRIC)
+                    .description("쿠폰 발급 Queue 조회 시간")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    private int save(List<CouponIssueRequestDto> requests) {
+        final Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "ERROR";
+        try {
+            final int saved = couponIssueService.saveCouponIssues(requests);
+            outcome = "SUCCESS";
+            return saved;
+        } catch (RuntimeException e) {
+            if (isPoison(e)) {
+                outcome = "POISON";
+            }
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(SAVE_METRIC)
+                    .description("쿠폰 발급 내역 batch 저장 시간")
+                    .tag("couponId", couponIdTag(requests))
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    private static String couponIdTag(List<CouponIssueRequestDto> requests) {
+        final long couponId = requests.get(0).couponId();
+        for (CouponIssueRequestDto request : requests) {
+            if (request.couponId() != couponId) {
+                return MIXED_COUPON;
+            }
+        }
+        return String.valueOf(couponId);
+    }
+
+    /**
+     * 요청 데이터 때문에 실패해 다시 시도해도 성공할 수 없는 오류 (제약 조건 위반, 잘못된 값 등)
+     * DB 연결 실패(NonTransientDataAccessResourceException)는 DB가 복구되면 성공하므로 제외한다.
+     */
+    private static boolean isPoison(Exception e) {
+        return e instanceof NonTransientDataAccessException && !(e instanceof NonTransientDataAccessResourceException);
+    }
+
+    private void registerMetrics() {
+        Gauge.builder("coupon.issue.queue.size", this, CouponIssueWorker::queueSize)
+                .description("처리되지 않은 쿠폰 발급 요청 수")
+                .register(meterRegistry);
+    }
+
+    private double queueSize() {
+        try {
+            return couponIssueQueue.size();
+        } catch (Exception e) {
+            return Double.NaN;
+        }
+    }
+
+    private void count(String result, int amount) {
+        meterRegistry.counter(PROCESSED_METRIC, "result", result).increment(amount);
+    }
+
+    private Duration nextBackoff(Duration backoff) {
+        final Duration next = backoff.multipliedBy(2);
+        return next.compareTo(properties.getMaxBackoff()) > 0 ? properties.getMaxBackoff() : next;
+    }
+
+    /**
+     * 인터럽트 되면 인터럽트 상태만 복원하고, 해당 worker만 반복문 조건에서 종료된다.
+     */
+    private void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package fc.coupon.consumer.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "coupon.consumer")
+public class CouponIssueConsumerProperties {
+
+    /**
+     * 발급 Queue를 동시에 처리하는 worker 수
+     * 각 worker는 DB 커넥션을 하나씩 사용하므로 커넥션 풀 크기보다 작게 설정한다.
+     */
+    private int workerCount = 4;
+
+    /**
+     * worker가 한번에 조회해서 하나의 트랜잭션으로 저장하는 요청 수
+     */
+    private int batchSize = 100;
+
+    /**
+     * Queue가 비어있을 때 다음 조회까지 대기하는 시간
+     */
+    private Duration idleInterval = Duration.ofMillis(100);
+
+    /**
+     * 발급 처리 실패시 대기 시간, 연속으로 실패하면 maxBackoff 까지 두배씩 늘어난다.
+     */
+    private Duration minBackoff = Duration.ofMillis(100);
+    private Duration maxBackoff = Duration.ofSeconds(5);
+
+    /**
+     * 다른 consumer가 처리하지 못한 요청(Stream pending)을 확인하는 주기
+     */
+    private Duration reclaimInterval = Duration.ofSeconds(10);
+
+    /**
+     * 이 시간 동안 요청이 없었던 쿠폰(종료된 쿠폰)은 저장한 사용자 기록을 메모리에서 제거한다.
+     */
+    private Duration savedUserIdleTimeout = Duration.ofMinutes(30);
+
+    /**
+     * 종료시 처리중인 요청을 마무리하기 위해 대기하는 최대 시간
+     */
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+}
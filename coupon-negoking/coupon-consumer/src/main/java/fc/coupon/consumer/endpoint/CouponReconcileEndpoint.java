@@ -0,0 +1,36 @@
+package fc.coupon.consumer.endpoint;
+
+import fc.coupon.core.component.CouponIssuedQuantityReconciler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 쿠폰 발급 수량 수동 반영
+ *
+ * POST /actuator/couponreconcile                 발급 중인 쿠폰 전체
+ * POST /actuator/couponreconcile {"couponId": 1} 발급 기간과 관계없이 하나의 쿠폰
+ *
+ * 발급 수량 반영(coupon.issue.reconcile.enabled)이 활성화된 경우에만 등록된다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "coupon.issue.reconcile", name = "enabled", havingValue = "true")
+@Endpoint(id = "couponreconcile")
+@RequiredArgsConstructor
+public class CouponReconcileEndpoint {
+    private final CouponIssuedQuantityReconciler couponIssuedQuantityReconciler;
+
+    @WriteOperation
+    public List<CouponIssuedQuantityReconciler.Result> reconcile(@Nullable Long couponId) {
+        if (couponId == null) {
+            return couponIssuedQuantityReconciler.reconcile();
+        }
+        final CouponIssuedQuantityReconciler.Result result = couponIssuedQuantityReconciler.reconcile(couponId);
+        return result == null ? List.of() : List.of(result);
+    }
+}
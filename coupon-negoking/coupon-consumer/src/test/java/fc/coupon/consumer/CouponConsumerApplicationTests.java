@@ -2,12 +2,14 @@ package fc.coupon.consumer;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.TestPropertySource;
 
 @ActiveProfiles("test")
 @TestPropertySource(properties = "spring.config.name=application-core")
 @SpringBootTest
+@DirtiesContext
 class CouponConsumerApplicationTests {
 
     @Test
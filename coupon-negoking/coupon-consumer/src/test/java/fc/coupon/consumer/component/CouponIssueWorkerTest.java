@@ -0,0 +1,256 @@
+package fc.coupon.consumer.component;
+
+import fc.coupon.consumer.configuration.CouponIssueConsumerProperties;
+import fc.coupon.core.configuration.CouponIssueProperties;
+import fc.coupon.core.model.Coupon;
+import fc.coupon.core.model.CouponType;
+import fc.coupon.core.repository.mysql.CouponIssueJpaRepository;
+import fc.coupon.core.repository.mysql.CouponJpaRepository;
+import fc.coupon.core.repository.redis.CouponIssueQueue;
+import fc.coupon.core.repository.redis.codec.CouponIssueRequestSerializer;
+import fc.coupon.core.repository.redis.dto.CouponIssueRequestDto;
+import fc.coupon.core.service.CouponIssueService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static fc.coupon.core.util.CouponRedisUtils.getIssueRequestDeadLetterQueue;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@TestPropertySource(properties = {"spring.config.name=application-core", "coupon.consumer.enabled=false"})
+@SpringBootTest
+class CouponIssueWorkerTest {
+    @Autowired
+    CouponIssueQueue couponIssueQueue;
+
+    @Autowired
+    CouponIssueRequestSerializer couponIssueRequestSerializer;
+
+    @Autowired
+    CouponIssueService couponIssueService;
+
+    @Autowired
+    CouponIssueConsumerProperties properties;
+
+    @Autowired
+    CouponIssueProperties couponIssueProperties;
+
+    @Autowired
+    Environment environment;
+
+    @Autowired
+    RedisMessageListenerContainer listenerContainer;
+
+    @Autowired
+    CouponJpaRepository couponJpaRepository;
+
+    @Autowired
+    CouponIssueJpaRepository couponIssueJpaRepository;
+
+    @Autowired
+    RedisTemplate<String, String> redisTemplate;
+
+    SimpleMeterRegistry meterRegistry;
+    CouponIssueWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        Collection<String> redisKeys = redisTemplate.keys("*");
+        redisTemplate.delete(redisKeys);
+
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (worker != null) {
+            worker.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("발급 요청을 저장한다.")
+    void process() throws InterruptedException {
+        // given
+        final Coupon coupon = saveCoupon();
+        start(couponIssueService);
+
+        // when
+        couponIssueQueue.enqueue(couponIssueRequestSerializer.serialize(coupon.getId(), 1));
+
+        // then
+        assertThat(awaitCount("success", 1)).isTrue();
+    }
+
+    @Test
+    @DisplayName("이미 저장한 사용자의 요청이 다시 전달되면 DB에 저장하지 않고 건너뛴다.")
+    void process_skipped() throws InterruptedException {
+        // given
+        final Coupon coupon = saveCoupon();
+        start(couponIssueService);
+        couponIssueQueue.enqueue(couponIssueRequestSerializer.serialize(coupon.getId(), 1));
+        assertThat(awaitCount("success", 1)).isTrue();
+
+        // when
+        couponIssueQueue.enqueue(couponIssueRequestSerializer.serialize(coupon.getId(), 1));
+
+        // then
+        assertThat(awaitCount("skipped", 1)).isTrue();
+        assertThat(count("success")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("일시적인 오류로 저장에 실패한 요청은 Queue에 되돌려 다시 저장한다.")
+    void process_transientFailure() throws InterruptedException {
+        // given
+        final Coupon coupon = saveCoupon();
+        final FailingCouponIssueService failingService = new FailingCouponIssueService(couponIssueService);
+        failingService.transientFailures.set(1);
+        couponIssueQueue.enqueue(couponIssueRequestSerializer.serialize(coupon.getId(), 1));
+
+        // when
+        start(failingService);
+
+        // then
+        assertThat(awaitCount("success", 1)).isTrue();
+        assertThat(count("failed")).isEqualTo(1);
+        assertThat(couponIssueJpaRepository.findAllUserIdByCouponId(coupon.getId())).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("저장할 수 없는 요청은 dead letter로 옮기고 같은 batch의 다른 요청은 저장한다.")
+    void process_poison() throws InterruptedException {
+        // given
+        final Coupon coupon = saveCoupon();
+        final FailingCouponIssueService failingService = new FailingCouponIssueService(couponIssueService);
+        failingService.poisonUserId = 2;
+        couponIssueQueue.enqueue(couponIssueRequestSerializer.serialize(coupon.getId(), 1));
+        couponIssueQueue.enqueue(couponIssueRequestSerializer.serialize(coupon.getId(), 2));
+        couponIssueQueue.enqueue(couponIssueRequestSerializer.serialize(coupon.getId(), 3));
+
+        // when
+        start(failingService);
+
+        // then
+        assertThat(awaitCount("success", 2)).isTrue();
+        assertThat(awaitCount("dead-letter", 1)).isTrue();
+        assertThat(couponIssueJpaRepository.findAllUserIdByCouponId(coupon.getId())).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(redisTemplate.opsForList().size(getIssueRequestDeadLetterQueue())).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("종료시 shutdownTimeout 안에 끝나지 않은 worker는 인터럽트한다.")
+    void stop_interruptsBlockedWorker() throws InterruptedException {
+        // given
+        final Coupon coupon = saveCoupon();
+        final FailingCouponIssueService failingService = new FailingCouponIssueService(couponIssueService);
+        failingService.blocking = true;
+        final Duration shutdownTimeout = properties.getShutdownTimeout();
+        properties.setShutdownTimeout(Duration.ofMillis(200));
+        try {
+            start(failingService);
+            couponIssueQueue.enqueue(couponIssueRequestSerializer.serialize(coupon.getId(), 1));
+            assertThat(failingService.blocked.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // when
+            worker.stop();
+            worker = null;
+
+            // then
+            assertThat(failingService.interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            properties.setShutdownTimeout(shutdownTimeout);
+        }
+    }
+
+    private void start(CouponIssueService service) {
+        worker = new CouponIssueWorker(couponIssueQueue, couponIssueRequestSerializer, service, properties,
+                couponIssueProperties, meterRegistry, environment, listenerContainer);
+        worker.start();
+    }
+
+    private boolean awaitCount(String result, double expected) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            if (count(result) >= expected) {
+                return true;
+            }
+            Thread.sleep(20);
+        }
+        return false;
+    }
+
+    private double count(String result) {
+        return meterRegistry.counter("coupon.issue.consumer.processed", "result", result).count();
+    }
+
+    private Coupon saveCoupon() {
+        final Coupon coupon = Coupon.builder().couponType(CouponType.FIRST_COME_FIRST_SERVED)
+                .title("선착순 테스트 쿠폰")
+                .totalQuantity(100)
+                .issuedQuantity(0)
+                .dateIssueStart(LocalDateTime.now().minusDays(1))
+                .dateIssueEnd(LocalDateTime.now().plusDays(1))
+                .build();
+        return couponJpaRepository.save(coupon);
+    }
+
+    /**
+     * transientFailures 만큼 DB 연결 실패를 발생시키고, poisonUserId 요청이 포함되면 제약 조건 위반을 발생시킨다.
+     * blocking 이면 인터럽트될 때까지 대기한다. 그 외에는 실제 서비스에 위임한다.
+     */
+    private static class FailingCouponIssueService extends CouponIssueService {
+        private final CouponIssueService delegate;
+        private final AtomicInteger transientFailures = new AtomicInteger();
+        private volatile long poisonUserId = -1;
+        private volatile boolean blocking;
+        private final CountDownLatch blocked = new CountDownLatch(1);
+        private final CountDownLatch interrupted = new CountDownLatch(1);
+
+        FailingCouponIssueService(CouponIssueService delegate) {
+            super(null, null, null, null, null, null);
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int saveCouponIssues(List<CouponIssueRequestDto> requests) {
+            if (blocking) {
+                blocked.countDown();
+                try {
+                    Thread.sleep(Long.MAX_VALUE);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                    Thread.currentThread().interrupt();
+                    throw new CannotGetJdbcConnectionException("interrupted");
+                }
+            }
+            if (transientFailures.getAndUpdate(remaining -> Math.max(remaining - 1, 0)) > 0) {
+                throw new CannotGetJdbcConnectionException("connection failed");
+            }
+            if (requests.stream().anyMatch(request -> request.userId() == poisonUserId)) {
+                throw new DataIntegrityViolationException("poison");
+            }
+            return delegate.saveCouponIssues(requests);
+        }
+    }
+}
@@ -1,11 +1,13 @@
 package fc.coupon.core;
 
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 
 @ComponentScan
 @EnableAutoConfiguration
 @EnableJpaAuditing
+@ConfigurationPropertiesScan
 public class CoreConfiguration {
 }
@@ -0,0 +1,49 @@
+package fc.coupon.core.component;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+import static fc.coupon.core.configuration.CacheConfiguration.COUPON_CACHE;
+import static fc.coupon.core.configuration.CacheConfiguration.LOCAL_CACHE_MANAGER;
+import static fc.coupon.core.util.CouponRedisUtils.getCouponCacheEvictChannel;
+
+/**
+ * 다른 서버에서 쿠폰 정책이 변경되면 로컬 캐시를 삭제한다.
+ */
+@Slf4j
+@Component
+public class CouponCacheEvictListener implements MessageListener {
+    private final RedisMessageListenerContainer listenerContainer;
+    private final CacheManager localCacheManager;
+
+    public CouponCacheEvictListener(RedisMessageListenerContainer listenerContainer,
+                                    @Qualifier(LOCAL_CACHE_MANAGER) CacheManager localCacheManager) {
+        this.listenerContainer = listenerContainer;
+        this.localCacheManager = localCacheManager;
+    }
+
+    @PostConstruct
+    void subscribe() {
+        listenerContainer.addMessageListener(this, ChannelTopic.of(getCouponCacheEvictChannel()));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        final long couponId = Long.parseLong(new String(message.getBody(), StandardCharsets.UTF_8));
+        final Cache cache = localCacheManager.getCache(COUPON_CACHE);
+        if (cache != null) {
+            cache.evict(couponId);
+        }
+        log.info("쿠폰 로컬 캐시 삭제. couponId : {}", couponId);
+    }
+}
@@ -0,0 +1,160 @@
+package fc.coupon.core.component;
+
+import fc.coupon.core.exception.CouponIssueException;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * 쿠폰 발급 단계별 지연 시간과 결과
+ *
+ * coupon.issue.stage 타이머에 stage, couponId, outcome(SUCCESS, ErrorCode, ERROR) 태그로 기록한다.
+ * Observation 으로 기록하므로 tracing bridge 를 추가하면 단계별 span 으로도 확인할 수 있다.
+ * CompletableFuture, Mono 를 반환하는 단계는 완료될 때까지의 시간을 기록하고, 구독이 취소되면 outcome CANCELLED 로 기록한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class CouponIssueMetrics {
+    private static final String STAGE_METRIC = "coupon.issue.stage";
+    private static final String SUCCESS = "SUCCESS";
+    private static final String ERROR = "ERROR";
+    private static final String CANCELLED = "CANCELLED";
+
+    private final ObservationRegistry observationRegistry;
+
+    public void observe(Stage stage, long couponId, Runnable task) {
+        observe(stage, couponId, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    public <T> T observe(Stage stage, long couponId, Supplier<T> task) {
+        final Observation observation = start(stage, couponId);
+        try (Observation.Scope scope = observation.openScope()) {
+            final T result = task.get();
+            observation.lowCardinalityKeyValue("outcome", SUCCESS);
+            return result;
+        } catch (RuntimeException e) {
+            fail(observation, e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+
+    /**
+     * 반환한 future 가 완료될 때까지의 시간을 기록한다. future 는 그대로 반환한다.
+     */
+    public <T> CompletableFuture<T> observeAsync(Stage stage, long couponId, Supplier<CompletableFuture<T>> task) {
+        final Observation observation = start(stage, couponId);
+        final CompletableFuture<T> future;
+        try {
+            future = task.get();
+        } catch (RuntimeException e) {
+            fail(observation, e);
+            observation.stop();
+            throw e;
+        }
+        future.whenComplete((result, e) -> {
+            if (e == null) {
+                observation.lowCardinalityKeyValue("outcome", SUCCESS);
+            } else {
+                fail(observation, e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+            }
+            observation.stop();
+        });
+        return future;
+    }
+
+    /**
+     * 구독한 시점부터 완료될 때까지의 시간을 기록한다.
+     */
+    public <T> Mono<T> observe(Stage stage, long couponId, Mono<T> task) {
+        return Mono.defer(() -> {
+            final Observation observation = start(stage, couponId);
+            return task
+                    .doOnSuccess(result -> observation.lowCardinalityKeyValue("outcome", SUCCESS))
+                    .doOnError(e -> fail(observation, e))
+                    .doFinally(signal -> {
+                        if (signal == SignalType.CANCEL) {
+                            observation.lowCardinalityKeyValue("outcome", CANCELLED);
+                        }
+                        observation.stop();
+                    });
+        });
+    }
+
+    private Observation start(Stage stage, long couponId) {
+        return Observation.createNotStarted(STAGE_METRIC, observationRegistry)
+                .lowCardinalityKeyValue("stage", stage.tag)
+                .lowCardinalityKeyValue("couponId", String.valueOf(couponId))
+                .start();
+    }
+
+    private void fail(Observation observation, Throwable e) {
+        if (e instanceof CouponIssueException couponIssueException) {
+            observation.lowCardinalityKeyValue("outcome", couponIssueException.getErrorCode().name());
+            return;
+        }
+        observation.lowCardinalityKeyValue("outcome", ERROR);
+        observation.error(e);
+    }
+
+    public enum Stage {
+        /**
+         * 동기 발급 전체 (/v1/issue)
+         */
+        ISSUE_V1("issue_v1"),
+        /**
+         * 비동기 발급 요청 전체 (/v1/issue-async, /v2/issue-async)
+         */
+        ASYNC_ISSUE_V1("async_issue_v1"),
+        ASYNC_ISSUE_V2("async_issue_v2"),
+        /**
+         * 샤딩된 재고, 발급 토큰, micro-batching, non-blocking 비동기 발급 요청 전체
+         * (/v2/issue-async-sharded, /v2/issue-async-token, /v2/issue-async-batch, /v2/issue-async-reactive)
+         */
+        ASYNC_ISSUE_SHARDED("async_issue_sharded"),
+        ASYNC_ISSUE_TOKEN("async_issue_token"),
+        ASYNC_ISSUE_BATCH("async_issue_batch"),
+        ASYNC_ISSUE_REACTIVE("async_issue_reactive"),
+        /**
+         * 쿠폰 정책 캐시 조회 (로컬 -> 레디스 -> MySQL)
+         */
+        COUPON_LOOKUP("coupon_lookup"),
+        /**
+         * 발급 요청 Set 수량, 중복 조회
+         */
+        REDIS_CHECK("redis_check"),
+        /**
+         * 발급 요청 추가와 발급 Queue 적재
+         */
+        ENQUEUE("enqueue"),
+        /**
+         * MySQL 쿠폰 조회 (X LOCK 포함)
+         */
+        DB_READ("db_read"),
+        /**
+         * 메모리 기반 발급 (수량, 중복 검증과 발급 내역 적재)
+         */
+        IN_MEMORY_ISSUE("in_memory_issue"),
+        /**
+         * MySQL 발급 내역 저장, 발급 수량 증가 (메모리 기반 발급의 주기적인 저장 포함)
+         */
+        DB_WRITE("db_write");
+
+        private final String tag;
+
+        Stage(String tag) {
+            this.tag = tag;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package fc.coupon.core.component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import fc.coupon.core.configuration.CouponIssueProperties;
+import fc.coupon.core.exception.CouponIssueException;
+import fc.coupon.core.exception.ErrorCode;
+import fc.coupon.core.model.CouponType;
+import fc.coupon.core.repository.redis.RedisRepository;
+import fc.coupon.core.service.CouponCacheService;
+import fc.coupon.core.util.LocalTokenBucket;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import static fc.coupon.core.util.CouponRedisUtils.getRateLimitCouponKey;
+import static fc.coupon.core.util.CouponRedisUtils.getRateLimitUserKey;
+
+/**
+ * 사용자별, 쿠폰별 토큰 버킷 발급 요청 수 제한
+ *
+ * 1. 서버 메모리 버킷(local) : 한 서버로 몰리는 반복 요청은 레디스 호출 없이 거절한다.
+ * 2. 레디스 버킷(global) : 로컬 버킷을 통과한 요청만 스크립트 한번으로 두 버킷을 원자적으로 검사해 전체 서버 기준으로 제한한다.
+ *
+ * 로컬 버킷을 통과했더라도 다음 단계(쿠폰 버킷, 레디스 버킷)에서 거절되면 소비한 토큰을 돌려준다.
+ * 처리되지 않은 요청이 로컬 토큰을 소진해 이후의 정상 요청까지 거절하지 않도록 한다.
+ *
+ * 제한은 쿠폰 유형별로 설정하며(coupon.issue.rate-limit.coupon-types) 쿠폰 유형은 로컬 캐시에서 조회한다.
+ * 존재하지 않는 쿠폰은 기본 제한(defaultLimit)을 적용하고, 없다는 결과도 localExpireAfterAccess 동안 기억해
+ * 같은 couponId 로 반복되는 요청이 레디스 캐시와 MySQL 을 다시 조회하지 않도록 한다.
+ * 거절한 요청은 coupon.rate-limit.dropped 에 stage(local, global), scope(user, coupon), couponType 태그로 기록한다.
+ * 레디스 호출에 실패하면 발급을 막지 않도록 허용한다.
+ */
+@Slf4j
+@Component
+public class CouponIssueRateLimiter {
+    private static final String DROPPED_METRIC = "coupon.rate-limit.dropped";
+    private static final String ERROR_METRIC = "coupon.rate-limit.error";
+
+    private final RedisRepository redisRepository;
+    private final CouponCacheService couponCacheService;
+    private final CouponIssueProperties.RateLimit properties;
+    private final MeterRegistry meterRegistry;
+
+    private final Cache<UserBucketKey, LocalTokenBucket> userBuckets;
+    private final Cache<Long, LocalTokenBucket> couponBuckets;
+    private final Cache<Long, Boolean> notExistCoupons;
+
+    public CouponIssueRateLimiter(RedisRepository redisRepository,
+                                  CouponCacheService couponCacheService,
+                                  CouponIssueProperties couponIssueProperties,
+                                  MeterRegistry meterRegistry) {
+        this.redisRepository = redisRepository;
+        this.couponCacheService = couponCacheService;
+        this.properties = couponIssueProperties.getRateLimit();
+        this.meterRegistry = meterRegistry;
+        this.userBuckets = Caffeine.newBuilder()
+                .maximumSize(properties.getLocalMaximumSize())
+                .expireAfterAccess(properties.getLocalExpireAfterAccess())
+                .build();
+        this.couponBuckets = Caffeine.newBuilder()
+                .maximumSize(properties.getLocalMaximumSize())
+                .expireAfterAccess(properties.getLocalExpireAfterAccess())
+                .build();
+        // 나중에 생성된 쿠폰이 계속 기본 제한을 받지 않도록 마지막 조회가 아닌 기록한 시점부터 만료한다.
+        this.notExistCoupons = Caffeine.newBuilder()
+                .maximumSize(properties.getLocalMaximumSize())
+                .expireAfterWrite(properties.getLocalExpireAfterAccess())
+                .build();
+    }
+
+    /**
+     * @return 허용하면 true, 제한을 초과했다면 false
+     */
+    public boolean tryAcquire(long couponId, long userId) {
+        return tryAcquire(couponId, userId, true);
+    }
+
+    /**
+     * 사용자 버킷만 검사한다.
+     * 대기열 등록처럼 쿠폰 단위 처리량을 별도로 제어하는 요청에 쿠폰 버킷을 적용하면
+     * 정상 사용자의 등록까지 거절되므로 반복 요청만 제한한다.
+     *
+     * @return 허용하면 true, 제한을 초과했다면 false
+     */
+    public boolean tryAcquireUser(long couponId, long userId) {
+        return tryAcquire(couponId, userId, false);
+    }
+
+    private boolean tryAcquire(long couponId, long userId, boolean limitCoupon) {
+        if (!properties.isEnabled()) {
+            return true;
+        }
+
+        final CouponType couponType = findCouponType(couponId);
+        final CouponIssueProperties.RateLimitRule rule = properties.getRule(couponType);
+
+        final long now = System.nanoTime();
+        final LocalTokenBucket userBucket = userBuckets.get(new UserBucketKey(couponId, userId), key -> new LocalTokenBucket(rule.getUserCapacity(), now));
+        if (!userBucket.tryAcquire(rule.getUserCapacity(), rule.getUserRefillPerSecond(), now)) {
+            drop("local", "user", couponType);
+            return false;
+        }
+        final LocalTokenBucket couponBucket = limitCoupon
+                ? couponBuckets.get(couponId, key -> new LocalTokenBucket(rule.getCouponCapacity(), now))
+                : null;
+        if (couponBucket != null && !couponBucket.tryAcquire(rule.getCouponCapacity(), rule.getCouponRefillPerSecond(), now)) {
+            userBucket.release(rule.getUserCapacity());
+            drop("local", "coupon", couponType);
+            return false;
+        }
+
+        final long result;
+        try {
+            result = limitCoupon
+                    ? redisRepository.acquireRateLimit(getRateLimitUserKey(couponId, userId), getRateLimitCouponKey(couponId),
+                    rule.getUserCapacity(), rule.getUserRefillPerSecond(), rule.getCouponCapacity(), rule.getCouponRefillPerSecond())
+                    : redisRepository.acquireUserRateLimit(getRateLimitUserKey(couponId, userId),
+                    rule.getUserCapacity(), rule.getUserRefillPerSecond());
+        } catch (Exception e) {
+            log.warn("발급 요청 수 제한 확인 실패. couponId : {}", couponId, e);
+            meterRegistry.counter(ERROR_METRIC).increment();
+            return true;
+        }
+
+        if (result == 0) {
+            return true;
+        }
+        userBucket.release(rule.getUserCapacity());
+        if (couponBucket != null) {
+            couponBucket.release(rule.getCouponCapacity());
+        }
+        drop("global", result == 1 ? "user" : "coupon", couponType);
+        return false;
+    }
+
+    /**
+     * 존재하지 않는 쿠폰도 제한 없이 통과시키면 임의의 couponId 로 쿠폰 조회를 반복할 수 있으므로
+     * 유형 없이(null) 기본 제한(defaultLimit)을 적용한다.
+     * 없다는 결과를 기억하지 않으면 제한을 적용하기 전에 매번 레디스 캐시와 MySQL 을 조회하므로 따로 기록한다.
+     */
+    private CouponType findCouponType(long couponId) {
+        if (notExistCoupons.getIfPresent(couponId) != null) {
+            return null;
+        }
+        try {
+            return couponCacheService.getCouponLocalCache(couponId).couponType();
+        } catch (CouponIssueException e) {
+            if (e.getErrorCode() == ErrorCode.COUPON_NOT_EXIST) {
+                notExistCoupons.put(couponId, Boolean.TRUE);
+            }
+            return null;
+        }
+    }
+
+    private void drop(String stage, String scope, CouponType couponType) {
+        meterRegistry.counter(DROPPED_METRIC,
+                "stage", stage,
+                "scope", scope,
+                "couponType", couponType == null ? "NONE" : couponType.name()
+        ).increment();
+    }
+
+    /**
+     * 사용자 버킷은 쿠폰별로 분리한다.
+     */
+    private record UserBucketKey(long couponId, long userId) {
+    }
+}
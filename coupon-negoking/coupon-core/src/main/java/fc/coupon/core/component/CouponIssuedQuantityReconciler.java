@@ -0,0 +1,197 @@
+package fc.coupon.core.component;
+
+import fc.coupon.core.configuration.CouponIssueProperties;
+import fc.coupon.core.model.Coupon;
+import fc.coupon.core.repository.mysql.CouponJdbcRepository;
+import fc.coupon.core.repository.mysql.CouponJpaRepository;
+import fc.coupon.core.repository.redis.RedisRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static fc.coupon.core.util.CouponRedisUtils.getIssueRequestBucketKey;
+import static fc.coupon.core.util.CouponRedisUtils.getIssueRequestKey;
+
+/**
+ * 비동기 발급은 레디스에만 발급 요청을 기록하므로 DB 쿠폰의 발급 수량(issued_quantity)은 증가하지 않는다.
+ * 요청마다 쿠폰 row를 변경하면 다시 row lock 경합이 생기므로 interval 마다 모아서 반영한다. (write-behind)
+ *
+ * - 발급 요청 Set의 원소 수(SCARD)를 발급 수량으로 본다. 샤딩된 재고는 버킷 Set의 원소 수를 합친다.
+ * - 발급 중인 쿠폰의 SCARD 를 한번의 파이프라인으로 조회하고, 변경이 필요한 쿠폰만 한번의 batch UPDATE로 반영한다.
+ * - 발급 가능 수량(totalQuantity)으로 제한한 값이 현재 값보다 클 때만 변경하므로 여러 서버에서 동시에 실행되어도 안전하다.
+ * - 변경 여부(Result.updated, coupon.issue.reconcile.updated)는 batch UPDATE 의 row 수로 판단한다.
+ * - 반영 전 차이(레디스 - DB)를 coupon.issue.reconcile.drift 게이지로 기록한다.
+ *   동기 발급(/v1/issue)은 레디스를 거치지 않으므로 음수가 될 수 있다.
+ * - coupon.issue.reconcile.enabled=true 인 서버에서만 등록된다. (consumer 서버)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "coupon.issue.reconcile", name = "enabled", havingValue = "true")
+public class CouponIssuedQuantityReconciler {
+    private static final String DRIFT_METRIC = "coupon.issue.reconcile.drift";
+
+    private final CouponJpaRepository couponJpaRepository;
+    private final CouponJdbcRepository couponJdbcRepository;
+    private final RedisRepository redisRepository;
+    private final CouponIssueProperties couponIssueProperties;
+    private final MeterRegistry meterRegistry;
+
+    private final Timer reconcileTimer;
+    private final Counter updatedCounter;
+    private final Map<Long, AtomicLong> drifts = new ConcurrentHashMap<>();
+    private final Map<Long, Gauge> driftGauges = new ConcurrentHashMap<>();
+
+    public CouponIssuedQuantityReconciler(CouponJpaRepository couponJpaRepository,
+                                          CouponJdbcRepository couponJdbcRepository,
+                                          RedisRepository redisRepository,
+                                          CouponIssueProperties couponIssueProperties,
+                                          MeterRegistry meterRegistry) {
+        this.couponJpaRepository = couponJpaRepository;
+        this.couponJdbcRepository = couponJdbcRepository;
+        this.redisRepository = redisRepository;
+        this.couponIssueProperties = couponIssueProperties;
+        this.meterRegistry = meterRegistry;
+        this.reconcileTimer = Timer.builder("coupon.issue.reconcile")
+                .description("레디스 발급 요청 수를 쿠폰 발급 수량에 반영하는 시간")
+                .register(meterRegistry);
+        this.updatedCounter = Counter.builder("coupon.issue.reconcile.updated")
+                .description("발급 수량을 변경한 쿠폰 수")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${coupon.issue.reconcile.interval:PT10S}")
+    public void scheduledReconcile() {
+        try {
+            reconcile();
+        } catch (Exception e) {
+            log.error("쿠폰 발급 수량 반영 실패", e);
+        }
+    }
+
+    /**
+     * 발급 중이거나 gracePeriod 안에 발급이 종료된 쿠폰의 발급 수량을 반영한다.
+     */
+    public List<Result> reconcile() {
+        final LocalDateTime now = LocalDateTime.now();
+        final List<Coupon> coupons = couponJpaRepository.findAllIssuing(now, now.minus(couponIssueProperties.getReconcile().getGracePeriod()));
+        final List<Result> results = reconcileTimer.record(() -> reconcile(coupons));
+        removeStaleGauges(coupons);
+        return results;
+    }
+
+    /**
+     * 발급 기간과 관계없이 하나의 쿠폰만 반영한다. (수동 복구)
+     */
+    public Result reconcile(long couponId) {
+        return couponJpaRepository.findById(couponId)
+                .map(coupon -> reconcile(List.of(coupon)).get(0))
+                .orElse(null);
+    }
+
+    private List<Result> reconcile(List<Coupon> coupons) {
+        if (coupons.isEmpty()) {
+            return List.of();
+        }
+
+        final int bucketCount = couponIssueProperties.getShardedInventory().getBucketCount();
+        final List<String> keys = new ArrayList<>(coupons.size() * (bucketCount + 1));
+        for (Coupon coupon : coupons) {
+            keys.add(getIssueRequestKey(coupon.getId()));
+            for (int bucket = 0; bucket < bucketCount; bucket++) {
+                keys.add(getIssueRequestBucketKey(coupon.getId(), bucket));
+            }
+        }
+        final List<Long> counts = redisRepository.sCard(keys);
+
+        final long[] requestedCounts = new long[coupons.size()];
+        final Map<Long, Integer> issuedQuantities = new LinkedHashMap<>();
+        for (int i = 0; i < coupons.size(); i++) {
+            final Coupon coupon = coupons.get(i);
+            long requested = 0;
+            for (int j = 0; j <= bucketCount; j++) {
+                requested += counts.get(i * (bucketCount + 1) + j);
+            }
+            requestedCounts[i] = requested;
+            recordDrift(coupon.getId(), requested - coupon.getIssuedQuantity());
+
+            // 발급 가능 수량으로 제한한 값이 현재 값보다 클 때만 변경한다.
+            final Integer totalQuantity = coupon.getTotalQuantity();
+            final int issuedQuantity = (int) Math.min(requested, totalQuantity != null ? totalQuantity : Integer.MAX_VALUE);
+            if (issuedQuantity <= coupon.getIssuedQuantity()) {
+                continue;
+            }
+            if (requested > issuedQuantity) {
+                log.warn("발급 요청 수가 발급 가능 수량보다 많습니다. couponId : {}, total : {}, requested : {}", coupon.getId(), totalQuantity, requested);
+            }
+            issuedQuantities.put(coupon.getId(), issuedQuantity);
+        }
+
+        final Set<Long> updated = couponJdbcRepository.updateIssuedQuantities(issuedQuantities);
+        updatedCounter.increment(updated.size());
+        if (!updated.isEmpty()) {
+            log.info("쿠폰 발급 수량 반영. coupons : {}", updated);
+        }
+
+        final List<Result> results = new ArrayList<>(coupons.size());
+        for (int i = 0; i < coupons.size(); i++) {
+            final Coupon coupon = coupons.get(i);
+            results.add(new Result(coupon.getId(), requestedCounts[i], coupon.getIssuedQuantity(), updated.contains(coupon.getId())));
+        }
+        return results;
+    }
+
+    private void recordDrift(long couponId, long drift) {
+        drifts.computeIfAbsent(couponId, id -> {
+            final AtomicLong value = new AtomicLong();
+            driftGauges.put(id, Gauge.builder(DRIFT_METRIC, value, AtomicLong::get)
+                    .description("레디스 발급 요청 수와 쿠폰 발급 수량의 차이")
+                    .tag("couponId", String.valueOf(id))
+                    .register(meterRegistry));
+            return value;
+        }).set(drift);
+    }
+
+    /**
+     * 반영 대상에서 빠진 쿠폰의 게이지를 제거한다.
+     */
+    private void removeStaleGauges(List<Coupon> coupons) {
+        final Set<Long> couponIds = new HashSet<>();
+        coupons.forEach(coupon -> couponIds.add(coupon.getId()));
+        for (Long couponId : drifts.keySet()) {
+            if (couponIds.contains(couponId)) {
+                continue;
+            }
+            drifts.remove(couponId);
+            final Gauge gauge = driftGauges.remove(couponId);
+            if (gauge != null) {
+                meterRegistry.remove(gauge);
+            }
+        }
+    }
+
+    /**
+     * @param requested      레디스 발급 요청 수
+     * @param issuedQuantity 반영 전 DB 발급 수량
+     * @param updated        발급 수량을 변경했다면 true
+     */
+    public record Result(long couponId, long requested, int issuedQuantity, boolean updated) {
+        public long drift() {
+            return requested - issuedQuantity;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package fc.coupon.core.component;
+
+import fc.coupon.core.configuration.CouponIssueProperties;
+import fc.coupon.core.model.Coupon;
+import fc.coupon.core.repository.mysql.CouponJpaRepository;
+import fc.coupon.core.service.TokenPoolAsyncCouponIssueService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 발급 시작이 다가온 쿠폰의 발급 토큰을 미리 생성한다.
+ * 발급 시작 직후 첫 요청들이 토큰 생성을 기다리지 않도록 한다.
+ * 여러 서버에서 동시에 실행되어도 부족한 토큰만 생성되며, 토큰이 유실되었다면 다음 주기에 다시 생성된다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "coupon.issue.token-pool", name = "warmer-enabled", havingValue = "true")
+public class CouponTokenPoolWarmer {
+    private final CouponJpaRepository couponJpaRepository;
+    private final TokenPoolAsyncCouponIssueService tokenPoolAsyncCouponIssueService;
+    private final CouponIssueProperties couponIssueProperties;
+
+    @Scheduled(fixedDelayString = "${coupon.issue.token-pool.warm-interval:PT1M}")
+    public void warm() {
+        final LocalDateTime now = LocalDateTime.now();
+        final List<Coupon> coupons = couponJpaRepository.findAllIssuableWithQuantity(
+                now.plus(couponIssueProperties.getTokenPool().getWarmLeadTime()),
+                now
+        );
+
+        for (Coupon coupon : coupons) {
+            try {
+                tokenPoolAsyncCouponIssueService.warm(coupon.getId(), coupon.getTotalQuantity());
+            } catch (Exception e) {
+                log.error("쿠폰 발급 토큰 생성 실패. couponId : {}", coupon.getId(), e);
+            }
+        }
+    }
+}
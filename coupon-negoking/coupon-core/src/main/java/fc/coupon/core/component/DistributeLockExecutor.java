@@ -1,22 +1,53 @@
 package fc.coupon.core.component;
 
-import lombok.RequiredArgsConstructor;
+import fc.coupon.core.configuration.CouponIssueProperties;
+import fc.coupon.core.exception.CouponIssueException;
+import fc.coupon.core.exception.ErrorCode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.redisson.api.RLock;
 import org.redisson.api.RedissonClient;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * 레디스 분산락 실행기
+ *
+ * - 락 획득 방식은 coupon.issue.lock.mode (wait, fair, spin, fast-fail) 로 선택한다.
+ * - 락을 획득하지 못하면 FAIL_LOCK_ACQUIRE 로 실패한다.
+ * - lock 이름별 대기 시간, 소유 시간, 실패 수를 기록해 락 설정을 측정값으로 조정할 수 있다.
+ *   coupon.lock.wait (result: acquired, failed), coupon.lock.hold, coupon.lock.failure (reason: timeout, interrupted, lease_expired)
+ */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class DistributeLockExecutor {
     public  static final String LOCK_PREFIX = "lock_";
 
     private final RedissonClient redissonClient;
+    private final MeterRegistry meterRegistry;
+    private final CouponIssueProperties.Lock defaultOptions;
+
+    public DistributeLockExecutor(RedissonClient redissonClient, MeterRegistry meterRegistry, CouponIssueProperties couponIssueProperties) {
+        this.redissonClient = redissonClient;
+        this.meterRegistry = meterRegistry;
+        this.defaultOptions = couponIssueProperties.getLock();
+    }
+
+    /**
+     * coupon.issue.lock 설정으로 실행한다.
+     */
+    public void execute(final String lockName, Runnable runnable) {
+        execute(lockName, defaultOptions, runnable);
+    }
 
     /**
+     * 가상 스레드 환경에서는 tryLock 대기 동안 스레드를 점유하지 않는다.
+     * 단, redisson 3.16.x 는 응답 대기에 Netty Promise.await(synchronized + wait)를 사용해 대기하는 동안 캐리어 스레드가 고정(pinning)된다.
+     * -Djdk.tracePinnedThreads=short 로 확인할 수 있으며 CompletableFuture 기반인 3.17 이상에서는 발생하지 않는다.
      *
      * @param lockName - lock key
      * @param wait - millisecond, 락 획득 대기 시간
@@ -24,25 +55,91 @@ public class DistributeLockExecutor {
      * @param runnable
      */
     public void execute(final String lockName, final long wait, final long release, Runnable runnable) {
-        RLock lock = redissonClient.getLock(lockName);
+        final CouponIssueProperties.Lock options = new CouponIssueProperties.Lock();
+        options.setMode(CouponIssueProperties.LockMode.WAIT);
+        options.setWaitTime(Duration.ofMillis(wait));
+        options.setLeaseTime(Duration.ofMillis(release));
+        execute(lockName, options, runnable);
+    }
+
+    public void execute(final String lockName, final CouponIssueProperties.Lock options, Runnable runnable) {
+        final RLock lock = options.getMode() == CouponIssueProperties.LockMode.FAIR
+                ? redissonClient.getFairLock(lockName)
+                : redissonClient.getLock(lockName);
 
         // 락 획득 시도
+        final long waitStartedAt = System.nanoTime();
+        final boolean isGetLock;
         try {
-            // 락 획득 결과
-            final boolean isGetLock = lock.tryLock(wait, release, TimeUnit.MILLISECONDS);
-            // 락 획득 실패시, 락없이 로직을 진행하는 경우 동시성 이슈 발생할 수 있기에 예외처리
-            if (!isGetLock) {
-                throw new IllegalStateException("[" + lockName+ "] lock 획득 실패");
-            }
-            runnable.run();
+            isGetLock = tryLock(lock, options);
         } catch (InterruptedException e) {
-            log.error(e.getMessage(), e);
-            throw new RuntimeException(e);
+            Thread.currentThread().interrupt();
+            recordWait(lockName, options, waitStartedAt, false);
+            recordFailure(lockName, "interrupted");
+            throw new CouponIssueException(ErrorCode.FAIL_LOCK_ACQUIRE, "[%s] lock 획득 중 중단", lockName);
+        }
+        recordWait(lockName, options, waitStartedAt, isGetLock);
+
+        // 락 획득 실패시, 락없이 로직을 진행하는 경우 동시성 이슈 발생할 수 있기에 예외처리
+        if (!isGetLock) {
+            recordFailure(lockName, "timeout");
+            throw new CouponIssueException(ErrorCode.FAIL_LOCK_ACQUIRE, "[%s] lock 획득 실패", lockName);
+        }
+
+        final long acquiredAt = System.nanoTime();
+        try {
+            runnable.run();
         } finally {
             // 락 반환
             if (lock.isHeldByCurrentThread()) {
                 lock.unlock();
+            } else {
+                // 작업 도중 소유 시간이 지나 다른 요청이 락을 획득했을 수 있다.
+                log.warn("[{}] lock 소유 시간이 작업 시간보다 짧습니다. leaseTime : {}", lockName, options.getLeaseTime());
+                recordFailure(lockName, "lease_expired");
+            }
+            Timer.builder("coupon.lock.hold")
+                    .tag("lock", lockName)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - acquiredAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private boolean tryLock(RLock lock, CouponIssueProperties.Lock options) throws InterruptedException {
+        // leaseTime -1 이면 redisson watchdog 이 작업이 끝날 때까지 소유 시간을 연장한다.
+        final long leaseTime = options.isLeaseRenewal() ? -1 : options.getLeaseTime().toMillis();
+        return switch (options.getMode()) {
+            case WAIT, FAIR -> lock.tryLock(options.getWaitTime().toMillis(), leaseTime, TimeUnit.MILLISECONDS);
+            case FAST_FAIL -> lock.tryLock(0, leaseTime, TimeUnit.MILLISECONDS);
+            case SPIN -> spinLock(lock, options, leaseTime);
+        };
+    }
+
+    /**
+     * pub/sub 구독 없이 짧게 재시도한다. 소유 시간이 짧은 락에서 대기 비용을 줄인다.
+     */
+    private boolean spinLock(RLock lock, CouponIssueProperties.Lock options, long leaseTime) throws InterruptedException {
+        for (int attempt = 1; attempt <= options.getSpinAttempts(); attempt++) {
+            if (lock.tryLock(0, leaseTime, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+            if (attempt < options.getSpinAttempts()) {
+                Thread.sleep(ThreadLocalRandom.current().nextLong(options.getSpinBackoff().toMillis() + 1));
             }
         }
+        return false;
+    }
+
+    private void recordWait(String lockName, CouponIssueProperties.Lock options, long waitStartedAt, boolean acquired) {
+        Timer.builder("coupon.lock.wait")
+                .tag("lock", lockName)
+                .tag("mode", options.getMode().name())
+                .tag("result", acquired ? "acquired" : "failed")
+                .register(meterRegistry)
+                .record(System.nanoTime() - waitStartedAt, TimeUnit.NANOSECONDS);
+    }
+
+    private void recordFailure(String lockName, String reason) {
+        meterRegistry.counter("coupon.lock.failure", "lock", lockName, "reason", reason).increment();
     }
 }
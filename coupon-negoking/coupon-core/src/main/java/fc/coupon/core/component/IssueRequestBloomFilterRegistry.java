@@ -0,0 +1,171 @@
+package fc.coupon.core.component;
+
+import fc.coupon.core.configuration.CouponIssueProperties;
+import fc.coupon.core.repository.redis.RedisRepository;
+import fc.coupon.core.repository.redis.dto.BloomFilterBits;
+import fc.coupon.core.util.LongBloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static fc.coupon.core.util.CouponRedisUtils.getCouponCacheEvictChannel;
+import static fc.coupon.core.util.CouponRedisUtils.getCouponSoldOutChannel;
+import static fc.coupon.core.util.CouponRedisUtils.getIssueRequestBloomKey;
+
+/**
+ * 쿠폰별 발급 요청 사용자 Bloom filter
+ *
+ * - 발급 요청 Set에 없다고 판단된 사용자는 SISMEMBER 없이 바로 SADD 하고, 포함될 수 있다고 판단된 사용자만 Set에서 확인한다.
+ * - 발급 요청을 추가할 때 레디스 비트맵에도 같은 비트를 기록하고, 서버는 처음 사용할 때 레디스 비트맵을 읽어와 다른 서버의 요청도 반영한다.
+ * - 이후 다른 서버에서 추가된 사용자는 반영되지 않아 없다고 잘못 판단할 수 있으므로 SADD 결과로 중복 여부를 최종 판단하고, 새로 추가된 경우에만 Queue에 적재한다.
+ * - 레디스 비트맵은 기록할 때마다 보관 시간(ttl)을 갱신해 발급이 끝난 쿠폰의 비트맵이 남지 않도록 한다.
+ * - 매진되거나 쿠폰 정책이 변경되면 (수량 변경 등) 다시 만든다. 크기가 달라지면 새로운 비트맵을 사용한다.
+ */
+@Slf4j
+@Component
+public class IssueRequestBloomFilterRegistry implements MessageListener {
+    private static final String CHECK_METRIC = "coupon.issue.bloom.check";
+    private static final String FPP_METRIC = "coupon.issue.bloom.fpp";
+
+    private final RedisMessageListenerContainer listenerContainer;
+    private final RedisRepository redisRepository;
+    private final MeterRegistry meterRegistry;
+    private final CouponIssueProperties.BloomFilter properties;
+
+    private final ConcurrentHashMap<Long, CouponBloomFilter> filters = new ConcurrentHashMap<>();
+    private final Counter negative;
+    private final Counter truePositive;
+    private final Counter falsePositive;
+
+    public IssueRequestBloomFilterRegistry(RedisMessageListenerContainer listenerContainer,
+                                           RedisRepository redisRepository,
+                                           MeterRegistry meterRegistry,
+                                           CouponIssueProperties couponIssueProperties) {
+        this.listenerContainer = listenerContainer;
+        this.redisRepository = redisRepository;
+        this.meterRegistry = meterRegistry;
+        this.properties = couponIssueProperties.getBloomFilter();
+        this.negative = meterRegistry.counter(CHECK_METRIC, "result", "negative");
+        this.truePositive = meterRegistry.counter(CHECK_METRIC, "result", "true_positive");
+        this.falsePositive = meterRegistry.counter(CHECK_METRIC, "result", "false_positive");
+    }
+
+    @PostConstruct
+    void subscribe() {
+        listenerContainer.addMessageListener(this, List.of(
+                ChannelTopic.of(getCouponSoldOutChannel()),
+                ChannelTopic.of(getCouponCacheEvictChannel())
+        ));
+    }
+
+    /**
+     * @param totalQuantity - Bloom filter 크기를 정하는 예상 사용자 수, null 이면 defaultExpectedInsertions
+     * @return 발급 요청 Set에 포함될 수 있다면 true, 비활성화되어 있다면 항상 true
+     */
+    public boolean mightContain(long couponId, Integer totalQuantity, long userId) {
+        if (!properties.isEnabled()) {
+            return true;
+        }
+        final boolean mightContain = getOrLoad(couponId, totalQuantity).filter.mightContain(userId);
+        if (!mightContain) {
+            negative.increment();
+        }
+        return mightContain;
+    }
+
+    /**
+     * 포함될 수 있다고 판단한 뒤 발급 요청 Set에서 확인한 결과를 기록한다. (관측된 false positive 비율)
+     */
+    public void recordPositive(boolean member) {
+        (member ? truePositive : falsePositive).increment();
+    }
+
+    /**
+     * 이 서버의 Bloom filter에 추가한다.
+     *
+     * @return 레디스 비트맵에 설정할 비트, 비활성화되어 있다면 빈 값
+     */
+    public BloomFilterBits put(long couponId, Integer totalQuantity, long userId) {
+        if (!properties.isEnabled()) {
+            return BloomFilterBits.empty();
+        }
+        final CouponBloomFilter bloomFilter = getOrLoad(couponId, totalQuantity);
+        return new BloomFilterBits(bloomFilter.key, bloomFilter.filter.put(userId), properties.getTtl());
+    }
+
+    /**
+     * 레디스 비트맵 조회는 computeIfAbsent 밖에서 처리한다.
+     * computeIfAbsent 안에서 조회하면 조회가 끝날 때까지 같은 bin을 사용하는 다른 쿠폰의 요청까지 대기한다.
+     * 여러 요청이 동시에 처음 사용하면 비트맵을 여러 번 읽을 수 있지만 먼저 등록된 Bloom filter 하나만 사용한다.
+     */
+    private CouponBloomFilter getOrLoad(long couponId, Integer totalQuantity) {
+        final CouponBloomFilter filter = filters.get(couponId);
+        if (filter != null) {
+            return filter;
+        }
+        final CouponBloomFilter loaded = load(couponId, totalQuantity);
+        final CouponBloomFilter existing = filters.putIfAbsent(couponId, loaded);
+        if (existing != null) {
+            return existing;
+        }
+        registerGauge(couponId);
+        log.info("Bloom filter 생성. couponId : {}, bitSize : {}, hashCount : {}", couponId, loaded.filter.bitSize(), loaded.filter.hashCount());
+        return loaded;
+    }
+
+    private CouponBloomFilter load(long couponId, Integer totalQuantity) {
+        final long expectedInsertions = totalQuantity != null && totalQuantity > 0 ? totalQuantity : properties.getDefaultExpectedInsertions();
+        final LongBloomFilter filter = new LongBloomFilter(expectedInsertions, properties.getFpp());
+        final String key = getIssueRequestBloomKey(couponId, filter.bitSize());
+        filter.merge(redisRepository.getBitmap(key));
+        return new CouponBloomFilter(filter, key);
+    }
+
+    /**
+     * 현재 등록된 Bloom filter를 조회해서 측정하므로 다시 만들어도 같은 gauge를 사용한다.
+     */
+    private void registerGauge(long couponId) {
+        Gauge.builder(FPP_METRIC, filters, registered -> {
+                    final CouponBloomFilter bloomFilter = registered.get(couponId);
+                    return bloomFilter == null ? Double.NaN : bloomFilter.filter.expectedFpp();
+                })
+                .description("쿠폰별 Bloom filter 예상 false positive 확률")
+                .tag("couponId", String.valueOf(couponId))
+                .register(meterRegistry);
+    }
+
+    /**
+     * 이 서버의 Bloom filter를 모두 제거한다. 레디스 비트맵은 유지되므로 다음 사용시 다시 읽어온다.
+     */
+    public void clear() {
+        filters.keySet().forEach(this::remove);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        remove(Long.parseLong(new String(message.getBody(), StandardCharsets.UTF_8)));
+    }
+
+    private void remove(long couponId) {
+        if (filters.remove(couponId) != null) {
+            final Gauge gauge = meterRegistry.find(FPP_METRIC).tag("couponId", String.valueOf(couponId)).gauge();
+            if (gauge != null) {
+                meterRegistry.remove(gauge);
+            }
+        }
+    }
+
+    private record CouponBloomFilter(LongBloomFilter filter, String key) {
+    }
+}
@@ -0,0 +1,78 @@
+package fc.coupon.core.component;
+
+import fc.coupon.core.configuration.CouponIssueProperties;
+import fc.coupon.core.exception.CouponIssueException;
+import fc.coupon.core.exception.ErrorCode;
+import fc.coupon.core.repository.redis.CouponIssueRequestCode;
+import fc.coupon.core.util.CouponUserDedup;
+import jakarta.annotation.PostConstruct;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static fc.coupon.core.util.CouponRedisUtils.getCouponCacheEvictChannel;
+import static fc.coupon.core.util.CouponRedisUtils.getCouponSoldOutChannel;
+
+/**
+ * 서버별 발급 요청한 사용자 목록
+ *
+ * 레디스에 발급 요청이 기록된 사용자는 다시 요청해도 항상 중복으로 실패하므로
+ * 이 서버에서 한번 확인한 사용자의 재요청은 레디스 호출(또는 lock) 없이 메모리에서 바로 거절한다.
+ * 매진되면 더 이상 필요하지 않으므로 해당 쿠폰의 목록을 제거한다.
+ */
+@Component
+public class IssueRequestedUserRegistry implements MessageListener {
+    private final RedisMessageListenerContainer listenerContainer;
+    private final CouponUserDedup requestedUsers;
+
+    public IssueRequestedUserRegistry(RedisMessageListenerContainer listenerContainer, CouponIssueProperties couponIssueProperties) {
+        this.listenerContainer = listenerContainer;
+        final CouponIssueProperties.Dedup dedup = couponIssueProperties.getDedup();
+        this.requestedUsers = new CouponUserDedup(dedup.getInitialCapacity(), dedup.isOffHeap());
+    }
+
+    @PostConstruct
+    void subscribe() {
+        listenerContainer.addMessageListener(this, List.of(
+                ChannelTopic.of(getCouponSoldOutChannel()),
+                ChannelTopic.of(getCouponCacheEvictChannel())
+        ));
+    }
+
+    public void checkDuplicated(long couponId, long userId) {
+        if (requestedUsers.contains(couponId, userId)) {
+            throw CouponIssueException.of(ErrorCode.DUPLICATED_COUPON_ISSUE);
+        }
+    }
+
+    public void record(long couponId, long userId) {
+        requestedUsers.add(couponId, userId);
+    }
+
+    /**
+     * 레디스에 발급 요청이 기록된 경우(성공, 중복)만 기록한다.
+     */
+    public void record(long couponId, long userId, CouponIssueRequestCode code) {
+        if (code == CouponIssueRequestCode.SUCCESS || code == CouponIssueRequestCode.DUPLICATED_COUPON_ISSUE) {
+            requestedUsers.add(couponId, userId);
+        }
+    }
+
+    /**
+     * 이 서버에 기록된 발급 요청 사용자를 모두 제거한다.
+     */
+    public void clear() {
+        requestedUsers.clear();
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        final long couponId = Long.parseLong(new String(message.getBody(), StandardCharsets.UTF_8));
+        requestedUsers.clear(couponId);
+    }
+}
@@ -0,0 +1,93 @@
+package fc.coupon.core.component;
+
+import fc.coupon.core.exception.CouponIssueException;
+import fc.coupon.core.exception.ErrorCode;
+import fc.coupon.core.repository.redis.RedisRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static fc.coupon.core.util.CouponRedisUtils.getCouponCacheEvictChannel;
+import static fc.coupon.core.util.CouponRedisUtils.getCouponSoldOutChannel;
+
+/**
+ * 서버별 매진 쿠폰 목록
+ *
+ * 매진 이후의 요청은 모두 실패하지만 캐시 조회, lock, 레디스 호출을 거친 뒤에야 실패한다.
+ * 매진을 확인한 서버가 pub/sub으로 알리고, 각 서버는 네트워크 호출 없이 메모리에서 바로 거절한다.
+ * 쿠폰 정책이 변경되면 (수량 증가 등) 매진 상태를 해제한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SoldOutCouponRegistry implements MessageListener {
+    private final RedisMessageListenerContainer listenerContainer;
+    private final RedisRepository redisRepository;
+
+    private final Set<Long> soldOutCoupons = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    void subscribe() {
+        listenerContainer.addMessageListener(this, List.of(
+                ChannelTopic.of(getCouponSoldOutChannel()),
+                ChannelTopic.of(getCouponCacheEvictChannel())
+        ));
+    }
+
+    public boolean isSoldOut(long couponId) {
+        return soldOutCoupons.contains(couponId);
+    }
+
+    public void checkSoldOut(long couponId) {
+        if (isSoldOut(couponId)) {
+            throw CouponIssueException.of(ErrorCode.INVALID_COUPON_ISSUE_QUANTITY);
+        }
+    }
+
+    /**
+     * 처음 매진을 확인한 경우에만 다른 서버에 알린다.
+     */
+    public void markSoldOut(long couponId) {
+        if (recordSoldOut(couponId)) {
+            redisRepository.publish(getCouponSoldOutChannel(), String.valueOf(couponId));
+        }
+    }
+
+    /**
+     * 이 서버에만 매진을 기록한다. 다른 서버에 알리는 것은 호출한 쪽의 책임이다.
+     *
+     * @return 처음 매진을 확인했다면 true
+     */
+    public boolean recordSoldOut(long couponId) {
+        return soldOutCoupons.add(couponId);
+    }
+
+    /**
+     * 이 서버에 기록된 매진 쿠폰을 모두 제거한다.
+     */
+    public void clear() {
+        soldOutCoupons.clear();
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        final String channel = new String(message.getChannel(), StandardCharsets.UTF_8);
+        final long couponId = Long.parseLong(new String(message.getBody(), StandardCharsets.UTF_8));
+
+        if (getCouponSoldOutChannel().equals(channel)) {
+            soldOutCoupons.add(couponId);
+        } else if (soldOutCoupons.remove(couponId)) {
+            log.info("쿠폰 매진 상태 해제. couponId : {}", couponId);
+        }
+    }
+}
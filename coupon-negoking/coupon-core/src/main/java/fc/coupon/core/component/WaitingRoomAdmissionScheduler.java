@@ -0,0 +1,41 @@
+package fc.coupon.core.component;
+
+import fc.coupon.core.configuration.CouponIssueProperties;
+import fc.coupon.core.repository.redis.RedisRepository;
+import fc.coupon.core.service.WaitingRoomService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import static fc.coupon.core.util.CouponRedisUtils.getWaitingRoomAdmissionKey;
+
+/**
+ * 대기열이 있는 쿠폰의 대기자를 admissionInterval 마다 batchSize 명씩 입장시킨다.
+ * 쿠폰별로 admissionInterval 동안 유지되는 키(SET NX PX)를 먼저 획득한 서버만 입장시키므로
+ * 서버 수와 관계없이 주기마다 한번만 입장한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "coupon.issue.waiting-room", name = "admission-enabled", havingValue = "true")
+public class WaitingRoomAdmissionScheduler {
+    private final WaitingRoomService waitingRoomService;
+    private final RedisRepository redisRepository;
+    private final CouponIssueProperties couponIssueProperties;
+
+    @Scheduled(fixedDelayString = "${coupon.issue.waiting-room.admission-interval:PT0.1S}")
+    public void admit() {
+        for (Long couponId : waitingRoomService.getWaitingCouponIds()) {
+            try {
+                if (Boolean.TRUE.equals(redisRepository.setIfAbsent(getWaitingRoomAdmissionKey(couponId), "1",
+                        couponIssueProperties.getWaitingRoom().getAdmissionInterval()))) {
+                    waitingRoomService.admit(couponId);
+                }
+            } catch (Exception e) {
+                log.error("대기열 입장 실패. couponId : {}", couponId, e);
+            }
+        }
+    }
+}
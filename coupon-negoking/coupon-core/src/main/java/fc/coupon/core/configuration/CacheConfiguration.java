@@ -0,0 +1,62 @@
+package fc.coupon.core.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import fc.coupon.core.repository.redis.dto.CouponRedisEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+/**
+ * 쿠폰 정책 2단계 캐시
+ * 로컬 캐시(Caffeine) -> 레디스 캐시 -> MySQL 순으로 조회한다.
+ */
+@EnableCaching
+@EnableAspectJAutoProxy(exposeProxy = true)
+@Configuration
+@RequiredArgsConstructor
+public class CacheConfiguration {
+    public static final String COUPON_CACHE = "coupon";
+    public static final String LOCAL_CACHE_MANAGER = "localCacheManager";
+
+    private final CouponCacheProperties properties;
+
+    @Primary
+    @Bean
+    public CacheManager redisCacheManager(RedisConnectionFactory redisConnectionFactory) {
+        final ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        final RedisCacheConfiguration couponCacheConfiguration = RedisCacheConfiguration.defaultCacheConfig()
+                .serializeKeysWith(SerializationPair.fromSerializer(new StringRedisSerializer()))
+                .serializeValuesWith(SerializationPair.fromSerializer(new Jackson2JsonRedisSerializer<>(objectMapper, CouponRedisEntity.class)))
+                .entryTtl(properties.getRedisExpireAfterWrite());
+
+        return RedisCacheManager.builder(redisConnectionFactory)
+                .withCacheConfiguration(COUPON_CACHE, couponCacheConfiguration)
+                .build();
+    }
+
+    @Bean
+    public CacheManager localCacheManager() {
+        final CaffeineCacheManager cacheManager = new CaffeineCacheManager(COUPON_CACHE);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .expireAfterWrite(properties.getLocalExpireAfterWrite())
+                .maximumSize(properties.getLocalMaximumSize()));
+        return cacheManager;
+    }
+}
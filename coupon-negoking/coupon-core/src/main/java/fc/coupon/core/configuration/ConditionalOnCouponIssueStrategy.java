@@ -0,0 +1,23 @@
+package fc.coupon.core.configuration;
+
+import org.springframework.context.annotation.Conditional;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * coupon.issue.strategy 가 value 일 때만 빈을 등록한다.
+ *
+ * CouponIssueProperties와 같은 방식으로 enum에 바인딩해서 비교하므로
+ * in-memory, IN_MEMORY, in_memory 모두 같은 값으로 판단한다. (@ConditionalOnProperty 는 문자열이 정확히 같아야 한다.)
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Conditional(OnCouponIssueStrategyCondition.class)
+public @interface ConditionalOnCouponIssueStrategy {
+    CouponIssueProperties.Strategy value();
+}
@@ -0,0 +1,26 @@
+package fc.coupon.core.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "coupon.cache")
+public class CouponCacheProperties {
+
+    /**
+     * 로컬 캐시 만료 시간
+     * 변경시 pub/sub으로 무효화하지만 메시지를 받지 못한 서버를 위해 짧게 유지한다.
+     */
+    private Duration localExpireAfterWrite = Duration.ofMinutes(1);
+
+    private long localMaximumSize = 1_000;
+
+    /**
+     * 레디스 캐시 만료 시간
+     */
+    private Duration redisExpireAfterWrite = Duration.ofMinutes(30);
+}
@@ -0,0 +1,416 @@
+package fc.coupon.core.configuration;
+
+import fc.coupon.core.model.CouponType;
+import fc.coupon.core.repository.redis.CouponIssueQueueType;
+import fc.coupon.core.repository.redis.codec.CouponIssueRequestFormat;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "coupon.issue")
+public class CouponIssueProperties {
+
+    /**
+     * 동기 쿠폰 발급(/v1/issue) 방식
+     */
+    private Strategy strategy = Strategy.REDIS_LOCK;
+
+    /**
+     * 쿠폰 발급 내역 저장시 중복 발급 검증 방식
+     */
+    private DuplicateCheck duplicateCheck = DuplicateCheck.QUERY;
+
+    /**
+     * 발급 Queue 설정
+     */
+    private Queue queue = new Queue();
+
+    /**
+     * 샤딩된 재고 모드 설정
+     */
+    private ShardedInventory shardedInventory = new ShardedInventory();
+
+    /**
+     * 발급 요청 micro-batching 설정
+     */
+    private Batch batch = new Batch();
+
+    /**
+     * 발급 토큰 모드 설정
+     */
+    private TokenPool tokenPool = new TokenPool();
+
+    /**
+     * 메모리 기반 발급 설정 (strategy: in-memory)
+     */
+    private InMemory inMemory = new InMemory();
+
+    /**
+     * 서버 메모리에서 사용자 중복을 검사하는 Set 설정
+     */
+    private Dedup dedup = new Dedup();
+
+    /**
+     * V1 중복 발급 검증 전에 사용하는 Bloom filter 설정
+     */
+    private BloomFilter bloomFilter = new BloomFilter();
+
+    /**
+     * 조건부 UPDATE 발급 재시도 설정 (strategy: conditional-update)
+     */
+    private ConditionalUpdate conditionalUpdate = new ConditionalUpdate();
+
+    /**
+     * 쿠폰 단위 분산락 설정 (redis-lock, 비동기 V1)
+     */
+    private Lock lock = new Lock();
+
+    /**
+     * 레디스 발급 요청 수를 쿠폰 발급 수량(issued_quantity)에 주기적으로 반영 (비동기 발급)
+     */
+    private Reconcile reconcile = new Reconcile();
+
+    /**
+     * 대기열 설정, 발급 시작 시점에 몰리는 요청을 순번대로 나누어 입장시킨다. (/v1/waiting-room)
+     */
+    private WaitingRoom waitingRoom = new WaitingRoom();
+
+    /**
+     * 사용자별, 쿠폰별 발급 요청 수 제한 (coupon-api)
+     */
+    private RateLimit rateLimit = new RateLimit();
+
+    public enum Strategy {
+        /**
+         * 서버 내부 lock, 서버가 하나일 때만 동작한다.
+         */
+        SYNCHRONIZED,
+        /**
+         * 레디스 분산락
+         */
+        REDIS_LOCK,
+        /**
+         * mysql X LOCK
+         */
+        X_LOCK,
+        /**
+         * lock 없이 메모리에서 발급하고 DB에는 나중에 모아서 저장한다. 서버가 하나일 때만 동작한다.
+         */
+        IN_MEMORY,
+        /**
+         * mysql 조건부 UPDATE, lock 획득 실패(deadlock, lock wait timeout)시 jitter backoff 후 재시도한다.
+         */
+        CONDITIONAL_UPDATE
+    }
+
+    public enum DuplicateCheck {
+        /**
+         * 저장 전에 발급 내역을 조회해서 검증한다.
+         */
+        QUERY,
+        /**
+         * 조회 없이 저장하고 (coupon_id, user_id) 유니크 제약 조건 위반으로 검증한다.
+         */
+        CONSTRAINT
+    }
+
+    @Getter
+    @Setter
+    public static class ShardedInventory {
+        /**
+         * 쿠폰 하나의 발급 수량과 중복 발급 Set을 나누어 담는 버킷 수
+         */
+        private int bucketCount = 8;
+    }
+
+    @Getter
+    @Setter
+    public static class Queue {
+        private CouponIssueQueueType type = CouponIssueQueueType.LIST;
+
+        /**
+         * Queue에 적재하는 발급 요청 형식, consumer는 형식과 관계없이 모두 처리할 수 있다.
+         */
+        private CouponIssueRequestFormat format = CouponIssueRequestFormat.JSON;
+
+        /**
+         * Stream consumer group 이름
+         */
+        private String group = "coupon-consumer";
+
+        /**
+         * 가져간 뒤 이 시간 동안 ack 되지 않은 Stream 요청,
+         * 이 시간 동안 Queue를 조회하지 않은 List consumer의 처리중인 요청은 다른 consumer가 가져간다.
+         */
+        private Duration reclaimMinIdle = Duration.ofSeconds(30);
+
+        /**
+         * Stream 요청을 전달하는 최대 횟수, 이만큼 전달해도 처리되지 않은 요청은 dead letter Stream으로 옮긴다.
+         */
+        private int maxDeliveryCount = 5;
+    }
+
+    @Getter
+    @Setter
+    public static class Batch {
+        /**
+         * false 이면 요청을 모으지 않고 요청마다 바로 처리한다.
+         */
+        private boolean enabled = false;
+
+        /**
+         * 같은 쿠폰에 대한 요청을 모으는 최대 시간, 요청의 지연 시간이 최대 이만큼 늘어난다.
+         */
+        private Duration window = Duration.ofMillis(2);
+
+        /**
+         * window 가 지나지 않아도 이 수만큼 모이면 바로 처리한다.
+         */
+        private int maxSize = 100;
+
+        /**
+         * 모은 요청을 레디스로 전송하는 스레드 수
+         */
+        private int flushThreads = 4;
+    }
+
+    @Getter
+    @Setter
+    public static class TokenPool {
+        /**
+         * 발급 시작 전에 토큰을 미리 생성하는 작업 실행 여부
+         */
+        private boolean warmerEnabled = false;
+
+        /**
+         * 토큰을 생성할 쿠폰을 조회하는 주기
+         */
+        private Duration warmInterval = Duration.ofMinutes(1);
+
+        /**
+         * 발급 시작 시간이 이 시간 안으로 다가온 쿠폰의 토큰을 미리 생성한다.
+         */
+        private Duration warmLeadTime = Duration.ofMinutes(10);
+
+        /**
+         * 스크립트 한번에 생성하는 최대 토큰 수, 생성하는 동안 다른 레디스 명령이 대기하지 않도록 나눠서 생성한다.
+         */
+        private int fillBatchSize = 1000;
+    }
+
+    @Getter
+    @Setter
+    public static class InMemory {
+        /**
+         * 발급 내역을 DB에 저장하는 주기
+         */
+        private Duration flushInterval = Duration.ofMillis(100);
+
+        /**
+         * 한번에 저장하는 최대 발급 내역 수
+         */
+        private int flushBatchSize = 1000;
+    }
+
+    @Getter
+    @Setter
+    public static class Dedup {
+        /**
+         * 쿠폰별 예상 사용자 수, 초과하면 Set 크기를 두배씩 늘린다.
+         */
+        private int initialCapacity = 1024;
+
+        /**
+         * true 이면 힙 밖(Direct ByteBuffer)에 저장해 GC 대상 힙 크기를 늘리지 않는다.
+         */
+        private boolean offHeap = false;
+    }
+
+    @Getter
+    @Setter
+    public static class BloomFilter {
+        private boolean enabled = true;
+
+        /**
+         * 발급 수량(totalQuantity)만큼 추가되었을 때의 false positive 확률, 작을수록 크기가 커진다.
+         */
+        private double fpp = 0.01;
+
+        /**
+         * 발급 수량이 정해지지 않은 쿠폰의 예상 사용자 수
+         */
+        private long defaultExpectedInsertions = 100_000;
+
+        /**
+         * 레디스 비트맵 보관 시간, 발급 요청을 기록할 때마다 갱신한다.
+         * 만료되어도 새로 읽어오는 서버의 Bloom filter가 비어있을 뿐 중복 여부는 SADD 결과로 판단하므로 발급에는 영향이 없다.
+         */
+        private Duration ttl = Duration.ofDays(1);
+    }
+
+    @Getter
+    @Setter
+    public static class ConditionalUpdate {
+        /**
+         * 첫 시도를 포함한 최대 시도 횟수
+         */
+        private int maxAttempts = 3;
+
+        /**
+         * 재시도 대기 시간은 0 ~ min(maxBackoff, minBackoff * 2^(시도 횟수 - 1)) 사이에서 무작위로 정한다. (full jitter)
+         */
+        private Duration minBackoff = Duration.ofMillis(5);
+
+        private Duration maxBackoff = Duration.ofMillis(50);
+    }
+
+    @Getter
+    @Setter
+    public static class Reconcile {
+        /**
+         * consumer 서버에서만 활성화한다. (application-consumer.yml)
+         */
+        private boolean enabled = false;
+
+        /**
+         * 반영 주기
+         */
+        private Duration interval = Duration.ofSeconds(10);
+
+        /**
+         * 발급이 종료된 뒤에도 반영하는 시간, 종료 직전 요청까지 반영되도록 interval 보다 길게 설정한다.
+         */
+        private Duration gracePeriod = Duration.ofHours(1);
+    }
+
+    @Getter
+    @Setter
+    public static class WaitingRoom {
+        /**
+         * api 서버에서만 활성화한다. (application-api.yml)
+         */
+        private boolean admissionEnabled = false;
+
+        /**
+         * 입장 주기, 서버가 여러대여도 주기마다 하나의 서버만 입장시킨다.
+         */
+        private Duration admissionInterval = Duration.ofMillis(100);
+
+        /**
+         * 주기마다 쿠폰별로 입장시키는 인원, 발급 서버에 전달되는 요청은 초당 batchSize / admissionInterval 을 넘지 않는다.
+         */
+        private int batchSize = 100;
+
+        /**
+         * 입장 후 발급 결과를 기록하지 못한 사용자를 대기열로 되돌리기까지의 시간
+         */
+        private Duration processingTimeout = Duration.ofSeconds(30);
+
+        /**
+         * 입장 결과 보관 시간
+         */
+        private Duration resultTtl = Duration.ofHours(1);
+    }
+
+    @Getter
+    @Setter
+    public static class RateLimit {
+        /**
+         * api 서버에서만 활성화한다. (application-api.yml)
+         */
+        private boolean enabled = false;
+
+        /**
+         * 쿠폰 유형별 제한, 설정하지 않은 유형은 defaultLimit 을 사용한다.
+         */
+        private Map<CouponType, RateLimitRule> couponTypes = new HashMap<>();
+
+        private RateLimitRule defaultLimit = new RateLimitRule();
+
+        /**
+         * 서버별로 유지하는 로컬 버킷 최대 개수, 마지막 요청 후 localExpireAfterAccess 가 지나면 삭제된다.
+         */
+        private long localMaximumSize = 100_000;
+
+        private Duration localExpireAfterAccess = Duration.ofMinutes(1);
+
+        public RateLimitRule getRule(CouponType couponType) {
+            return couponType == null ? defaultLimit : couponTypes.getOrDefault(couponType, defaultLimit);
+        }
+    }
+
+    /**
+     * 버킷 크기(capacity)만큼 연속으로 요청할 수 있고, 이후에는 초당 refillPerSecond 만큼 요청할 수 있다.
+     */
+    @Getter
+    @Setter
+    public static class RateLimitRule {
+        /**
+         * 사용자별 (쿠폰 단위)
+         */
+        private int userCapacity = 3;
+        private double userRefillPerSecond = 1;
+
+        /**
+         * 쿠폰별 (전체 사용자)
+         */
+        private int couponCapacity = 2000;
+        private double couponRefillPerSecond = 1000;
+    }
+
+    @Getter
+    @Setter
+    public static class Lock {
+        private LockMode mode = LockMode.WAIT;
+
+        /**
+         * 락 획득 대기 시간 (wait, fair)
+         */
+        private Duration waitTime = Duration.ofSeconds(5);
+
+        /**
+         * 락 획득 후 소유 시간, 시간이 지나면 작업이 끝나지 않아도 해제된다.
+         */
+        private Duration leaseTime = Duration.ofSeconds(5);
+
+        /**
+         * true 이면 leaseTime 대신 작업이 끝날 때까지 소유 시간을 자동으로 연장한다. (redisson watchdog)
+         */
+        private boolean leaseRenewal = false;
+
+        /**
+         * 락 획득 시도 횟수 (spin)
+         */
+        private int spinAttempts = 5;
+
+        /**
+         * 락 획득 재시도 대기 시간, 0 ~ spinBackoff 사이에서 무작위로 정한다. (spin)
+         */
+        private Duration spinBackoff = Duration.ofMillis(10);
+    }
+
+    public enum LockMode {
+        /**
+         * waitTime 동안 대기 (non-fair)
+         */
+        WAIT,
+        /**
+         * waitTime 동안 요청 순서대로 대기
+         */
+        FAIR,
+        /**
+         * 대기하지 않고 spinAttempts 만큼 짧게 재시도
+         */
+        SPIN,
+        /**
+         * 대기하지 않고 한번만 시도, 획득하지 못하면 바로 거절한다. (요청 수 제어)
+         */
+        FAST_FAIL
+    }
+}
@@ -0,0 +1,51 @@
+package fc.coupon.core.configuration;
+
+import io.lettuce.core.metrics.MicrometerOptions;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * 쿠폰 발급 지표 설정
+ *
+ * 백분위는 서버에서 계산하지 않고 (percentiles) Prometheus 히스토그램 버킷으로만 내보내 기록 비용을 줄인다.
+ * 버킷 범위를 1ms ~ 10s 로 제한해 타이머당 버킷 수를 줄인다.
+ */
+@Configuration
+public class MetricsConfiguration {
+    private static final String COUPON_METRIC_PREFIX = "coupon.";
+
+    @Bean
+    public MeterFilter couponTimerHistogramFilter() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (id.getType() != Meter.Type.TIMER || !id.getName().startsWith(COUPON_METRIC_PREFIX)) {
+                    return config;
+                }
+                return DistributionStatisticConfig.builder()
+                        .percentilesHistogram(true)
+                        .minimumExpectedValue((double) Duration.ofMillis(1).toNanos())
+                        .maximumExpectedValue((double) Duration.ofSeconds(10).toNanos())
+                        .build()
+                        .merge(config);
+            }
+        };
+    }
+
+    /**
+     * 레디스 명령어별 지연 시간 (lettuce.command.completion, lettuce.command.firstresponse)
+     */
+    @Bean
+    public MicrometerOptions lettuceMicrometerOptions() {
+        return MicrometerOptions.builder()
+                .histogram(true)
+                .minLatency(Duration.ofMillis(1))
+                .maxLatency(Duration.ofSeconds(10))
+                .build();
+    }
+}
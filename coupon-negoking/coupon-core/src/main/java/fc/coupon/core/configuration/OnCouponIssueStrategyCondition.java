@@ -0,0 +1,27 @@
+package fc.coupon.core.configuration;
+
+import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
+import org.springframework.boot.autoconfigure.condition.SpringBootCondition;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+import java.util.Map;
+
+class OnCouponIssueStrategyCondition extends SpringBootCondition {
+    private static final String PROPERTY = "coupon.issue.strategy";
+
+    @Override
+    public ConditionOutcome getMatchOutcome(ConditionContext context, AnnotatedTypeMetadata metadata) {
+        final Map<String, Object> attributes = metadata.getAnnotationAttributes(ConditionalOnCouponIssueStrategy.class.getName());
+        final CouponIssueProperties.Strategy expected = (CouponIssueProperties.Strategy) attributes.get("value");
+        final CouponIssueProperties.Strategy actual = Binder.get(context.getEnvironment())
+                .bind(PROPERTY, CouponIssueProperties.Strategy.class)
+                .orElse(new CouponIssueProperties().getStrategy());
+
+        if (actual == expected) {
+            return ConditionOutcome.match("%s is %s".formatted(PROPERTY, actual));
+        }
+        return ConditionOutcome.noMatch("%s is %s, not %s".formatted(PROPERTY, actual, expected));
+    }
+}
@@ -1,17 +1,55 @@
 package fc.coupon.core.exception;
 
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 
-@Getter
-@RequiredArgsConstructor
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 쿠폰 발급 실패
+ *
+ * 매진, 중복 요청처럼 예상된 실패가 대부분이라 스택 트레이스는 쓰이지 않으므로 만들지 않는다. (요청마다 스택 탐색 비용 제거)
+ * 상세 메시지는 getMessage()를 호출할 때 만들고, 상세 메시지가 필요 없는 거절은 of(ErrorCode)로 미리 만들어둔 예외를 재사용한다.
+ */
 public class CouponIssueException extends RuntimeException {
+    private static final Object[] NO_ARGS = new Object[0];
+    private static final Map<ErrorCode, CouponIssueException> REJECTIONS = new EnumMap<>(ErrorCode.class);
+
+    static {
+        for (ErrorCode errorCode : ErrorCode.values()) {
+            REJECTIONS.put(errorCode, new CouponIssueException(errorCode, errorCode.message));
+        }
+    }
 
+    @Getter
     private final ErrorCode errorCode;
     private final String message;
+    private final Object[] args;
+
+    public CouponIssueException(ErrorCode errorCode, String message) {
+        this(errorCode, message, NO_ARGS);
+    }
+
+    /**
+     * @param format - 상세 메시지 형식, getMessage() 호출시 args로 만든다.
+     */
+    public CouponIssueException(ErrorCode errorCode, String format, Object... args) {
+        // suppression, 스택 트레이스를 사용하지 않으므로 공유해도 상태가 변하지 않는다.
+        super(null, null, false, false);
+        this.errorCode = errorCode;
+        this.message = format;
+        this.args = args;
+    }
+
+    /**
+     * @return 미리 만들어둔 예외, 매번 같은 인스턴스를 반환한다.
+     */
+    public static CouponIssueException of(ErrorCode errorCode) {
+        return REJECTIONS.get(errorCode);
+    }
 
     @Override
     public String getMessage() {
-        return"[%s] %s".formatted(errorCode, message);
+        return "[%s] %s".formatted(errorCode, args.length == 0 ? message : message.formatted(args));
     }
 }
@@ -5,7 +5,10 @@ public enum ErrorCode {
     INVALID_COUPON_ISSUE_DATE("발급 기간이 유효하지 않습니다."),
     COUPON_NOT_EXIST("존재하지 않는 쿠폰입니다."),
     DUPLICATED_COUPON_ISSUE("이미 발급된 쿠폰입니다."),
-    FAIL_COUPON_ISSUE_REQUEST("쿠폰 발급 요청에 실패했습니다.")
+    FAIL_COUPON_ISSUE_REQUEST("쿠폰 발급 요청에 실패했습니다."),
+    FAIL_LOCK_ACQUIRE("요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해주세요."),
+    TOO_MANY_REQUESTS("요청 횟수를 초과했습니다. 잠시 후 다시 시도해주세요."),
+    PAYLOAD_TOO_LARGE("요청 크기가 너무 큽니다.")
     ;
 
     public final String message;
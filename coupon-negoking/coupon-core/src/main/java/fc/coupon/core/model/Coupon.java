@@ -47,15 +47,18 @@ public class Coupon extends BaseTimeEntity {
     private LocalDateTime dateIssueEnd;
 
     public void issue() {
+        checkIssuableCoupon();
+        this.issuedQuantity++;
+    }
+
+    public void checkIssuableCoupon() {
         if (!availableIssueQuantity()) {
-            throw new CouponIssueException(ErrorCode.INVALID_COUPON_ISSUE_QUANTITY, "발급 가능한 수량을 초과합니다. total : %s, issued: %s".formatted(totalQuantity, issuedQuantity));
+            throw new CouponIssueException(ErrorCode.INVALID_COUPON_ISSUE_QUANTITY, "발급 가능한 수량을 초과합니다. total : %s, issued: %s", totalQuantity, issuedQuantity);
         }
 
         if (!availableIssueDate()) {
-            throw new CouponIssueException(ErrorCode.INVALID_COUPON_ISSUE_DATE, "발급 가능한 일자가 아닙니다. request: %s, issueStart: %s, issueEnd: %s".formatted(LocalDateTime.now(),dateIssueStart, dateIssueEnd));
+            throw new CouponIssueException(ErrorCode.INVALID_COUPON_ISSUE_DATE, "발급 가능한 일자가 아닙니다. request: %s, issueStart: %s, issueEnd: %s", LocalDateTime.now(),dateIssueStart, dateIssueEnd);
         }
-
-        this.issuedQuantity++;
     }
 
     private boolean availableIssueQuantity() {
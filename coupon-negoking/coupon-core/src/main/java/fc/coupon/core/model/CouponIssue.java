@@ -14,8 +14,11 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Getter
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = CouponIssue.UNIQUE_COUPON_USER, columnNames = {"couponId", "userId"}))
 public class CouponIssue extends BaseTimeEntity {
 
+    public static final String UNIQUE_COUPON_USER = "uk_coupon_issue_coupon_id_user_id";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
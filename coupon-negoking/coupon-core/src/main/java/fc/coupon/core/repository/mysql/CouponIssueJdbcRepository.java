@@ -0,0 +1,59 @@
+package fc.coupon.core.repository.mysql;
+
+import fc.coupon.core.repository.redis.dto.CouponIssueRequestDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * CouponIssue는 IDENTITY 전략이라 Hibernate의 batch insert가 동작하지 않는다.
+ * 대량 저장은 JdbcTemplate batch로 처리하고, rewriteBatchedStatements=true 옵션에 의해
+ * 하나의 multi-row insert 쿼리로 실행된다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CouponIssueJdbcRepository {
+    /**
+     * INSERT IGNORE는 중복 외의 오류(NOT NULL, 데이터 길이 등)도 경고로 바꾸고 무시하므로
+     * 유니크 키 중복만 무시하도록 아무것도 바꾸지 않는 UPDATE를 사용한다.
+     */
+    private static final String INSERT_IGNORE_DUPLICATED_SQL = """
+            INSERT INTO coupon_issue (coupon_id, user_id, date_issued, date_created, date_updated)
+            VALUES (?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE id = id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 이미 발급된 내역(coupon_id, user_id 중복)은 DB에서 무시된다.
+     *
+     * @return 새로 저장한 발급 내역 수, 중복으로 무시된 요청은 affected rows가 0이라 포함되지 않는다.
+     *         rewriteBatchedStatements로 합쳐진 요청은 드라이버가 건별 결과를 알 수 없어(SUCCESS_NO_INFO) 저장한 것으로 센다.
+     */
+    public int saveAllIgnoreDuplicated(List<CouponIssueRequestDto> requests) {
+        final Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        final int[][] results = jdbcTemplate.batchUpdate(INSERT_IGNORE_DUPLICATED_SQL, requests, requests.size(), (ps, request) -> {
+            ps.setLong(1, request.couponId());
+            ps.setLong(2, request.userId());
+            ps.setTimestamp(3, now);
+            ps.setTimestamp(4, now);
+            ps.setTimestamp(5, now);
+        });
+
+        int saved = 0;
+        for (int[] batch : results) {
+            for (int result : batch) {
+                if (result == 1 || result == Statement.SUCCESS_NO_INFO) {
+                    saved++;
+                }
+            }
+        }
+        return saved;
+    }
+}
@@ -2,6 +2,13 @@ package fc.coupon.core.repository.mysql;
 
 import fc.coupon.core.model.CouponIssue;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 
 public interface CouponIssueJpaRepository extends JpaRepository<CouponIssue, Long> {
+
+    @Query("SELECT ci.userId FROM CouponIssue ci WHERE ci.couponId = :couponId")
+    List<Long> findAllUserIdByCouponId(@Param("couponId") long couponId);
 }
@@ -0,0 +1,62 @@
+package fc.coupon.core.repository.mysql;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 여러 쿠폰의 발급 수량을 JdbcTemplate batch로 한번에 변경한다.
+ * 쿠폰마다 UPDATE를 따로 실행하지 않으므로 DB 왕복은 한번이다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CouponJdbcRepository {
+    private static final String UPDATE_ISSUED_QUANTITY_SQL = """
+            UPDATE coupon SET issued_quantity = ?, date_updated = ?
+            WHERE id = ? AND issued_quantity < ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 발급 수량이 줄어들지 않도록 현재 값보다 클 때만 변경한다.
+     * 조회 후 다른 서버가 먼저 변경했다면 조건에 맞지 않아 변경되지 않으므로 실제 변경 여부는 row 수로 판단한다.
+     *
+     * @param issuedQuantities 쿠폰 id 별 발급 수량
+     * @return 발급 수량을 변경한 쿠폰 id, 드라이버가 row 수를 알려주지 않으면(SUCCESS_NO_INFO) 변경한 것으로 본다.
+     */
+    public Set<Long> updateIssuedQuantities(Map<Long, Integer> issuedQuantities) {
+        if (issuedQuantities.isEmpty()) {
+            return Set.of();
+        }
+        final Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        final List<Map.Entry<Long, Integer>> entries = new ArrayList<>(issuedQuantities.entrySet());
+        final int[][] results = jdbcTemplate.batchUpdate(UPDATE_ISSUED_QUANTITY_SQL, entries, entries.size(), (ps, entry) -> {
+            ps.setInt(1, entry.getValue());
+            ps.setTimestamp(2, now);
+            ps.setLong(3, entry.getKey());
+            ps.setInt(4, entry.getValue());
+        });
+
+        final Set<Long> updated = new HashSet<>();
+        int index = 0;
+        for (int[] batch : results) {
+            for (int rows : batch) {
+                if (rows > 0 || rows == Statement.SUCCESS_NO_INFO) {
+                    updated.add(entries.get(index).getKey());
+                }
+                index++;
+            }
+        }
+        return updated;
+    }
+}
@@ -4,9 +4,12 @@ import fc.coupon.core.model.Coupon;
 import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface CouponJpaRepository extends JpaRepository<Coupon, Long> {
@@ -14,4 +17,35 @@ public interface CouponJpaRepository extends JpaRepository<Coupon, Long> {
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT c FROM Coupon c WHERE c.id = :id")
     Optional<Coupon> findByIdWithLock(@Param("id") long id);
+
+    /**
+     * 발급 수량이 줄어들지 않도록 현재 값보다 클 때만 변경한다.
+     */
+    @Modifying
+    @Query("UPDATE Coupon c SET c.issuedQuantity = :issuedQuantity WHERE c.id = :id AND c.issuedQuantity < :issuedQuantity")
+    int updateIssuedQuantity(@Param("id") long id, @Param("issuedQuantity") int issuedQuantity);
+
+    /**
+     * 발급 가능한 경우에만 발급 수량을 1 증가시킨다. (조회 후 변경하지 않고 하나의 조건부 UPDATE로 검증과 증가를 원자적으로 처리)
+     * 영속성 컨텍스트를 거치지 않으므로 실행 전에 flush, 실행 후에 clear 한다.
+     *
+     * @return 증가했다면 1, 쿠폰이 없거나 발급 가능하지 않다면 0
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Coupon c SET c.issuedQuantity = c.issuedQuantity + 1 " +
+            "WHERE c.id = :id AND (c.totalQuantity IS NULL OR c.issuedQuantity < c.totalQuantity) " +
+            "AND c.dateIssueStart < :now AND c.dateIssueEnd > :now")
+    int increaseIssuedQuantity(@Param("id") long id, @Param("now") LocalDateTime now);
+
+    /**
+     * 발급 수량이 정해져 있고 startBefore 전에 발급이 시작되어 아직 종료되지 않은 쿠폰
+     */
+    @Query("SELECT c FROM Coupon c WHERE c.totalQuantity IS NOT NULL AND c.dateIssueStart < :startBefore AND c.dateIssueEnd > :endAfter")
+    List<Coupon> findAllIssuableWithQuantity(@Param("startBefore") LocalDateTime startBefore, @Param("endAfter") LocalDateTime endAfter);
+
+    /**
+     * startBefore 전에 발급이 시작되어 endAfter 이후에 종료되는 쿠폰 (발급 수량 제한이 없는 쿠폰 포함)
+     */
+    @Query("SELECT c FROM Coupon c WHERE c.dateIssueStart < :startBefore AND c.dateIssueEnd > :endAfter")
+    List<Coupon> findAllIssuing(@Param("startBefore") LocalDateTime startBefore, @Param("endAfter") LocalDateTime endAfter);
 }
@@ -0,0 +1,48 @@
+package fc.coupon.core.repository.redis;
+
+import fc.coupon.core.repository.redis.dto.CouponIssueQueueMessage;
+
+import java.util.List;
+
+/**
+ * 쿠폰 발급 요청 Queue
+ * coupon.issue.queue.type 설정으로 구현체(List, Stream)를 선택한다.
+ */
+public interface CouponIssueQueue {
+
+    CouponIssueQueueType type();
+
+    String key();
+
+    void enqueue(byte[] value);
+
+    /**
+     * 새로운 요청을 최대 count 개 가져온다.
+     */
+    List<CouponIssueQueueMessage> poll(int count);
+
+    /**
+     * 처리가 끝난 요청을 Queue에서 제거한다.
+     */
+    void ack(List<CouponIssueQueueMessage> messages);
+
+    /**
+     * 처리에 실패한 요청을 다시 처리할 수 있도록 되돌린다.
+     */
+    void retry(List<CouponIssueQueueMessage> messages);
+
+    /**
+     * 다시 시도해도 처리할 수 없는 요청을 dead letter로 옮기고 Queue에서 제거한다.
+     */
+    void deadLetter(List<CouponIssueQueueMessage> messages);
+
+    /**
+     * 다른 consumer가 가져간 뒤 처리하지 못하고 오래 방치된 요청을 가져온다.
+     */
+    List<CouponIssueQueueMessage> reclaim(int count);
+
+    /**
+     * 처리되지 않은 요청 수
+     */
+    long size();
+}
@@ -0,0 +1,12 @@
+package fc.coupon.core.repository.redis;
+
+public enum CouponIssueQueueType {
+    /**
+     * Redis List, 가져간 요청은 Queue에서 바로 사라진다.
+     */
+    LIST,
+    /**
+     * Redis Stream + consumer group, 처리 완료(ack) 전까지 pending 상태로 남는다.
+     */
+    STREAM
+}
@@ -0,0 +1,39 @@
+package fc.coupon.core.repository.redis;
+
+import fc.coupon.core.exception.CouponIssueException;
+import fc.coupon.core.exception.ErrorCode;
+
+/**
+ * 쿠폰 발급 요청 스크립트의 결과 코드
+ */
+public enum CouponIssueRequestCode {
+    SUCCESS(1),
+    DUPLICATED_COUPON_ISSUE(2),
+    INVALID_COUPON_ISSUE_QUANTITY(3);
+
+    public final int code;
+
+    CouponIssueRequestCode(int code) {
+        this.code = code;
+    }
+
+    public static CouponIssueRequestCode find(String code) {
+        final int codeValue = Integer.parseInt(code);
+        for (CouponIssueRequestCode requestCode : values()) {
+            if (requestCode.code == codeValue) {
+                return requestCode;
+            }
+        }
+        throw new IllegalArgumentException("존재하지 않는 코드입니다. %s".formatted(code));
+    }
+
+    public static void checkRequestResult(CouponIssueRequestCode code) {
+        if (code == INVALID_COUPON_ISSUE_QUANTITY) {
+            throw CouponIssueException.of(ErrorCode.INVALID_COUPON_ISSUE_QUANTITY);
+        }
+
+        if (code == DUPLICATED_COUPON_ISSUE) {
+            throw CouponIssueException.of(ErrorCode.DUPLICATED_COUPON_ISSUE);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package fc.coupon.core.repository.redis;
+
+import fc.coupon.core.configuration.CouponIssueProperties;
+import fc.coupon.core.repository.redis.dto.CouponIssueQueueMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.ListOperations;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static fc.coupon.core.util.CouponRedisUtils.getIssueRequestDeadLetterQueue;
+import static fc.coupon.core.util.CouponRedisUtils.getIssueRequestProcessingQueue;
+import static fc.coupon.core.util.CouponRedisUtils.getIssueRequestQueue;
+import static fc.coupon.core.util.CouponRedisUtils.getIssueRequestQueueConsumers;
+
+/**
+ * Redis List 기반 발급 Queue
+ *
+ * - 가져간 요청은 LMOVE로 consumer별 처리중 List에 옮기고 ack 할 때 제거한다. (at-least-once)
+ * - consumer는 조회할 때마다 마지막 조회 시간을 기록하고, minIdle 동안 조회하지 않은 consumer는 종료된 것으로 보고
+ *   다른 consumer가 처리중 List의 요청을 가져가서 처리한다.
+ * - consumer 이름은 프로세스마다 달라야 한다. 재시작한 컨테이너는 pid@host 가 같은 경우가 많은데
+ *   reclaim 은 자신의 처리중 List를 건너뛰므로 종료 전에 처리중이던 요청을 다시 가져오지 못한다.
+ *   그래서 pid@host 뒤에 프로세스별 임의의 값을 붙인다.
+ */
+@Slf4j
+@Repository
+@ConditionalOnProperty(prefix = "coupon.issue.queue", name = "type", havingValue = "list", matchIfMissing = true)
+public class ListCouponIssueQueue implements CouponIssueQueue {
+    @SuppressWarnings("rawtypes")
+    private final RedisScript<List> moveScript = RedisScript.of(new ClassPathResource("lua/move_list_queue.lua"), List.class);
+
+    private final RedisTemplate<String, byte[]> redisTemplate;
+    private final ListOperations<String, byte[]> listOperations;
+    private final Duration minIdle;
+    private final String consumerName = ManagementFactory.getRuntimeMXBean().getName() + ":" + UUID.randomUUID().toString().substring(0, 8);
+
+    public ListCouponIssueQueue(RedisTemplate<String, byte[]> couponIssueQueueRedisTemplate, CouponIssueProperties couponIssueProperties) {
+        this.redisTemplate = couponIssueQueueRedisTemplate;
+        this.listOperations = couponIssueQueueRedisTemplate.opsForList();
+        this.minIdle = couponIssueProperties.getQueue().getReclaimMinIdle();
+    }
+
+    @Override
+    public CouponIssueQueueType type() {
+        return CouponIssueQueueType.LIST;
+    }
+
+    @Override
+    public String key() {
+        return getIssueRequestQueue();
+    }
+
+    @Override
+    public void enqueue(byte[] value) {
+        listOperations.rightPush(key(), value);
+    }
+
+    @Override
+    public List<CouponIssueQueueMessage> poll(int count) {
+        redisTemplate.opsForZSet().add(getIssueRequestQueueConsumers(), toBytes(consumerName), System.currentTimeMillis());
+        return move(key(), count);
+    }
+
+    @Override
+    public void ack(List<CouponIssueQueueMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        removeFromProcessing(messages, connection -> {
+            // 처리가 끝난 요청은 처리중 List에서 제거하기만 한다.
+        });
+    }
+
+    @Override
+    public void retry(List<CouponIssueQueueMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        // Queue 앞에 하나씩 적재되므로 역순으로 넣어야 기존 순서가 유지된다.
+        final List<byte[]> values = new ArrayList<>(messages.stream().map(CouponIssueQueueMessage::value).toList());
+        Collections.reverse(values);
+        final byte[] rawKey = toBytes(key());
+        removeFromProcessing(messages, connection -> connection.listCommands().lPush(rawKey, values.toArray(byte[][]::new)));
+    }
+
+    @Override
+    public void deadLetter(List<CouponIssueQueueMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        final byte[] rawDeadLetterKey = toBytes(getIssueRequestDeadLetterQueue());
+        final byte[][] values = messages.stream().map(CouponIssueQueueMessage::value).toArray(byte[][]::new);
+        removeFromProcessing(messages, connection -> connection.listCommands().rPush(rawDeadLetterKey, values));
+        log.error("처리할 수 없는 발급 요청을 dead letter Queue로 옮깁니다. size : {}", messages.size());
+    }
+
+    /**
+     * minIdle 동안 Queue를 조회하지 않은 consumer의 처리중인 요청을 이 consumer의 처리중 List로 옮겨서 가져온다.
+     */
+    @Override
+    public List<CouponIssueQueueMessage> reclaim(int count) {
+        final Set<byte[]> idleConsumers = redisTemplate.opsForZSet()
+                .rangeByScore(getIssueRequestQueueConsumers(), 0, System.currentTimeMillis() - minIdle.toMillis());
+        if (idleConsumers == null || idleConsumers.isEmpty()) {
+            return List.of();
+        }
+
+        final List<CouponIssueQueueMessage> messages = new ArrayList<>();
+        for (byte[] rawConsumer : idleConsumers) {
+            final String consumer = new String(rawConsumer, StandardCharsets.UTF_8);
+            if (consumer.equals(consumerName) || messages.size() >= count) {
+                continue;
+            }
+            final int remaining = count - messages.size();
+            final List<CouponIssueQueueMessage> reclaimed = move(getIssueRequestProcessingQueue(consumer), remaining);
+            messages.addAll(reclaimed);
+            if (reclaimed.size() < remaining) {
+                // 처리중인 요청을 모두 가져왔으므로 더 이상 확인하지 않는다.
+                redisTemplate.opsForZSet().remove(getIssueRequestQueueConsumers(), rawConsumer);
+            }
+        }
+        if (!messages.isEmpty()) {
+            log.info("종료된 consumer가 처리하지 못한 발급 요청을 가져옵니다. size : {}", messages.size());
+        }
+        return messages;
+    }
+
+    @Override
+    public long size() {
+        final Long size = listOperations.size(key());
+        return size == null ? 0 : size;
+    }
+
+    private List<CouponIssueQueueMessage> move(String source, int count) {
+        final List<?> values = redisTemplate.execute(moveScript, List.of(source, processingKey()), toBytes(String.valueOf(count)));
+        if (values == null) {
+            return List.of();
+        }
+        return values.stream()
+                .map(value -> new CouponIssueQueueMessage(null, (byte[]) value))
+                .toList();
+    }
+
+    /**
+     * command 와 처리중 List에서 요청을 제거하는 명령을 한번의 왕복으로 전송한다.
+     * 제거하기 전에 종료되면 다시 처리될 수 있지만 중복 발급 내역은 무시되므로 안전하다.
+     */
+    private void removeFromProcessing(List<CouponIssueQueueMessage> messages, Consumer<RedisConnection> command) {
+        final byte[] rawProcessingKey = toBytes(processingKey());
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            command.accept(connection);
+            for (CouponIssueQueueMessage message : messages) {
+                connection.listCommands().lRem(rawProcessingKey, 1, message.value());
+            }
+            return null;
+        });
+    }
+
+    private String processingKey() {
+        return getIssueRequestProcessingQueue(consumerName);
+    }
+
+    private static byte[] toBytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
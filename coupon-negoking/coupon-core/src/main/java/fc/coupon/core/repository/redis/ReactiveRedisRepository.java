@@ -0,0 +1,50 @@
+package fc.coupon.core.repository.redis;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisElementReader;
+import org.springframework.data.redis.serializer.RedisElementWriter;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Lettuce reactive 커넥션 기반 레디스 저장소
+ * 응답을 기다리는 동안 스레드를 점유하지 않는다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactiveRedisRepository {
+    private final ReactiveStringRedisTemplate reactiveRedisTemplate;
+
+    private final RedisScript<String> issueRequestScript = RedisScript.of(new ClassPathResource("lua/issue_request.lua"), String.class);
+
+    public Mono<Long> publish(String channel, String message) {
+        return reactiveRedisTemplate.convertAndSend(channel, message);
+    }
+
+    /**
+     * @see RedisRepository#issueRequest(String, CouponIssueQueue, long, byte[], Integer)
+     */
+    public Mono<CouponIssueRequestCode> issueRequest(String setKey, CouponIssueQueue queue, long userId, byte[] request, Integer totalIssueQuantity) {
+        final String limit = String.valueOf(totalIssueQuantity == null ? -1 : totalIssueQuantity);
+        return reactiveRedisTemplate.execute(
+                        issueRequestScript,
+                        List.of(setKey, queue.key()),
+                        List.of(toBytes(String.valueOf(userId)), request, toBytes(limit), toBytes(queue.type().name())),
+                        RedisElementWriter.from(RedisSerializer.byteArray()),
+                        RedisElementReader.from(RedisSerializer.string())
+                )
+                .next()
+                .map(CouponIssueRequestCode::find);
+    }
+
+    private static byte[] toBytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -1,27 +1,125 @@
 package fc.coupon.core.repository.redis;
 
+import fc.coupon.core.repository.redis.dto.BloomFilterBits;
+import fc.coupon.core.repository.redis.dto.CouponIssueBatchRequest;
+import fc.coupon.core.repository.redis.dto.CouponIssueRequestSetStatus;
+import fc.coupon.core.repository.redis.dto.WaitingRoomStatus;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Repository;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 @Repository
 @RequiredArgsConstructor
 public class RedisRepository {
     private final RedisTemplate<String, String> redisTemplate;
 
-    @Deprecated
+    private final RedisScript<String> issueRequestScript = issueRequestScript();
+    @SuppressWarnings("rawtypes")
+    private final RedisScript<List> issueRequestBatchScript = RedisScript.of(new ClassPathResource("lua/issue_request_batch.lua"), List.class);
+    private final RedisScript<String> sAddAndEnqueueScript = RedisScript.of(new ClassPathResource("lua/sadd_enqueue.lua"), String.class);
+    private final RedisScript<String> issueRequestTokenScript = RedisScript.of(new ClassPathResource("lua/issue_request_token.lua"), String.class);
+    private final RedisScript<Long> fillTokenPoolScript = RedisScript.of(new ClassPathResource("lua/fill_token_pool.lua"), Long.class);
+    private final RedisScript<String> issueRequestBucketScript = RedisScript.of(new ClassPathResource("lua/issue_request_bucket.lua"), String.class);
+    private final RedisScript<Long> withdrawBucketQuotaScript = RedisScript.of(new ClassPathResource("lua/withdraw_bucket_quota.lua"), Long.class);
+    private final RedisScript<Long> depositBucketQuotaScript = RedisScript.of(new ClassPathResource("lua/deposit_bucket_quota.lua"), Long.class);
+    @SuppressWarnings("rawtypes")
+    private final RedisScript<List> admitWaitingRoomScript = RedisScript.of(new ClassPathResource("lua/admit_waiting_room.lua"), List.class);
+    private final RedisScript<Long> completeWaitingRoomScript = RedisScript.of(new ClassPathResource("lua/complete_waiting_room.lua"), Long.class);
+    private final RedisScript<Long> rateLimitScript = RedisScript.of(new ClassPathResource("lua/rate_limit.lua"), Long.class);
+
+    /**
+     * 이미 존재하는 원소의 score는 변경하지 않는다. (ZADD NX)
+     */
     public Boolean zAdd(String key, String value, double score) {
         return redisTemplate.opsForZSet().addIfAbsent(key, value, score);
     }
 
+    /**
+     * SADD, ZADD NX, ZRANK 를 파이프라인으로 한번의 왕복에 처리한다.
+     * 대기열 등록마다 쿠폰 목록에도 등록하므로 쿠폰 목록이 유실되어도 다음 등록에서 복구된다.
+     *
+     * @return 0부터 시작하는 순위, 이미 존재했다면 처음 추가했을 때의 score 기준 순위
+     */
+    public Long sAddAndZAddAndRank(String setKey, String member, String zSetKey, String value, double score) {
+        final byte[] rawKey = toBytes(zSetKey);
+        final byte[] rawValue = toBytes(value);
+        final List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.setCommands().sAdd(toBytes(setKey), toBytes(member));
+            connection.zSetCommands().zAdd(rawKey, score, rawValue, RedisZSetCommands.ZAddArgs.ifNotExists());
+            connection.zSetCommands().zRank(rawKey, rawValue);
+            return null;
+        });
+        return (Long) results.get(2);
+    }
+
+    /**
+     * ZRANK, HGET 을 파이프라인으로 한번의 왕복에 조회한다.
+     */
+    public WaitingRoomStatus zRankAndHGet(String zSetKey, String hashKey, String value) {
+        final byte[] rawValue = toBytes(value);
+        final List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.zSetCommands().zRank(toBytes(zSetKey), rawValue);
+            connection.hashCommands().hGet(toBytes(hashKey), rawValue);
+            return null;
+        });
+        final Long rank = (Long) results.get(0);
+        return new WaitingRoomStatus(rank == null ? null : rank + 1, (String) results.get(1));
+    }
+
+    public Map<String, String> hGetAll(String key) {
+        return redisTemplate.<String, String>opsForHash().entries(key);
+    }
+
+    public Long hDel(String key, String field) {
+        return redisTemplate.opsForHash().delete(key, field);
+    }
+
     public Long sAdd(String key, String value) {
         return redisTemplate.opsForSet().add(key, value);
     }
 
+    public Long sRem(String key, String value) {
+        return redisTemplate.opsForSet().remove(key, value);
+    }
+
     public Long sCard(String key) {
         return redisTemplate.opsForSet().size(key);
     }
 
+    /**
+     * 여러 Set의 SCARD 를 파이프라인으로 한번의 왕복에 조회한다.
+     *
+     * @return keys 와 같은 순서의 원소 수, 키가 없으면 0
+     */
+    public List<Long> sCard(List<String> keys) {
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+        final List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String key : keys) {
+                connection.setCommands().sCard(toBytes(key));
+            }
+            return null;
+        });
+        return results.stream().map(result -> (Long) result).toList();
+    }
+
+    public Set<String> sMembers(String key) {
+        return redisTemplate.opsForSet().members(key);
+    }
+
     public Boolean sIsMember(String key, String value) {
         return redisTemplate.opsForSet().isMember(key, value);
     }
@@ -29,4 +127,270 @@ public class RedisRepository {
     public Long rPush(String key, String value) {
         return redisTemplate.opsForList().rightPush(key, value);
     }
+
+    public Long lPush(String key, String value) {
+        return redisTemplate.opsForList().leftPush(key, value);
+    }
+
+    public String lPop(String key) {
+        return redisTemplate.opsForList().leftPop(key);
+    }
+
+    public List<String> lPop(String key, long count) {
+        return redisTemplate.opsForList().leftPop(key, count);
+    }
+
+    public Long lPushAll(String key, List<String> values) {
+        return redisTemplate.opsForList().leftPushAll(key, values);
+    }
+
+    public Long lSize(String key) {
+        return redisTemplate.opsForList().size(key);
+    }
+
+    public Boolean setIfAbsent(String key, String value) {
+        return redisTemplate.opsForValue().setIfAbsent(key, value);
+    }
+
+    public Boolean setIfAbsent(String key, String value, Duration ttl) {
+        return redisTemplate.opsForValue().setIfAbsent(key, value, ttl);
+    }
+
+    public Long incrBy(String key, long delta) {
+        return redisTemplate.opsForValue().increment(key, delta);
+    }
+
+    public void publish(String channel, String message) {
+        redisTemplate.convertAndSend(channel, message);
+    }
+
+    /**
+     * SCARD, SISMEMBER 를 파이프라인으로 한번의 왕복에 조회한다.
+     * 두 명령 사이에 다른 요청이 끼어들 수 있으므로 원자성이 필요하면 lock 안에서 사용한다.
+     */
+    public CouponIssueRequestSetStatus sCardAndIsMember(String key, String value) {
+        final byte[] rawKey = toBytes(key);
+        final List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.setCommands().sCard(rawKey);
+            connection.setCommands().sIsMember(rawKey, toBytes(value));
+            return null;
+        });
+        return new CouponIssueRequestSetStatus((Long) results.get(0), (Boolean) results.get(1));
+    }
+
+    /**
+     * SADD 와 발급 Queue 적재를 스크립트 한번으로 처리하고, Set에 새로 추가되었을 때만 적재한다.
+     * 수량 검증은 원자적으로 처리되지 않으므로 lock 안에서 미리 완료되어야 한다.
+     *
+     * @return Set에 새로 추가되었다면 true
+     */
+    public boolean sAddAndEnqueue(String setKey, String value, CouponIssueQueue queue, byte[] request) {
+        return sAddAndEnqueue(setKey, value, queue, request, BloomFilterBits.empty());
+    }
+
+    /**
+     * Bloom filter 비트맵의 비트 설정(SETBIT)과 보관 시간 갱신까지 같은 스크립트에서 처리한다.
+     */
+    public boolean sAddAndEnqueue(String setKey, String value, CouponIssueQueue queue, byte[] request, BloomFilterBits bloomFilterBits) {
+        final List<String> keys = bloomFilterBits.isEmpty()
+                ? List.of(setKey, queue.key())
+                : List.of(setKey, queue.key(), bloomFilterBits.key());
+        final long[] offsets = bloomFilterBits.offsets();
+        final Object[] args = new Object[4 + offsets.length];
+        args[0] = toBytes(value);
+        args[1] = request;
+        args[2] = toBytes(queue.type().name());
+        args[3] = toBytes(String.valueOf(bloomFilterBits.ttl().toSeconds()));
+        for (int i = 0; i < offsets.length; i++) {
+            args[4 + i] = toBytes(String.valueOf(offsets[i]));
+        }
+        final String result = redisTemplate.execute(sAddAndEnqueueScript, RedisSerializer.byteArray(), RedisSerializer.string(), keys, args);
+        return "1".equals(result);
+    }
+
+    /**
+     * 비트맵을 바이트 그대로 조회한다.
+     *
+     * @return 키가 존재하지 않으면 빈 배열
+     */
+    public byte[] getBitmap(String key) {
+        final byte[] bitmap = redisTemplate.execute((RedisCallback<byte[]>) connection -> connection.stringCommands().get(toBytes(key)));
+        return bitmap == null ? new byte[0] : bitmap;
+    }
+
+    /**
+     * 수량 검증, 중복 발급 검증, 발급 요청 추가, 발급 Queue 적재를 하나의 스크립트로 원자적으로 처리한다.
+     * lock 없이 한번의 네트워크 왕복으로 처리된다.
+     *
+     * 발급 요청은 인코딩된 바이트 그대로 전달해야 하므로 인자를 모두 바이트로 변환해서 전달한다.
+     *
+     * @param request            - CouponIssueRequestSerializer로 인코딩된 발급 요청
+     * @param totalIssueQuantity - null 이면 수량 제한 없음
+     */
+    public CouponIssueRequestCode issueRequest(String setKey, CouponIssueQueue queue, long userId, byte[] request, Integer totalIssueQuantity) {
+        final String limit = String.valueOf(totalIssueQuantity == null ? -1 : totalIssueQuantity);
+        final String code = redisTemplate.execute(
+                issueRequestScript,
+                RedisSerializer.byteArray(),
+                RedisSerializer.string(),
+                List.of(setKey, queue.key()),
+                toBytes(String.valueOf(userId)), request, toBytes(limit), toBytes(queue.type().name())
+        );
+        return CouponIssueRequestCode.find(code);
+    }
+
+    /**
+     * 같은 쿠폰에 대한 여러 발급 요청을 하나의 스크립트로 처리한다.
+     * 요청 순서대로 issueRequest 와 같은 검증을 수행하므로 결과도 하나씩 호출한 것과 같다.
+     *
+     * @return 요청 순서와 같은 순서의 요청별 결과
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public List<CouponIssueRequestCode> issueRequests(String setKey, CouponIssueQueue queue, List<CouponIssueBatchRequest> requests, Integer totalIssueQuantity) {
+        final Object[] args = new Object[2 + requests.size() * 2];
+        args[0] = toBytes(String.valueOf(totalIssueQuantity == null ? -1 : totalIssueQuantity));
+        args[1] = toBytes(queue.type().name());
+        for (int i = 0; i < requests.size(); i++) {
+            args[2 + i * 2] = toBytes(String.valueOf(requests.get(i).userId()));
+            args[3 + i * 2] = requests.get(i).request();
+        }
+
+        final List<String> codes = redisTemplate.execute(
+                issueRequestBatchScript,
+                RedisSerializer.byteArray(),
+                (RedisSerializer) RedisSerializer.string(),
+                List.of(setKey, queue.key()),
+                args
+        );
+        final List<CouponIssueRequestCode> results = new ArrayList<>(codes.size());
+        for (String code : codes) {
+            results.add(CouponIssueRequestCode.find(code));
+        }
+        return results;
+    }
+
+    /**
+     * 발급 토큰을 하나 꺼내서 발급 요청을 처리한다.
+     * 토큰 수만큼만 발급되므로 수량 검증 없이도 초과 발급되지 않는다.
+     */
+    public CouponIssueRequestCode issueRequestWithToken(String setKey, String tokenKey, CouponIssueQueue queue, long userId, byte[] request) {
+        final String code = redisTemplate.execute(
+                issueRequestTokenScript,
+                RedisSerializer.byteArray(),
+                RedisSerializer.string(),
+                List.of(setKey, tokenKey, queue.key()),
+                toBytes(String.valueOf(userId)), request, toBytes(queue.type().name())
+        );
+        return CouponIssueRequestCode.find(code);
+    }
+
+    /**
+     * 발급 가능 수량 중 부족한 발급 토큰을 최대 batchSize 개까지 생성한다.
+     * 여러 서버에서 동시에 호출해도 발급 수량을 초과해서 생성하지 않는다.
+     *
+     * @return 생성한 토큰 수, batchSize 보다 작다면 모두 채워진 것이다.
+     */
+    public long fillTokenPool(String tokenKey, String setKey, int totalQuantity, int batchSize) {
+        final Long count = redisTemplate.execute(fillTokenPoolScript, List.of(tokenKey, setKey),
+                String.valueOf(totalQuantity), String.valueOf(batchSize));
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * 버킷 단위로 중복 발급 검증, 수량 검증, 발급 요청 추가를 원자적으로 처리한다.
+     *
+     * @param initialQuota 버킷에 할당된 수량이 없을 때 할당할 수량
+     */
+    public CouponIssueRequestCode issueRequestToBucket(String setKey, String quotaKey, long userId, long initialQuota) {
+        final String code = redisTemplate.execute(issueRequestBucketScript, List.of(setKey, quotaKey), String.valueOf(userId), String.valueOf(initialQuota));
+        return CouponIssueRequestCode.find(code);
+    }
+
+    /**
+     * 버킷에서 남은 수량의 절반을 떼어내고 transferKey 에 이체 기록을 남긴다.
+     *
+     * @return 버킷에서 떼어낸 수량, 남은 수량이 없으면 0
+     */
+    public long withdrawBucketQuota(String setKey, String quotaKey, String transferKey, long initialQuota, String transferId, int targetBucket) {
+        final Long amount = redisTemplate.execute(withdrawBucketQuotaScript, List.of(setKey, quotaKey, transferKey),
+                String.valueOf(initialQuota), transferId, String.valueOf(targetBucket));
+        return amount == null ? 0 : amount;
+    }
+
+    /**
+     * 이체 id 별로 한번만 버킷에 수량을 더한다.
+     *
+     * @return 더했다면 true, 이미 더한 이체라면 false
+     */
+    public boolean depositBucketQuota(String quotaKey, String receivedKey, long initialQuota, String transferId, long amount) {
+        final Long result = redisTemplate.execute(depositBucketQuotaScript, List.of(quotaKey, receivedKey),
+                String.valueOf(initialQuota), transferId, String.valueOf(amount));
+        return Long.valueOf(1).equals(result);
+    }
+
+    /**
+     * 대기 순서대로 최대 count 명을 대기열에서 꺼내고 입장 결과에 processing 으로 기록한다.
+     * 입장 후 processingTimeout 이 지나도록 결과가 기록되지 않은 사용자는 대기열 맨 앞으로 되돌려 함께 꺼낸다.
+     *
+     * @return 꺼낸 사용자, 대기 순서대로 정렬되어 있다.
+     */
+    @SuppressWarnings("unchecked")
+    public List<String> admitWaitingRoom(String queueKey, String resultKey, String processingKey, int count,
+                                         Duration resultTtl, Duration processingTimeout, String processing) {
+        final List<String> users = redisTemplate.execute(admitWaitingRoomScript, List.of(queueKey, resultKey, processingKey),
+                String.valueOf(count), String.valueOf(resultTtl.toSeconds()), processing, String.valueOf(processingTimeout.toMillis()));
+        return users == null ? List.of() : users;
+    }
+
+    /**
+     * 입장시킨 사용자의 발급 결과를 기록한다. 대기열로 되돌려진 사용자의 결과는 기록하지 않는다.
+     *
+     * @return 기록한 결과 수
+     */
+    public long completeWaitingRoom(String resultKey, String processingKey, Map<String, String> results, Duration resultTtl) {
+        if (results.isEmpty()) {
+            return 0;
+        }
+        final Object[] args = new Object[results.size() * 2 + 1];
+        args[0] = String.valueOf(resultTtl.toSeconds());
+        int i = 1;
+        for (Map.Entry<String, String> entry : results.entrySet()) {
+            args[i++] = entry.getKey();
+            args[i++] = entry.getValue();
+        }
+        final Long recorded = redisTemplate.execute(completeWaitingRoomScript, List.of(resultKey, processingKey), args);
+        return recorded == null ? 0 : recorded;
+    }
+
+    /**
+     * 사용자 토큰 버킷과 쿠폰 토큰 버킷을 원자적으로 검사하고 소비한다.
+     *
+     * @return 0 : 허용, 1 : 사용자 제한, 2 : 쿠폰 제한
+     */
+    public long acquireRateLimit(String userBucketKey, String couponBucketKey, int userCapacity, double userRefillPerSecond,
+                                 int couponCapacity, double couponRefillPerSecond) {
+        final Long result = redisTemplate.execute(rateLimitScript, List.of(userBucketKey, couponBucketKey),
+                String.valueOf(userCapacity), String.valueOf(userRefillPerSecond),
+                String.valueOf(couponCapacity), String.valueOf(couponRefillPerSecond));
+        return result == null ? 0 : result;
+    }
+
+    /**
+     * 사용자 토큰 버킷만 검사하고 소비한다.
+     *
+     * @return 0 : 허용, 1 : 사용자 제한
+     */
+    public long acquireUserRateLimit(String userBucketKey, int userCapacity, double userRefillPerSecond) {
+        final Long result = redisTemplate.execute(rateLimitScript, List.of(userBucketKey),
+                String.valueOf(userCapacity), String.valueOf(userRefillPerSecond));
+        return result == null ? 0 : result;
+    }
+
+    private static byte[] toBytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static RedisScript<String> issueRequestScript() {
+        return RedisScript.of(new ClassPathResource("lua/issue_request.lua"), String.class);
+    }
 }
@@ -0,0 +1,245 @@
+package fc.coupon.core.repository.redis;
+
+import fc.coupon.core.configuration.CouponIssueProperties;
+import fc.coupon.core.repository.redis.dto.CouponIssueQueueMessage;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.stereotype.Repository;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static fc.coupon.core.util.CouponRedisUtils.getIssueRequestDeadLetterStream;
+import static fc.coupon.core.util.CouponRedisUtils.getIssueRequestStream;
+
+/**
+ * Redis Stream + consumer group 기반 발급 Queue
+ *
+ * - 여러 consumer 서버가 같은 group으로 요청을 나누어 처리한다.
+ * - 가져간 요청은 ack 전까지 pending 상태로 남고, 처리 중에 consumer가 종료되면
+ *   minIdle 이후 다른 consumer가 가져가서 처리한다. (at-least-once)
+ * - 처리가 끝난 요청은 ack 후 Stream에서 삭제해 Stream 길이를 처리되지 않은 요청 수로 유지한다.
+ * - maxDeliveryCount 만큼 전달해도 ack 되지 않은 요청은 dead letter Stream으로 옮겨 무한히 재처리되지 않도록 한다.
+ */
+@Slf4j
+@Repository
+@ConditionalOnProperty(prefix = "coupon.issue.queue", name = "type", havingValue = "stream")
+public class StreamCouponIssueQueue implements CouponIssueQueue {
+    private static final String PAYLOAD = "payload";
+    private static final byte[] RAW_PAYLOAD = PAYLOAD.getBytes(StandardCharsets.UTF_8);
+    private static final byte[] RAW_ORIGINAL_ID = "originalId".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] RAW_DELIVERY_COUNT = "deliveryCount".getBytes(StandardCharsets.UTF_8);
+
+    private final RedisTemplate<String, byte[]> redisTemplate;
+    private final StreamOperations<String, String, byte[]> streamOperations;
+    private final String group;
+    private final Duration minIdle;
+    private final int maxDeliveryCount;
+    private final String consumerName = ManagementFactory.getRuntimeMXBean().getName();
+
+    public StreamCouponIssueQueue(RedisTemplate<String, byte[]> couponIssueQueueRedisTemplate, CouponIssueProperties couponIssueProperties) {
+        this.redisTemplate = couponIssueQueueRedisTemplate;
+        this.streamOperations = couponIssueQueueRedisTemplate.opsForStream();
+        this.group = couponIssueProperties.getQueue().getGroup();
+        this.minIdle = couponIssueProperties.getQueue().getReclaimMinIdle();
+        this.maxDeliveryCount = couponIssueProperties.getQueue().getMaxDeliveryCount();
+    }
+
+    @PostConstruct
+    void createGroup() {
+        try {
+            streamOperations.createGroup(key(), ReadOffset.from("0"), group);
+        } catch (RedisSystemException e) {
+            // 이미 group이 존재하는 경우(BUSYGROUP)만 무시하고 연결 실패 등은 그대로 던진다.
+            if (!isBusyGroup(e)) {
+                throw e;
+            }
+            log.debug("consumer group이 이미 존재합니다. key : {}, group : {}", key(), group);
+        }
+    }
+
+    private static boolean isBusyGroup(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause.getMessage() != null && cause.getMessage().contains("BUSYGROUP")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public CouponIssueQueueType type() {
+        return CouponIssueQueueType.STREAM;
+    }
+
+    @Override
+    public String key() {
+        return getIssueRequestStream();
+    }
+
+    @Override
+    public void enqueue(byte[] value) {
+        streamOperations.add(StreamRecords.newRecord().in(key()).ofMap(Map.of(PAYLOAD, value)));
+    }
+
+    @Override
+    public List<CouponIssueQueueMessage> poll(int count) {
+        return toMessages(readGroup(count));
+    }
+
+    /**
+     * StreamOperations#read 의 varargs 가 @SafeVarargs 가 아니라서 발생하는 경고이고, 배열은 read 안에서만 사용된다.
+     */
+    @SuppressWarnings("unchecked")
+    private List<MapRecord<String, String, byte[]>> readGroup(int count) {
+        return streamOperations.read(
+                Consumer.from(group, consumerName),
+                StreamReadOptions.empty().count(count),
+                StreamOffset.create(key(), ReadOffset.lastConsumed())
+        );
+    }
+
+    @Override
+    public void ack(List<CouponIssueQueueMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        final RecordId[] ids = messages.stream().map(message -> RecordId.of(message.id())).toArray(RecordId[]::new);
+        // XACK, XDEL 을 한번의 왕복으로 전송한다.
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.streamCommands().xAck(rawKey(), group, ids);
+            connection.streamCommands().xDel(rawKey(), ids);
+            return null;
+        });
+    }
+
+    /**
+     * ack 하지 않으면 pending 상태로 남아 minIdle 이후 reclaim 된다.
+     * reclaim 될 때마다 전달 횟수가 늘어나고 maxDeliveryCount 에 도달하면 dead letter Stream으로 옮겨진다.
+     */
+    @Override
+    public void retry(List<CouponIssueQueueMessage> messages) {
+    }
+
+    @Override
+    public List<CouponIssueQueueMessage> reclaim(int count) {
+        final List<PendingMessage> idleMessages = findIdlePendingMessages(count);
+        if (idleMessages.isEmpty()) {
+            return List.of();
+        }
+
+        final Map<String, Long> deliveryCounts = new HashMap<>();
+        idleMessages.forEach(pendingMessage -> deliveryCounts.put(pendingMessage.getIdAsString(), pendingMessage.getTotalDeliveryCount()));
+        final RecordId[] idleIds = idleMessages.stream().map(PendingMessage::getId).toArray(RecordId[]::new);
+        final List<MapRecord<String, String, byte[]>> records = streamOperations.claim(key(), group, consumerName, minIdle, idleIds);
+        if (records == null || records.isEmpty()) {
+            return List.of();
+        }
+
+        final List<MapRecord<String, String, byte[]>> reclaimed = new ArrayList<>(records.size());
+        final List<MapRecord<String, String, byte[]>> exhausted = new ArrayList<>();
+        for (MapRecord<String, String, byte[]> record : records) {
+            if (deliveryCounts.getOrDefault(record.getId().getValue(), 0L) >= maxDeliveryCount) {
+                exhausted.add(record);
+            } else {
+                reclaimed.add(record);
+            }
+        }
+        deadLetter(toMessages(exhausted), deliveryCounts);
+
+        log.info("처리되지 않은 발급 요청을 가져옵니다. size : {}, deadLetter : {}", reclaimed.size(), exhausted.size());
+        return toMessages(reclaimed);
+    }
+
+    /**
+     * pending 목록은 id 순서이므로 앞쪽에 아직 처리중인 요청이 있어도 뒤쪽의 방치된 요청을 찾을 수 있도록
+     * count 개의 방치된 요청을 찾거나 목록 끝에 도달할 때까지 나누어 조회한다.
+     */
+    private List<PendingMessage> findIdlePendingMessages(int count) {
+        final List<PendingMessage> idleMessages = new ArrayList<>(count);
+        Range<String> range = Range.unbounded();
+        while (idleMessages.size() < count) {
+            final PendingMessages page = streamOperations.pending(key(), group, range, count);
+            for (PendingMessage pendingMessage : page) {
+                if (idleMessages.size() < count && pendingMessage.getElapsedTimeSinceLastDelivery().compareTo(minIdle) >= 0) {
+                    idleMessages.add(pendingMessage);
+                }
+            }
+            if (page.size() < count) {
+                break;
+            }
+            final RecordId last = page.get(page.size() - 1).getId();
+            range = Range.rightUnbounded(Range.Bound.inclusive(RecordId.of(last.getTimestamp(), last.getSequence() + 1).getValue()));
+        }
+        return idleMessages;
+    }
+
+    @Override
+    public void deadLetter(List<CouponIssueQueueMessage> messages) {
+        deadLetter(messages, Map.of());
+    }
+
+    /**
+     * 요청과 전달 횟수를 dead letter Stream에 추가하고 원래 Stream에서 제거한다.
+     */
+    private void deadLetter(List<CouponIssueQueueMessage> messages, Map<String, Long> deliveryCounts) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        final byte[] rawDeadLetterKey = getIssueRequestDeadLetterStream().getBytes(StandardCharsets.UTF_8);
+        final RecordId[] ids = messages.stream().map(message -> RecordId.of(message.id())).toArray(RecordId[]::new);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (CouponIssueQueueMessage message : messages) {
+                final Long deliveryCount = deliveryCounts.get(message.id());
+                connection.streamCommands().xAdd(StreamRecords.newRecord().in(rawDeadLetterKey).ofMap(Map.of(
+                        RAW_PAYLOAD, message.value(),
+                        RAW_ORIGINAL_ID, message.id().getBytes(StandardCharsets.UTF_8),
+                        RAW_DELIVERY_COUNT, (deliveryCount == null ? "" : deliveryCount.toString()).getBytes(StandardCharsets.UTF_8)
+                )));
+            }
+            connection.streamCommands().xAck(rawKey(), group, ids);
+            connection.streamCommands().xDel(rawKey(), ids);
+            return null;
+        });
+        log.error("처리할 수 없는 발급 요청을 dead letter Stream으로 옮깁니다. size : {}", messages.size());
+    }
+
+    @Override
+    public long size() {
+        final Long size = streamOperations.size(key());
+        return size == null ? 0 : size;
+    }
+
+    private byte[] rawKey() {
+        return key().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private List<CouponIssueQueueMessage> toMessages(List<MapRecord<String, String, byte[]>> records) {
+        if (records == null) {
+            return List.of();
+        }
+        return records.stream()
+                .map(record -> new CouponIssueQueueMessage(record.getId().getValue(), record.getValue().get(PAYLOAD)))
+                .toList();
+    }
+}
@@ -0,0 +1,76 @@
+package fc.coupon.core.repository.redis.codec;
+
+import fc.coupon.core.repository.redis.dto.CouponIssueRequestDto;
+
+/**
+ * header(0x01) + varint couponId + varint userId
+ *
+ * - 7bit 단위로 나누어 담고 최상위 bit로 다음 바이트가 이어지는지 표시한다. (unsigned LEB128)
+ * - 일반적인 id 크기에서는 JSON(약 40 byte) 대비 5 ~ 8 byte로 줄어든다.
+ * - 인코딩시 크기를 먼저 계산해 결과 배열 하나만 할당하고, 리플렉션을 사용하지 않는다.
+ */
+public class BinaryCouponIssueRequestCodec implements CouponIssueRequestCodec {
+    public static final byte HEADER = 0x01;
+
+    @Override
+    public byte header() {
+        return HEADER;
+    }
+
+    @Override
+    public byte[] encode(long couponId, long userId) {
+        final byte[] payload = new byte[1 + varintSize(couponId) + varintSize(userId)];
+        payload[0] = HEADER;
+        final int offset = writeVarint(payload, 1, couponId);
+        writeVarint(payload, offset, userId);
+        return payload;
+    }
+
+    @Override
+    public CouponIssueRequestDto decode(byte[] payload) {
+        if (payload.length < 3 || payload[0] != HEADER) {
+            throw new IllegalArgumentException("발급 요청 디코딩 실패. 잘못된 형식입니다.");
+        }
+        long couponId = 0;
+        long userId = 0;
+        int index = 1;
+        for (int field = 0; field < 2; field++) {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                if (index >= payload.length || shift > 63) {
+                    throw new IllegalArgumentException("발급 요청 디코딩 실패. 잘못된 형식입니다.");
+                }
+                b = payload[index++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+
+            if (field == 0) {
+                couponId = value;
+            } else {
+                userId = value;
+            }
+        }
+        if (index != payload.length) {
+            throw new IllegalArgumentException("발급 요청 디코딩 실패. 잘못된 형식입니다.");
+        }
+        return new CouponIssueRequestDto(couponId, userId);
+    }
+
+    private static int varintSize(long value) {
+        // 0도 1 byte를 차지한다.
+        final int bits = 64 - Long.numberOfLeadingZeros(value | 1);
+        return (bits + 6) / 7;
+    }
+
+    private static int writeVarint(byte[] payload, int offset, long value) {
+        while ((value & ~0x7FL) != 0) {
+            payload[offset++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        payload[offset++] = (byte) value;
+        return offset;
+    }
+}
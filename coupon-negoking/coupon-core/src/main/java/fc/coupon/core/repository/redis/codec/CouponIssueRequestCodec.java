@@ -0,0 +1,16 @@
+package fc.coupon.core.repository.redis.codec;
+
+import fc.coupon.core.repository.redis.dto.CouponIssueRequestDto;
+
+/**
+ * 발급 Queue에 적재하는 발급 요청 인코딩
+ * 인코딩된 요청의 첫 바이트는 항상 header()로 시작하고, consumer는 이 값으로 디코딩 방식을 선택한다.
+ */
+public interface CouponIssueRequestCodec {
+
+    byte header();
+
+    byte[] encode(long couponId, long userId);
+
+    CouponIssueRequestDto decode(byte[] payload);
+}
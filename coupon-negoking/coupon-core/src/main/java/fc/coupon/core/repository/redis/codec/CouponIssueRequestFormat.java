@@ -0,0 +1,12 @@
+package fc.coupon.core.repository.redis.codec;
+
+public enum CouponIssueRequestFormat {
+    /**
+     * {"couponId":1,"userId":1} 형식의 JSON
+     */
+    JSON,
+    /**
+     * header(0x01) + varint couponId + varint userId
+     */
+    BINARY
+}
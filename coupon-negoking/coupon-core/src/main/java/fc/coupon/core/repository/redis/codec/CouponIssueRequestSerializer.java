@@ -0,0 +1,43 @@
+package fc.coupon.core.repository.redis.codec;
+
+import fc.coupon.core.configuration.CouponIssueProperties;
+import fc.coupon.core.repository.redis.dto.CouponIssueRequestDto;
+import org.springframework.stereotype.Component;
+
+/**
+ * 발급 요청은 coupon.issue.queue.format 형식으로 인코딩하고,
+ * 디코딩은 첫 바이트(header)를 보고 형식을 선택한다.
+ *
+ * Queue를 비우지 않고 형식을 바꿀 수 있도록 consumer를 먼저 배포한 뒤 producer(api)의 형식을 변경한다.
+ */
+@Component
+public class CouponIssueRequestSerializer {
+    private final JsonCouponIssueRequestCodec jsonCodec = new JsonCouponIssueRequestCodec();
+    private final BinaryCouponIssueRequestCodec binaryCodec = new BinaryCouponIssueRequestCodec();
+    private final CouponIssueRequestCodec encoder;
+
+    public CouponIssueRequestSerializer(CouponIssueProperties couponIssueProperties) {
+        this.encoder = switch (couponIssueProperties.getQueue().getFormat()) {
+            case JSON -> jsonCodec;
+            case BINARY -> binaryCodec;
+        };
+    }
+
+    public byte[] serialize(long couponId, long userId) {
+        return encoder.encode(couponId, userId);
+    }
+
+    /**
+     * @throws IllegalArgumentException 디코딩할 수 없는 요청인 경우
+     */
+    public CouponIssueRequestDto deserialize(byte[] payload) {
+        if (payload == null || payload.length == 0) {
+            throw new IllegalArgumentException("발급 요청 디코딩 실패. 빈 요청입니다.");
+        }
+        return switch (payload[0]) {
+            case JsonCouponIssueRequestCodec.HEADER -> jsonCodec.decode(payload);
+            case BinaryCouponIssueRequestCodec.HEADER -> binaryCodec.decode(payload);
+            default -> throw new IllegalArgumentException("발급 요청 디코딩 실패. 지원하지 않는 형식입니다. header : " + payload[0]);
+        };
+    }
+}
@@ -0,0 +1,39 @@
+package fc.coupon.core.repository.redis.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fc.coupon.core.repository.redis.dto.CouponIssueRequestDto;
+
+import java.io.IOException;
+
+/**
+ * 기존 JSON 형식
+ * JSON은 항상 '{'로 시작하므로 별도의 header 없이 기존에 적재된 요청도 그대로 디코딩할 수 있다.
+ */
+public class JsonCouponIssueRequestCodec implements CouponIssueRequestCodec {
+    public static final byte HEADER = '{';
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Override
+    public byte header() {
+        return HEADER;
+    }
+
+    @Override
+    public byte[] encode(long couponId, long userId) {
+        try {
+            return objectMapper.writeValueAsBytes(new CouponIssueRequestDto(couponId, userId));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("발급 요청 인코딩 실패. couponId : %s, userId : %s".formatted(couponId, userId), e);
+        }
+    }
+
+    @Override
+    public CouponIssueRequestDto decode(byte[] payload) {
+        try {
+            return objectMapper.readValue(payload, CouponIssueRequestDto.class);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("발급 요청 디코딩 실패", e);
+        }
+    }
+}
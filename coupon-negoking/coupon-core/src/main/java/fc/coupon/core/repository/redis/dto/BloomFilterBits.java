@@ -0,0 +1,24 @@
+package fc.coupon.core.repository.redis.dto;
+
+import java.time.Duration;
+
+/**
+ * @param key     Bloom filter 비트맵 키
+ * @param offsets 비트맵에 설정할 비트 위치 (SETBIT offset)
+ * @param ttl     비트맵 보관 시간, 기록할 때마다 갱신한다.
+ */
+public record BloomFilterBits(
+        String key,
+        long[] offsets,
+        Duration ttl
+) {
+    private static final BloomFilterBits EMPTY = new BloomFilterBits(null, new long[0], Duration.ZERO);
+
+    public static BloomFilterBits empty() {
+        return EMPTY;
+    }
+
+    public boolean isEmpty() {
+        return offsets.length == 0;
+    }
+}
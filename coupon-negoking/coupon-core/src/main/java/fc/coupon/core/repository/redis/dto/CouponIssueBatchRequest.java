@@ -0,0 +1,11 @@
+package fc.coupon.core.repository.redis.dto;
+
+/**
+ * @param userId  발급 요청 사용자
+ * @param request CouponIssueRequestSerializer로 인코딩된 발급 요청
+ */
+public record CouponIssueBatchRequest(
+        long userId,
+        byte[] request
+) {
+}
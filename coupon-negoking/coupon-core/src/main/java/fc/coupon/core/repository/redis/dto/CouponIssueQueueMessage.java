@@ -0,0 +1,11 @@
+package fc.coupon.core.repository.redis.dto;
+
+/**
+ * @param id    Stream 메시지 id (List Queue는 null)
+ * @param value 인코딩된 발급 요청 (CouponIssueRequestSerializer)
+ */
+public record CouponIssueQueueMessage(
+        String id,
+        byte[] value
+) {
+}
@@ -0,0 +1,11 @@
+package fc.coupon.core.repository.redis.dto;
+
+/**
+ * @param size     발급 요청 Set 크기 (발급 요청 수)
+ * @param isMember 사용자의 발급 요청 여부
+ */
+public record CouponIssueRequestSetStatus(
+        long size,
+        boolean isMember
+) {
+}
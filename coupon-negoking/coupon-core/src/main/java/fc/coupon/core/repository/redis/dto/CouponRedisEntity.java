@@ -0,0 +1,42 @@
+package fc.coupon.core.repository.redis.dto;
+
+import fc.coupon.core.exception.CouponIssueException;
+import fc.coupon.core.exception.ErrorCode;
+import fc.coupon.core.model.Coupon;
+import fc.coupon.core.model.CouponType;
+
+import java.time.LocalDateTime;
+
+/**
+ * 발급 검증에 필요한 쿠폰 정책만 캐시한다.
+ * 발급 수량(issuedQuantity)처럼 계속 변하는 값은 포함하지 않는다.
+ */
+public record CouponRedisEntity(
+        Long id,
+        CouponType couponType,
+        Integer totalQuantity,
+        LocalDateTime dateIssueStart,
+        LocalDateTime dateIssueEnd
+) {
+
+    public CouponRedisEntity(Coupon coupon) {
+        this(
+                coupon.getId(),
+                coupon.getCouponType(),
+                coupon.getTotalQuantity(),
+                coupon.getDateIssueStart(),
+                coupon.getDateIssueEnd()
+        );
+    }
+
+    public boolean availableIssueDate() {
+        LocalDateTime now = LocalDateTime.now();
+        return dateIssueStart.isBefore(now) && dateIssueEnd.isAfter(now);
+    }
+
+    public void checkIssuableCoupon() {
+        if (!availableIssueDate()) {
+            throw new CouponIssueException(ErrorCode.INVALID_COUPON_ISSUE_DATE, "발급 가능한 일자가 아닙니다. couponId : %s, issueStart: %s, issueEnd: %s", id, dateIssueStart, dateIssueEnd);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package fc.coupon.core.repository.redis.dto;
+
+/**
+ * @param position 대기 순번 (1부터 시작), 대기열에 없으면 null
+ * @param result   입장 후 발급 결과 (PROCESSING, SUCCESS, ErrorCode), 아직 입장하지 않았으면 null
+ */
+public record WaitingRoomStatus(
+        Long position,
+        String result
+) {
+    public static final String PROCESSING = "PROCESSING";
+    public static final String SUCCESS = "SUCCESS";
+
+    public State state() {
+        if (result != null) {
+            return State.ADMITTED;
+        }
+        return position != null ? State.WAITING : State.NOT_FOUND;
+    }
+
+    public enum State {
+        WAITING,
+        ADMITTED,
+        NOT_FOUND
+    }
+}
@@ -1,12 +1,19 @@
 package fc.coupon.core.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import fc.coupon.core.component.CouponIssueMetrics;
+import fc.coupon.core.component.CouponIssueMetrics.Stage;
 import fc.coupon.core.component.DistributeLockExecutor;
+import fc.coupon.core.component.IssueRequestBloomFilterRegistry;
+import fc.coupon.core.component.IssueRequestedUserRegistry;
+import fc.coupon.core.component.SoldOutCouponRegistry;
 import fc.coupon.core.exception.CouponIssueException;
 import fc.coupon.core.exception.ErrorCode;
-import fc.coupon.core.model.Coupon;
+import fc.coupon.core.repository.redis.CouponIssueQueue;
 import fc.coupon.core.repository.redis.RedisRepository;
-import fc.coupon.core.repository.redis.dto.CouponIssueRequestDto;
+import fc.coupon.core.repository.redis.codec.CouponIssueRequestSerializer;
+import fc.coupon.core.repository.redis.dto.BloomFilterBits;
+import fc.coupon.core.repository.redis.dto.CouponIssueRequestSetStatus;
+import fc.coupon.core.repository.redis.dto.CouponRedisEntity;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -14,35 +21,46 @@ import java.util.Objects;
 
 import static fc.coupon.core.component.DistributeLockExecutor.LOCK_PREFIX;
 import static fc.coupon.core.util.CouponRedisUtils.getIssueRequestKey;
-import static fc.coupon.core.util.CouponRedisUtils.getIssueRequestQueue;
 
 @Service
 @RequiredArgsConstructor
 public class AsyncCouponIssueService {
     private final RedisRepository redisRepository;
-    private final CouponIssueService couponIssueService;
+    private final CouponIssueQueue couponIssueQueue;
+    private final CouponIssueRequestSerializer couponIssueRequestSerializer;
+    private final CouponCacheService couponCacheService;
     private final DistributeLockExecutor lockExecutor;
-
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SoldOutCouponRegistry soldOutCouponRegistry;
+    private final IssueRequestedUserRegistry issueRequestedUserRegistry;
+    private final IssueRequestBloomFilterRegistry bloomFilterRegistry;
+    private final CouponIssueMetrics metrics;
 
     public void issue(long couponId, long userId) {
-        final Coupon coupon = couponIssueService.findCoupon(couponId);
-        if (!coupon.availableIssueDate()) {
-            throw new CouponIssueException(ErrorCode.INVALID_COUPON_ISSUE_DATE, "발급 가능한 일자가 아닙니다.");
-        }
+        metrics.observe(Stage.ASYNC_ISSUE_V1, couponId, () -> this.doIssue(couponId, userId));
+    }
+
+    private void doIssue(long couponId, long userId) {
+        soldOutCouponRegistry.checkSoldOut(couponId);
+        issueRequestedUserRegistry.checkDuplicated(couponId, userId);
+
+        final CouponRedisEntity coupon = metrics.observe(Stage.COUPON_LOOKUP, couponId, () -> couponCacheService.getCouponLocalCache(couponId));
+        coupon.checkIssuableCoupon();
 
         final String lockName = LOCK_PREFIX + couponId;
-        lockExecutor.execute(lockName, 5_000, 5_000,
+        lockExecutor.execute(lockName,
                 () -> {
-                    if (!availableTotalIssueQuantity(couponId, coupon.getTotalQuantity())) {
-                        throw new CouponIssueException(ErrorCode.INVALID_COUPON_ISSUE_QUANTITY, "발급 가능한 수량을 초과합니다.");
+                    // lock 안에서는 수량, 중복 검증을 한번에, 발급 요청 추가와 Queue 적재를 한번에 전송해 왕복을 4번에서 2번으로 줄인다.
+                    final CouponIssueRequestSetStatus status = metrics.observe(Stage.REDIS_CHECK, couponId, () -> this.requestSetStatus(couponId, userId, coupon.totalQuantity()));
+                    if (!availableTotalIssueQuantity(coupon.totalQuantity(), status.size())) {
+                        soldOutCouponRegistry.markSoldOut(couponId);
+                        throw CouponIssueException.of(ErrorCode.INVALID_COUPON_ISSUE_QUANTITY);
                     }
 
-                    if (!availableUserIssueQuantity(couponId, userId)) {
-                        throw new CouponIssueException(ErrorCode.DUPLICATED_COUPON_ISSUE, "이미 발급 요청이 처리되었습니다.");
+                    if (status.isMember() || !metrics.observe(Stage.ENQUEUE, couponId, () -> this.issueRequest(couponId, userId, coupon.totalQuantity()))) {
+                        issueRequestedUserRegistry.record(couponId, userId);
+                        throw CouponIssueException.of(ErrorCode.DUPLICATED_COUPON_ISSUE);
                     }
-
-                    this.issueRequest(couponId, userId);
+                    issueRequestedUserRegistry.record(couponId, userId);
                 }
         );
     }
@@ -58,24 +76,41 @@ public class AsyncCouponIssueService {
         }
 
         final String key = getIssueRequestKey(couponId);
-        return limit > redisRepository.sCard(key);
+        return availableTotalIssueQuantity(limit, redisRepository.sCard(key));
     }
 
-    private void issueRequest(long couponId, long userId) {
-        final CouponIssueRequestDto issueRequestDto = CouponIssueRequestDto.builder()
-                .couponId(couponId)
-                .userId(userId)
-                .build();
+    private boolean availableTotalIssueQuantity(Integer limit, long requestCount) {
+        return Objects.isNull(limit) || limit > requestCount;
+    }
+
+    /**
+     * Bloom filter에 없는 사용자는 발급 요청 Set을 확인하지 않고 수량만 조회한다.
+     */
+    private CouponIssueRequestSetStatus requestSetStatus(long couponId, long userId, Integer totalQuantity) {
+        final String setKey = getIssueRequestKey(couponId);
+        if (!bloomFilterRegistry.mightContain(couponId, totalQuantity, userId)) {
+            return new CouponIssueRequestSetStatus(redisRepository.sCard(setKey), false);
+        }
+        final CouponIssueRequestSetStatus status = redisRepository.sCardAndIsMember(setKey, String.valueOf(userId));
+        bloomFilterRegistry.recordPositive(status.isMember());
+        return status;
+    }
 
+    /**
+     * Bloom filter는 다른 서버에서 추가된 사용자를 놓칠 수 있으므로 SADD 결과로 중복 여부를 최종 판단한다.
+     * 이미 존재했다면 Queue에 적재하지 않는다.
+     *
+     * @return 발급 요청 Set에 새로 추가되었다면 true
+     */
+    private boolean issueRequest(long couponId, long userId, Integer totalQuantity) {
         final String setKey = getIssueRequestKey(couponId);
-        final String queueKey = getIssueRequestQueue();
 
         try {
-            String value = objectMapper.writeValueAsString(issueRequestDto);
-            redisRepository.sAdd(setKey, String.valueOf(userId));
-            redisRepository.rPush(queueKey, value);
+            final byte[] value = couponIssueRequestSerializer.serialize(couponId, userId);
+            final BloomFilterBits bloomFilterBits = bloomFilterRegistry.put(couponId, totalQuantity, userId);
+            return redisRepository.sAddAndEnqueue(setKey, String.valueOf(userId), couponIssueQueue, value, bloomFilterBits);
         } catch (Exception e) {
-            throw new CouponIssueException(ErrorCode.FAIL_COUPON_ISSUE_REQUEST, "input : %s".formatted(issueRequestDto));
+            throw new CouponIssueException(ErrorCode.FAIL_COUPON_ISSUE_REQUEST, "couponId : %s, userId : %s", couponId, userId);
         }
     }
 
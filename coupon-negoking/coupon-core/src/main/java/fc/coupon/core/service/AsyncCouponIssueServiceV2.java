@@ -0,0 +1,66 @@
+package fc.coupon.core.service;
+
+import fc.coupon.core.component.CouponIssueMetrics;
+import fc.coupon.core.component.CouponIssueMetrics.Stage;
+import fc.coupon.core.component.IssueRequestedUserRegistry;
+import fc.coupon.core.component.SoldOutCouponRegistry;
+import fc.coupon.core.exception.CouponIssueException;
+import fc.coupon.core.exception.ErrorCode;
+import fc.coupon.core.repository.redis.CouponIssueQueue;
+import fc.coupon.core.repository.redis.CouponIssueRequestCode;
+import fc.coupon.core.repository.redis.RedisRepository;
+import fc.coupon.core.repository.redis.codec.CouponIssueRequestSerializer;
+import fc.coupon.core.repository.redis.dto.CouponRedisEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import static fc.coupon.core.util.CouponRedisUtils.getIssueRequestKey;
+
+/**
+ * Redis 스크립트 기반 비동기 쿠폰 발급
+ *
+ * V1은 쿠폰 단위 분산락 안에서 sCard, sIsMember, sAdd, rPush 4번의 왕복이 발생해
+ * 같은 쿠폰에 대한 요청이 하나씩 직렬로 처리된다.
+ * V2는 검증과 적재를 하나의 스크립트로 원자적으로 실행하므로 lock 없이 한번의 왕복으로 처리된다.
+ */
+@Service
+@RequiredArgsConstructor
+public class AsyncCouponIssueServiceV2 {
+    private final RedisRepository redisRepository;
+    private final CouponIssueQueue couponIssueQueue;
+    private final CouponIssueRequestSerializer couponIssueRequestSerializer;
+    private final CouponCacheService couponCacheService;
+    private final SoldOutCouponRegistry soldOutCouponRegistry;
+    private final IssueRequestedUserRegistry issueRequestedUserRegistry;
+    private final CouponIssueMetrics metrics;
+
+    public void issue(long couponId, long userId) {
+        metrics.observe(Stage.ASYNC_ISSUE_V2, couponId, () -> this.doIssue(couponId, userId));
+    }
+
+    private void doIssue(long couponId, long userId) {
+        soldOutCouponRegistry.checkSoldOut(couponId);
+        issueRequestedUserRegistry.checkDuplicated(couponId, userId);
+
+        final CouponRedisEntity coupon = metrics.observe(Stage.COUPON_LOOKUP, couponId, () -> couponCacheService.getCouponLocalCache(couponId));
+        coupon.checkIssuableCoupon();
+
+        metrics.observe(Stage.ENQUEUE, couponId, () -> this.issueRequest(couponId, userId, coupon.totalQuantity()));
+    }
+
+    private void issueRequest(long couponId, long userId, Integer totalIssueQuantity) {
+        final CouponIssueRequestCode code;
+        try {
+            final byte[] value = couponIssueRequestSerializer.serialize(couponId, userId);
+            code = redisRepository.issueRequest(getIssueRequestKey(couponId), couponIssueQueue, userId, value, totalIssueQuantity);
+        } catch (Exception e) {
+            throw new CouponIssueException(ErrorCode.FAIL_COUPON_ISSUE_REQUEST, "couponId : %s, userId : %s", couponId, userId);
+        }
+
+        if (code == CouponIssueRequestCode.INVALID_COUPON_ISSUE_QUANTITY) {
+            soldOutCouponRegistry.markSoldOut(couponId);
+        }
+        issueRequestedUserRegistry.record(couponId, userId, code);
+        CouponIssueRequestCode.checkRequestResult(code);
+    }
+}
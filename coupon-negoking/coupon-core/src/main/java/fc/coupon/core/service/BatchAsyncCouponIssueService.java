@@ -0,0 +1,240 @@
+package fc.coupon.core.service;
+
+import fc.coupon.core.component.CouponIssueMetrics;
+import fc.coupon.core.component.CouponIssueMetrics.Stage;
+import fc.coupon.core.component.IssueRequestedUserRegistry;
+import fc.coupon.core.component.SoldOutCouponRegistry;
+import fc.coupon.core.configuration.CouponIssueProperties;
+import fc.coupon.core.exception.CouponIssueException;
+import fc.coupon.core.exception.ErrorCode;
+import fc.coupon.core.repository.redis.CouponIssueQueue;
+import fc.coupon.core.repository.redis.CouponIssueRequestCode;
+import fc.coupon.core.repository.redis.RedisRepository;
+import fc.coupon.core.repository.redis.codec.CouponIssueRequestSerializer;
+import fc.coupon.core.repository.redis.dto.CouponIssueBatchRequest;
+import fc.coupon.core.repository.redis.dto.CouponRedisEntity;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static fc.coupon.core.util.CouponRedisUtils.getIssueRequestKey;
+
+/**
+ * micro-batching 기반 비동기 쿠폰 발급
+ *
+ * 같은 쿠폰에 대한 요청을 window 동안(또는 maxSize 만큼) 모아서 하나의 스크립트로 한번에 처리하고
+ * 요청별 결과로 각 요청의 응답을 완료한다.
+ * 요청마다 최대 window 만큼 지연되는 대신 레디스 왕복과 스크립트 실행 횟수가 batch 크기만큼 줄어든다.
+ *
+ * coupon.issue.batch.enabled=false 이면 요청을 모으지 않고 호출한 스레드에서 바로 처리한다.
+ */
+@Slf4j
+@Service
+public class BatchAsyncCouponIssueService {
+    private final RedisRepository redisRepository;
+    private final CouponIssueQueue couponIssueQueue;
+    private final CouponIssueRequestSerializer couponIssueRequestSerializer;
+    private final CouponCacheService couponCacheService;
+    private final SoldOutCouponRegistry soldOutCouponRegistry;
+    private final IssueRequestedUserRegistry issueRequestedUserRegistry;
+    private final CouponIssueProperties.Batch properties;
+    private final CouponIssueMetrics metrics;
+
+    private final ConcurrentHashMap<Long, PendingBatch> batches = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flushExecutor;
+
+    public BatchAsyncCouponIssueService(RedisRepository redisRepository,
+                                        CouponIssueQueue couponIssueQueue,
+                                        CouponIssueRequestSerializer couponIssueRequestSerializer,
+                                        CouponCacheService couponCacheService,
+                                        SoldOutCouponRegistry soldOutCouponRegistry,
+                                        IssueRequestedUserRegistry issueRequestedUserRegistry,
+                                        CouponIssueProperties couponIssueProperties,
+                                        CouponIssueMetrics metrics) {
+        this.redisRepository = redisRepository;
+        this.couponIssueQueue = couponIssueQueue;
+        this.couponIssueRequestSerializer = couponIssueRequestSerializer;
+        this.couponCacheService = couponCacheService;
+        this.soldOutCouponRegistry = soldOutCouponRegistry;
+        this.issueRequestedUserRegistry = issueRequestedUserRegistry;
+        this.properties = couponIssueProperties.getBatch();
+        this.metrics = metrics;
+        this.flushExecutor = Executors.newScheduledThreadPool(properties.getFlushThreads(), new CustomizableThreadFactory("coupon-issue-batch-"));
+    }
+
+    /**
+     * @return 발급 요청이 처리되면 완료되고, 발급 요청에 실패하면 CouponIssueException으로 완료된다.
+     */
+    public CompletableFuture<Void> issue(long couponId, long userId) {
+        // batch 를 기다리는 시간까지 포함해 응답이 완료될 때까지를 기록한다.
+        return metrics.observeAsync(Stage.ASYNC_ISSUE_BATCH, couponId, () -> this.doIssue(couponId, userId));
+    }
+
+    private CompletableFuture<Void> doIssue(long couponId, long userId) {
+        final CouponRedisEntity coupon;
+        final PendingRequest request;
+        try {
+            soldOutCouponRegistry.checkSoldOut(couponId);
+            issueRequestedUserRegistry.checkDuplicated(couponId, userId);
+
+            coupon = metrics.observe(Stage.COUPON_LOOKUP, couponId, () -> couponCacheService.getCouponLocalCache(couponId));
+            coupon.checkIssuableCoupon();
+
+            request = new PendingRequest(new CouponIssueBatchRequest(userId, couponIssueRequestSerializer.serialize(couponId, userId)));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        if (!properties.isEnabled()) {
+            issueRequests(couponId, coupon, List.of(request));
+            return request.future;
+        }
+
+        this.enqueue(couponId, coupon, request);
+        return request.future;
+    }
+
+    private void enqueue(long couponId, CouponRedisEntity coupon, PendingRequest request) {
+        while (true) {
+            final PendingBatch batch = batches.computeIfAbsent(couponId, id -> newBatch(id, coupon));
+            final int size = batch.add(request);
+            if (size >= properties.getMaxSize()) {
+                flushExecutor.execute(() -> flush(couponId, batch));
+            }
+            if (size > 0) {
+                return;
+            }
+            // 이미 전송이 시작된 batch 라면 새로운 batch 로 교체한다.
+            batches.remove(couponId, batch);
+        }
+    }
+
+    private PendingBatch newBatch(long couponId, CouponRedisEntity coupon) {
+        final PendingBatch batch = new PendingBatch(coupon);
+        batch.scheduledFlush = flushExecutor.schedule(() -> flush(couponId, batch), properties.getWindow().toNanos(), TimeUnit.NANOSECONDS);
+        return batch;
+    }
+
+    private void flush(long couponId, PendingBatch batch) {
+        final List<PendingRequest> requests = batch.close();
+        batches.remove(couponId, batch);
+        if (requests.isEmpty()) {
+            return;
+        }
+        final ScheduledFuture<?> scheduledFlush = batch.scheduledFlush;
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+        }
+        issueRequests(couponId, batch.coupon, requests);
+    }
+
+    private void issueRequests(long couponId, CouponRedisEntity coupon, List<PendingRequest> requests) {
+        final List<CouponIssueRequestCode> codes;
+        try {
+            // batch 하나를 한번의 스크립트로 처리하므로 요청이 아닌 batch 단위로 기록된다.
+            codes = metrics.observe(Stage.ENQUEUE, couponId, () -> redisRepository.issueRequests(
+                    getIssueRequestKey(couponId),
+                    couponIssueQueue,
+                    requests.stream().map(PendingRequest::request).toList(),
+                    coupon.totalQuantity()
+            ));
+        } catch (Exception e) {
+            log.error("쿠폰 발급 요청 batch 처리 실패. couponId : {}, size : {}", couponId, requests.size(), e);
+            final CouponIssueException exception = new CouponIssueException(ErrorCode.FAIL_COUPON_ISSUE_REQUEST, "couponId : %s", couponId);
+            requests.forEach(request -> request.future.completeExceptionally(exception));
+            return;
+        }
+
+        if (codes.contains(CouponIssueRequestCode.INVALID_COUPON_ISSUE_QUANTITY)) {
+            soldOutCouponRegistry.markSoldOut(couponId);
+        }
+
+        for (int i = 0; i < requests.size(); i++) {
+            final PendingRequest request = requests.get(i);
+            final CompletableFuture<Void> future = request.future;
+            try {
+                issueRequestedUserRegistry.record(couponId, request.request().userId(), codes.get(i));
+                CouponIssueRequestCode.checkRequestResult(codes.get(i));
+                future.complete(null);
+            } catch (CouponIssueException e) {
+                future.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * 종료 전에 모으고 있던 요청을 모두 처리한다.
+     */
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        batches.forEach(this::flush);
+        flushExecutor.shutdown();
+        if (!flushExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+            log.warn("쿠폰 발급 요청 batch 처리가 제한 시간내에 종료되지 않았습니다.");
+        }
+    }
+
+    private record PendingRequest(CouponIssueBatchRequest request, CompletableFuture<Void> future) {
+        PendingRequest(CouponIssueBatchRequest request) {
+            this(request, new CompletableFuture<>());
+        }
+    }
+
+    /**
+     * 가상 스레드가 고정(pinning)되지 않도록 synchronized 대신 ReentrantLock을 사용한다.
+     */
+    private static class PendingBatch {
+        private final CouponRedisEntity coupon;
+        private final List<PendingRequest> requests = new ArrayList<>();
+        private final ReentrantLock lock = new ReentrantLock();
+        private boolean closed;
+        private volatile ScheduledFuture<?> scheduledFlush;
+
+        PendingBatch(CouponRedisEntity coupon) {
+            this.coupon = coupon;
+        }
+
+        /**
+         * @return 추가한 뒤의 batch 크기, 이미 전송이 시작된 batch 라면 0
+         */
+        int add(PendingRequest request) {
+            lock.lock();
+            try {
+                if (closed) {
+                    return 0;
+                }
+                requests.add(request);
+                return requests.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * @return 처리할 요청, 이미 전송이 시작된 batch 라면 빈 목록
+         */
+        List<PendingRequest> close() {
+            lock.lock();
+            try {
+                if (closed) {
+                    return List.of();
+                }
+                closed = true;
+                return requests;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
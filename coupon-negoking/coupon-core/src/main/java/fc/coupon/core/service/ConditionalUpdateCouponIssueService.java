@@ -0,0 +1,60 @@
+package fc.coupon.core.service;
+
+import fc.coupon.core.configuration.CouponIssueProperties;
+import fc.coupon.core.exception.CouponIssueException;
+import fc.coupon.core.exception.ErrorCode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 조건부 UPDATE 기반 동기 쿠폰 발급
+ *
+ * X Lock 방식은 SELECT ... FOR UPDATE 부터 커밋까지 쿠폰 row lock을 잡고 있어 같은 쿠폰의 트랜잭션이 모두 직렬화된다.
+ * 조건부 UPDATE는 검증과 증가를 한번의 쿼리로 처리하고, lock을 잡은 뒤 커밋까지는 발급 내역 INSERT 하나만 실행하므로 lock을 잡는 시간이 짧다.
+ * 매진 이후의 요청은 UPDATE 한번으로 거절되어 발급 내역을 저장했다가 롤백하지 않는다.
+ * deadlock, lock wait timeout 으로 실패하면 트랜잭션 전체를 jitter backoff 후 다시 시도한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ConditionalUpdateCouponIssueService {
+    private final CouponIssueService couponIssueService;
+    private final CouponIssueProperties couponIssueProperties;
+
+    public void issue(long couponId, long userId) {
+        final CouponIssueProperties.ConditionalUpdate properties = couponIssueProperties.getConditionalUpdate();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                couponIssueService.issueWithConditionalUpdate(couponId, userId);
+                return;
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= properties.getMaxAttempts()) {
+                    log.warn("쿠폰 발급 재시도 횟수 초과. couponId : {}, userId : {}, attempt : {}", couponId, userId, attempt);
+                    throw new CouponIssueException(ErrorCode.FAIL_COUPON_ISSUE_REQUEST, "couponId : %s, userId : %s", couponId, userId);
+                }
+                sleep(backoff(properties, attempt));
+            }
+        }
+    }
+
+    /**
+     * 동시에 실패한 요청들이 같은 시점에 다시 충돌하지 않도록 대기 시간을 무작위로 분산한다. (full jitter)
+     */
+    private long backoff(CouponIssueProperties.ConditionalUpdate properties, int attempt) {
+        final long ceiling = Math.min(properties.getMaxBackoff().toMillis(), properties.getMinBackoff().toMillis() << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CouponIssueException(ErrorCode.FAIL_COUPON_ISSUE_REQUEST, "쿠폰 발급 재시도 중 중단되었습니다.");
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package fc.coupon.core.service;
+
+import fc.coupon.core.model.Coupon;
+import fc.coupon.core.repository.redis.RedisRepository;
+import fc.coupon.core.repository.redis.dto.CouponRedisEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.aop.framework.AopContext;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import static fc.coupon.core.configuration.CacheConfiguration.COUPON_CACHE;
+import static fc.coupon.core.configuration.CacheConfiguration.LOCAL_CACHE_MANAGER;
+import static fc.coupon.core.util.CouponRedisUtils.getCouponCacheEvictChannel;
+
+@Service
+@RequiredArgsConstructor
+public class CouponCacheService {
+    private final CouponIssueService couponIssueService;
+    private final RedisRepository redisRepository;
+
+    /**
+     * 레디스 캐시에 없으면 MySQL에서 조회한다.
+     */
+    @Cacheable(cacheNames = COUPON_CACHE)
+    public CouponRedisEntity getCouponCache(long couponId) {
+        final Coupon coupon = couponIssueService.findCoupon(couponId);
+        return new CouponRedisEntity(coupon);
+    }
+
+    /**
+     * 로컬 캐시에 없으면 레디스 캐시에서 조회한다.
+     */
+    @Cacheable(cacheNames = COUPON_CACHE, cacheManager = LOCAL_CACHE_MANAGER)
+    public CouponRedisEntity getCouponLocalCache(long couponId) {
+        return proxy().getCouponCache(couponId);
+    }
+
+    /**
+     * 쿠폰 정책(수량, 발급 기간 등)이 변경되면 호출한다.
+     * 레디스 캐시를 지우고 모든 서버에 로컬 캐시 삭제 메시지를 발행한다.
+     * 메시지를 받은 서버가 지워지기 전의 레디스 캐시를 다시 로컬 캐시에 적재하지 않도록 발행 전에 지운다.
+     */
+    @CacheEvict(cacheNames = COUPON_CACHE, beforeInvocation = true)
+    public void evictCouponCache(long couponId) {
+        redisRepository.publish(getCouponCacheEvictChannel(), String.valueOf(couponId));
+    }
+
+    private CouponCacheService proxy() {
+        return (CouponCacheService) AopContext.currentProxy();
+    }
+}
@@ -1,22 +1,36 @@
 package fc.coupon.core.service;
 
+import fc.coupon.core.component.CouponIssueMetrics;
+import fc.coupon.core.component.CouponIssueMetrics.Stage;
+import fc.coupon.core.configuration.CouponIssueProperties;
 import fc.coupon.core.exception.CouponIssueException;
 import fc.coupon.core.exception.ErrorCode;
 import fc.coupon.core.model.Coupon;
 import fc.coupon.core.model.CouponIssue;
+import fc.coupon.core.repository.mysql.CouponIssueJdbcRepository;
 import fc.coupon.core.repository.mysql.CouponIssueJpaRepository;
 import fc.coupon.core.repository.mysql.CouponIssueRepository;
 import fc.coupon.core.repository.mysql.CouponJpaRepository;
+import fc.coupon.core.repository.redis.dto.CouponIssueRequestDto;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+
 @RequiredArgsConstructor
 @Service
 public class CouponIssueService {
     private final CouponJpaRepository couponJpaRepository;
     private final CouponIssueJpaRepository couponIssueJpaRepository;
     private final CouponIssueRepository couponIssueRepository;
+    private final CouponIssueJdbcRepository couponIssueJdbcRepository;
+    private final CouponIssueProperties couponIssueProperties;
+    private final CouponIssueMetrics metrics;
 
     /**
      * 이렇게 lock을 걸어도 실제로 원하는 수량을 초과해서 발급한다.
@@ -66,32 +80,100 @@ public class CouponIssueService {
         this.saveCouponIssue(couponId, userId);
     }
 
+    /**
+     * 쿠폰을 조회하거나 lock을 걸지 않고 조건부 UPDATE 한번으로 수량을 검증하고 증가시킨다.
+     * 수량 검증을 먼저 하므로 매진 이후의 요청은 발급 내역을 저장했다가 롤백하지 않고 바로 거절된다.
+     * 이미 발급된 사용자라면 발급 내역 저장에서 예외가 발생해 증가시킨 수량도 함께 롤백된다.
+     */
+    @Transactional
+    public void issueWithConditionalUpdate(long couponId, long userId) {
+        if (metrics.observe(Stage.DB_WRITE, couponId, () -> couponJpaRepository.increaseIssuedQuantity(couponId, LocalDateTime.now())) == 0) {
+            // 발급할 수 없는 이유(쿠폰 없음, 수량 초과, 기간)를 확인해 같은 예외를 발생시킨다.
+            this.findCoupon(couponId).checkIssuableCoupon();
+            throw new CouponIssueException(ErrorCode.INVALID_COUPON_ISSUE_QUANTITY, "발급 가능한 수량을 초과합니다. couponId : %s", couponId);
+        }
+        this.saveCouponIssue(couponId, userId);
+    }
+
     @Transactional(readOnly = true)
     public Coupon findCoupon(long couponId) {
-        return couponJpaRepository.findById(couponId).orElseThrow(() -> new CouponIssueException(ErrorCode.COUPON_NOT_EXIST, "쿠폰이 존재하지 않습니다. %s".formatted(couponId)));
+        return metrics.observe(Stage.DB_READ, couponId, () -> couponJpaRepository.findById(couponId)).orElseThrow(() -> new CouponIssueException(ErrorCode.COUPON_NOT_EXIST, "쿠폰이 존재하지 않습니다. %s", couponId));
     }
 
     @Transactional(readOnly = true)
     public Coupon findCouponWithLock(long couponId) {
-        return couponJpaRepository.findByIdWithLock(couponId).orElseThrow(() -> new CouponIssueException(ErrorCode.COUPON_NOT_EXIST, "쿠폰이 존재하지 않습니다. %s".formatted(couponId)));
+        return metrics.observe(Stage.DB_READ, couponId, () -> couponJpaRepository.findByIdWithLock(couponId)).orElseThrow(() -> new CouponIssueException(ErrorCode.COUPON_NOT_EXIST, "쿠폰이 존재하지 않습니다. %s", couponId));
     }
 
     @Transactional
     public CouponIssue saveCouponIssue(final long couponId, final long userId) {
-        this.checkAlreadyIssuance(couponId, userId);
+        if (couponIssueProperties.getDuplicateCheck() == CouponIssueProperties.DuplicateCheck.QUERY) {
+            this.checkAlreadyIssuance(couponId, userId);
+        }
 
         CouponIssue couponIssue = CouponIssue.builder()
                 .couponId(couponId)
                 .userId(userId)
                 .build();
 
-        return this.couponIssueJpaRepository.save(couponIssue);
+        try {
+            return metrics.observe(Stage.DB_WRITE, couponId, () -> this.couponIssueJpaRepository.save(couponIssue));
+        } catch (DataIntegrityViolationException e) {
+            // IDENTITY 전략이라 save 시점에 insert 되므로 (coupon_id, user_id) 유니크 제약 조건 위반이 바로 발생한다.
+            // 그 외의 무결성 위반(NOT NULL, 다른 제약 조건 등)은 중복 발급이 아니므로 그대로 던진다.
+            if (!isDuplicatedCouponIssue(e)) {
+                throw e;
+            }
+            throw new CouponIssueException(ErrorCode.DUPLICATED_COUPON_ISSUE, "쿠폰 중복 발급 couponId : %s, userId : %s", couponId, userId);
+        }
+    }
+
+    /**
+     * (coupon_id, user_id) 유니크 제약 조건 위반인지 확인한다.
+     * Hibernate 가 추출한 제약 조건 이름을 우선 보고, 추출하지 못한 경우 원인 예외의 메시지에서 찾는다.
+     * MySQL 은 "coupon_issue.uk_..." 처럼, H2 는 대문자나 인덱스 접미사가 붙은 형태로 알려주므로 대소문자 구분 없이 포함 여부로 비교한다.
+     */
+    static boolean isDuplicatedCouponIssue(final DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            final String source = cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null
+                    ? violation.getConstraintName()
+                    : cause.getMessage();
+            if (source != null && source.toLowerCase(Locale.ROOT).contains(CouponIssue.UNIQUE_COUPON_USER)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 발급 요청을 한번에 저장한다.
+     * 건별 중복 조회 없이 중복 발급 내역은 DB에서 무시된다.
+     *
+     * @return 새로 저장한 발급 내역 수
+     */
+    @Transactional
+    public int saveCouponIssues(final List<CouponIssueRequestDto> requests) {
+        if (requests.isEmpty()) {
+            return 0;
+        }
+        return this.couponIssueJdbcRepository.saveAllIgnoreDuplicated(requests.stream().distinct().toList());
+    }
+
+    /**
+     * 발급 요청과 발급 수량을 하나의 트랜잭션으로 저장한다.
+     *
+     * @param issuedQuantity 저장할 쿠폰의 발급 수량, 현재 값보다 작으면 무시된다.
+     */
+    @Transactional
+    public void saveCouponIssues(final long couponId, final List<CouponIssueRequestDto> requests, final int issuedQuantity) {
+        this.saveCouponIssues(requests);
+        this.couponJpaRepository.updateIssuedQuantity(couponId, issuedQuantity);
     }
 
     private void checkAlreadyIssuance(long couponId, long userId) {
         final CouponIssue couponIssue = couponIssueRepository.findCouponIssue(couponId, userId);
         if (couponIssue != null) {
-            throw new CouponIssueException(ErrorCode.DUPLICATED_COUPON_ISSUE, "쿠폰 중복 발급 couponId : %s, userId : %s".formatted(couponId, userId));
+            throw new CouponIssueException(ErrorCode.DUPLICATED_COUPON_ISSUE, "쿠폰 중복 발급 couponId : %s, userId : %s", couponId, userId);
         }
     }
 }
@@ -0,0 +1,169 @@
+package fc.coupon.core.service;
+
+import fc.coupon.core.component.CouponIssueMetrics;
+import fc.coupon.core.component.CouponIssueMetrics.Stage;
+import fc.coupon.core.configuration.ConditionalOnCouponIssueStrategy;
+import fc.coupon.core.configuration.CouponIssueProperties;
+import fc.coupon.core.exception.CouponIssueException;
+import fc.coupon.core.exception.ErrorCode;
+import fc.coupon.core.model.Coupon;
+import fc.coupon.core.repository.mysql.CouponIssueJpaRepository;
+import fc.coupon.core.repository.redis.dto.CouponIssueRequestDto;
+import fc.coupon.core.repository.redis.dto.CouponRedisEntity;
+import fc.coupon.core.util.ConcurrentLongHashSet;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 메모리 기반 동기 쿠폰 발급 (서버가 하나인 경우)
+ *
+ * - 쿠폰별 발급 수량을 AtomicInteger CAS로, 발급한 사용자를 long 전용 concurrent Set으로 관리해 lock 없이 발급한다.
+ * - 발급 내역은 메모리에 쌓아두고 flushInterval 마다 발급 수량과 함께 한번에 DB에 저장한다. (write-behind)
+ * - 쿠폰 상태는 처음 발급 요청시 DB에서 한번 읽어오므로 서버가 여러대라면 초과 발급된다.
+ */
+@Slf4j
+@Service
+@ConditionalOnCouponIssueStrategy(CouponIssueProperties.Strategy.IN_MEMORY)
+public class InMemoryCouponIssueService {
+    private final CouponIssueService couponIssueService;
+    private final CouponIssueJpaRepository couponIssueJpaRepository;
+    private final CouponIssueProperties.InMemory properties;
+    private final CouponIssueProperties.Dedup dedupProperties;
+    private final CouponIssueMetrics metrics;
+
+    private final ConcurrentHashMap<Long, CouponIssueState> states = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flushExecutor = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("coupon-issue-flush-"));
+
+    public InMemoryCouponIssueService(CouponIssueService couponIssueService,
+                                      CouponIssueJpaRepository couponIssueJpaRepository,
+                                      CouponIssueProperties couponIssueProperties,
+                                      CouponIssueMetrics metrics) {
+        this.couponIssueService = couponIssueService;
+        this.couponIssueJpaRepository = couponIssueJpaRepository;
+        this.properties = couponIssueProperties.getInMemory();
+        this.dedupProperties = couponIssueProperties.getDedup();
+        this.metrics = metrics;
+
+        final long interval = properties.getFlushInterval().toMillis();
+        flushExecutor.scheduleWithFixedDelay(this::flushAll, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public void issue(long couponId, long userId) {
+        metrics.observe(Stage.IN_MEMORY_ISSUE, couponId, () -> this.doIssue(couponId, userId));
+    }
+
+    private void doIssue(long couponId, long userId) {
+        final CouponIssueState state = states.computeIfAbsent(couponId, this::load);
+        state.coupon.checkIssuableCoupon();
+
+        if (!state.issuedUsers.add(userId)) {
+            throw new CouponIssueException(ErrorCode.DUPLICATED_COUPON_ISSUE, "쿠폰 중복 발급 couponId : %s, userId : %s", couponId, userId);
+        }
+
+        if (!state.tryIssue()) {
+            state.issuedUsers.remove(userId);
+            throw new CouponIssueException(ErrorCode.INVALID_COUPON_ISSUE_QUANTITY, "발급 가능한 수량을 초과합니다. total : %s", state.coupon.totalQuantity());
+        }
+
+        state.pending.add(new CouponIssueRequestDto(couponId, userId));
+    }
+
+    /**
+     * 쿠폰 정보와 이미 발급된 사용자를 DB에서 읽어온다.
+     * computeIfAbsent 안에서 호출되므로 같은 쿠폰에 대한 요청은 읽어오는 동안 대기한다.
+     */
+    private CouponIssueState load(long couponId) {
+        final Coupon coupon = couponIssueService.findCoupon(couponId);
+        final CouponRedisEntity couponEntity = new CouponRedisEntity(coupon);
+        final int expectedUsers = couponEntity.totalQuantity() != null ? couponEntity.totalQuantity() : dedupProperties.getInitialCapacity();
+        final CouponIssueState state = new CouponIssueState(couponEntity, coupon.getIssuedQuantity(),
+                new ConcurrentLongHashSet(expectedUsers, dedupProperties.isOffHeap()));
+        for (Long userId : metrics.observe(Stage.DB_READ, couponId, () -> couponIssueJpaRepository.findAllUserIdByCouponId(couponId))) {
+            state.issuedUsers.add(userId);
+        }
+        log.info("쿠폰 발급 상태 로드. couponId : {}, issued : {}", couponId, state.issuedUsers.size());
+        return state;
+    }
+
+    void flushAll() {
+        states.forEach((couponId, state) -> {
+            try {
+                flush(couponId, state);
+            } catch (Exception e) {
+                log.error("쿠폰 발급 내역 저장 실패. couponId : {}", couponId, e);
+            }
+        });
+    }
+
+    private void flush(long couponId, CouponIssueState state) {
+        while (!state.pending.isEmpty()) {
+            final List<CouponIssueRequestDto> requests = new ArrayList<>(Math.min(state.pending.size(), properties.getFlushBatchSize()));
+            CouponIssueRequestDto request;
+            while (requests.size() < properties.getFlushBatchSize() && (request = state.pending.poll()) != null) {
+                requests.add(request);
+            }
+            // 발급 수량은 발급 내역을 추가하기 전에 증가하므로 발급 내역을 꺼낸 뒤에 읽어야 꺼낸 발급 내역 수보다 작지 않다.
+            final int issuedQuantity = state.issuedQuantity.get();
+
+            try {
+                metrics.observe(Stage.DB_WRITE, couponId, () -> couponIssueService.saveCouponIssues(couponId, requests, issuedQuantity));
+            } catch (Exception e) {
+                // 다음 주기에 다시 저장한다.
+                state.pending.addAll(requests);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * 종료 전에 저장하지 못한 발급 내역을 모두 저장한다.
+     */
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        flushExecutor.shutdown();
+        if (!flushExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+            log.warn("쿠폰 발급 내역 저장 작업이 제한 시간내에 종료되지 않았습니다.");
+        }
+        flushAll();
+    }
+
+    private static class CouponIssueState {
+        private final CouponRedisEntity coupon;
+        private final AtomicInteger issuedQuantity;
+        private final ConcurrentLongHashSet issuedUsers;
+        private final ConcurrentLinkedQueue<CouponIssueRequestDto> pending = new ConcurrentLinkedQueue<>();
+
+        CouponIssueState(CouponRedisEntity coupon, int issuedQuantity, ConcurrentLongHashSet issuedUsers) {
+            this.coupon = coupon;
+            this.issuedQuantity = new AtomicInteger(issuedQuantity);
+            this.issuedUsers = issuedUsers;
+        }
+
+        /**
+         * @return 발급 가능한 수량이 남아있어 발급 수량을 증가시켰다면 true
+         */
+        boolean tryIssue() {
+            final Integer totalQuantity = coupon.totalQuantity();
+            while (true) {
+                final int issued = issuedQuantity.get();
+                if (totalQuantity != null && issued >= totalQuantity) {
+                    return false;
+                }
+                if (issuedQuantity.compareAndSet(issued, issued + 1)) {
+                    return true;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package fc.coupon.core.service;
+
+import fc.coupon.core.component.CouponIssueMetrics;
+import fc.coupon.core.component.CouponIssueMetrics.Stage;
+import fc.coupon.core.component.IssueRequestedUserRegistry;
+import fc.coupon.core.component.SoldOutCouponRegistry;
+import fc.coupon.core.exception.CouponIssueException;
+import fc.coupon.core.exception.ErrorCode;
+import fc.coupon.core.repository.redis.CouponIssueQueue;
+import fc.coupon.core.repository.redis.CouponIssueRequestCode;
+import fc.coupon.core.repository.redis.ReactiveRedisRepository;
+import fc.coupon.core.repository.redis.codec.CouponIssueRequestSerializer;
+import fc.coupon.core.repository.redis.dto.CouponRedisEntity;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import static fc.coupon.core.configuration.CacheConfiguration.COUPON_CACHE;
+import static fc.coupon.core.configuration.CacheConfiguration.LOCAL_CACHE_MANAGER;
+import static fc.coupon.core.util.CouponRedisUtils.getCouponSoldOutChannel;
+import static fc.coupon.core.util.CouponRedisUtils.getIssueRequestKey;
+
+/**
+ * Non-blocking 비동기 쿠폰 발급
+ *
+ * AsyncCouponIssueServiceV2와 같은 검증을 수행하지만 레디스 응답을 기다리는 동안 스레드를 점유하지 않는다.
+ * 쿠폰 정책이 로컬 캐시에 없을 때만 (레디스 캐시, MySQL 블로킹 조회) boundedElastic 스레드에서 조회한다.
+ */
+@Service
+public class ReactiveAsyncCouponIssueService {
+    private final ReactiveRedisRepository reactiveRedisRepository;
+    private final CouponIssueQueue couponIssueQueue;
+    private final CouponIssueRequestSerializer couponIssueRequestSerializer;
+    private final CouponCacheService couponCacheService;
+    private final SoldOutCouponRegistry soldOutCouponRegistry;
+    private final IssueRequestedUserRegistry issueRequestedUserRegistry;
+    private final Cache localCouponCache;
+    private final CouponIssueMetrics metrics;
+
+    public ReactiveAsyncCouponIssueService(ReactiveRedisRepository reactiveRedisRepository,
+                                           CouponIssueQueue couponIssueQueue,
+                                           CouponIssueRequestSerializer couponIssueRequestSerializer,
+                                           CouponCacheService couponCacheService,
+                                           SoldOutCouponRegistry soldOutCouponRegistry,
+                                           IssueRequestedUserRegistry issueRequestedUserRegistry,
+                                           @Qualifier(LOCAL_CACHE_MANAGER) CacheManager localCacheManager,
+                                           CouponIssueMetrics metrics) {
+        this.reactiveRedisRepository = reactiveRedisRepository;
+        this.couponIssueQueue = couponIssueQueue;
+        this.couponIssueRequestSerializer = couponIssueRequestSerializer;
+        this.couponCacheService = couponCacheService;
+        this.soldOutCouponRegistry = soldOutCouponRegistry;
+        this.issueRequestedUserRegistry = issueRequestedUserRegistry;
+        this.localCouponCache = localCacheManager.getCache(COUPON_CACHE);
+        this.metrics = metrics;
+    }
+
+    public Mono<Void> issue(long couponId, long userId) {
+        return metrics.observe(Stage.ASYNC_ISSUE_REACTIVE, couponId, Mono.fromRunnable(() -> {
+                    soldOutCouponRegistry.checkSoldOut(couponId);
+                    issueRequestedUserRegistry.checkDuplicated(couponId, userId);
+                })
+                .then(metrics.observe(Stage.COUPON_LOOKUP, couponId, findCoupon(couponId)))
+                .doOnNext(CouponRedisEntity::checkIssuableCoupon)
+                .flatMap(coupon -> issueRequest(couponId, userId, coupon.totalQuantity())));
+    }
+
+    private Mono<CouponRedisEntity> findCoupon(long couponId) {
+        return Mono.defer(() -> {
+            final CouponRedisEntity coupon = localCouponCache.get(couponId, CouponRedisEntity.class);
+            if (coupon != null) {
+                return Mono.just(coupon);
+            }
+            return Mono.fromCallable(() -> couponCacheService.getCouponLocalCache(couponId))
+                    .subscribeOn(Schedulers.boundedElastic());
+        });
+    }
+
+    private Mono<Void> issueRequest(long couponId, long userId, Integer totalIssueQuantity) {
+        final byte[] value;
+        try {
+            value = couponIssueRequestSerializer.serialize(couponId, userId);
+        } catch (IllegalArgumentException e) {
+            return Mono.error(new CouponIssueException(ErrorCode.FAIL_COUPON_ISSUE_REQUEST, "couponId : %s, userId : %s", couponId, userId));
+        }
+
+        final Mono<CouponIssueRequestCode> request = reactiveRedisRepository.issueRequest(getIssueRequestKey(couponId), couponIssueQueue, userId, value, totalIssueQuantity)
+                .onErrorMap(e -> !(e instanceof CouponIssueException),
+                        e -> new CouponIssueException(ErrorCode.FAIL_COUPON_ISSUE_REQUEST, "couponId : %s, userId : %s", couponId, userId));
+        return metrics.observe(Stage.ENQUEUE, couponId, request)
+                .flatMap(code -> {
+                    if (code == CouponIssueRequestCode.INVALID_COUPON_ISSUE_QUANTITY && soldOutCouponRegistry.recordSoldOut(couponId)) {
+                        return reactiveRedisRepository.publish(getCouponSoldOutChannel(), String.valueOf(couponId)).thenReturn(code);
+                    }
+                    return Mono.just(code);
+                })
+                .doOnNext(code -> issueRequestedUserRegistry.record(couponId, userId, code))
+                .doOnNext(CouponIssueRequestCode::checkRequestResult)
+                .then();
+    }
+}
@@ -0,0 +1,170 @@
+package fc.coupon.core.service;
+
+import fc.coupon.core.configuration.CouponIssueProperties;
+import fc.coupon.core.component.CouponIssueMetrics;
+import fc.coupon.core.component.CouponIssueMetrics.Stage;
+import fc.coupon.core.component.IssueRequestedUserRegistry;
+import fc.coupon.core.component.SoldOutCouponRegistry;
+import fc.coupon.core.exception.CouponIssueException;
+import fc.coupon.core.exception.ErrorCode;
+import fc.coupon.core.repository.redis.CouponIssueQueue;
+import fc.coupon.core.repository.redis.CouponIssueRequestCode;
+import fc.coupon.core.repository.redis.RedisRepository;
+import fc.coupon.core.repository.redis.codec.CouponIssueRequestSerializer;
+import fc.coupon.core.repository.redis.dto.CouponRedisEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static fc.coupon.core.util.CouponRedisUtils.getIssueQuotaBucketKey;
+import static fc.coupon.core.util.CouponRedisUtils.getIssueQuotaReceivedKey;
+import static fc.coupon.core.util.CouponRedisUtils.getIssueQuotaTransferKey;
+import static fc.coupon.core.util.CouponRedisUtils.getIssueRequestBucketKey;
+
+/**
+ * 샤딩된 재고 기반 비동기 쿠폰 발급
+ *
+ * V2는 쿠폰 하나의 요청이 모두 issue:request:{couponId} 키 하나에 몰려 레디스 노드 하나가 병목이 된다.
+ * 쿠폰의 발급 수량을 N개의 버킷으로 나누고 버킷마다 할당 수량과 중복 발급 Set을 따로 둔다.
+ *
+ * - 유저는 해시로 항상 같은 버킷에 배정되므로 버킷 Set만으로 중복 발급을 검증할 수 있다.
+ * - 버킷 할당 수량은 레디스에 없을 때 스크립트에서 할당하므로 레디스 데이터가 유실되어도 다시 할당된다.
+ * - 배정된 버킷의 수량이 소진되면 다른 버킷에서 남은 수량의 절반을 가져와 다시 시도한다.
+ *   버킷마다 slot이 달라 하나의 스크립트로 옮길 수 없으므로, 떼어낸 버킷에 이체 기록을 남기고 받는 버킷에서 이체 id 별로 한번만 더한다.
+ *   더하기 전에 서버가 종료되어 남은 이체 기록은 발급 수량 초과로 처리하기 전에 다시 더한다.
+ * - 모든 버킷이 소진되어야 발급 수량 초과로 처리한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class ShardedAsyncCouponIssueService {
+    private final RedisRepository redisRepository;
+    private final CouponIssueQueue couponIssueQueue;
+    private final CouponIssueRequestSerializer couponIssueRequestSerializer;
+    private final CouponCacheService couponCacheService;
+    private final SoldOutCouponRegistry soldOutCouponRegistry;
+    private final IssueRequestedUserRegistry issueRequestedUserRegistry;
+    private final CouponIssueProperties couponIssueProperties;
+    private final CouponIssueMetrics metrics;
+
+    public void issue(long couponId, long userId) {
+        metrics.observe(Stage.ASYNC_ISSUE_SHARDED, couponId, () -> this.doIssue(couponId, userId));
+    }
+
+    private void doIssue(long couponId, long userId) {
+        soldOutCouponRegistry.checkSoldOut(couponId);
+        issueRequestedUserRegistry.checkDuplicated(couponId, userId);
+
+        final CouponRedisEntity coupon = metrics.observe(Stage.COUPON_LOOKUP, couponId, () -> couponCacheService.getCouponLocalCache(couponId));
+        coupon.checkIssuableCoupon();
+
+        final int bucketCount = bucketCount();
+        final int bucket = bucketOf(userId, bucketCount);
+        final CouponIssueRequestCode code = metrics.observe(Stage.REDIS_CHECK, couponId, () -> issueRequestToBucket(couponId, userId, coupon.totalQuantity(), bucket, bucketCount));
+        if (code == CouponIssueRequestCode.INVALID_COUPON_ISSUE_QUANTITY) {
+            soldOutCouponRegistry.markSoldOut(couponId);
+        }
+        if (code != CouponIssueRequestCode.SUCCESS) {
+            issueRequestedUserRegistry.record(couponId, userId, code);
+            CouponIssueRequestCode.checkRequestResult(code);
+        }
+
+        // 적재에 실패하면 버킷에서 요청을 되돌리므로 적재에 성공한 뒤에 이 서버에 기록한다.
+        metrics.observe(Stage.ENQUEUE, couponId, () -> this.enqueue(couponId, userId, bucket));
+        issueRequestedUserRegistry.record(couponId, userId);
+    }
+
+    public int bucketOf(long userId, int bucketCount) {
+        // 연속된 userId도 고르게 분산되도록 섞어서 사용한다.
+        return Math.floorMod(Long.hashCode(userId * 0x9E3779B97F4A7C15L), bucketCount);
+    }
+
+    private CouponIssueRequestCode issueRequestToBucket(long couponId, long userId, Integer totalQuantity, int bucket, int bucketCount) {
+        CouponIssueRequestCode code = issueRequestToBucketWithTransfer(couponId, userId, totalQuantity, bucket, bucketCount);
+        if (code == CouponIssueRequestCode.INVALID_COUPON_ISSUE_QUANTITY && recoverTransfers(couponId, totalQuantity, bucketCount)) {
+            code = issueRequestToBucketWithTransfer(couponId, userId, totalQuantity, bucket, bucketCount);
+        }
+        return code;
+    }
+
+    private CouponIssueRequestCode issueRequestToBucketWithTransfer(long couponId, long userId, Integer totalQuantity, int bucket, int bucketCount) {
+        final String setKey = getIssueRequestBucketKey(couponId, bucket);
+        final String quotaKey = getIssueQuotaBucketKey(couponId, bucket);
+        final long quota = initialQuota(totalQuantity, bucketCount, bucket);
+
+        CouponIssueRequestCode code = redisRepository.issueRequestToBucket(setKey, quotaKey, userId, quota);
+        for (int i = 1; i < bucketCount && code == CouponIssueRequestCode.INVALID_COUPON_ISSUE_QUANTITY; i++) {
+            final int donor = (bucket + i) % bucketCount;
+            final String transferId = UUID.randomUUID().toString();
+            final long amount = redisRepository.withdrawBucketQuota(
+                    getIssueRequestBucketKey(couponId, donor),
+                    getIssueQuotaBucketKey(couponId, donor),
+                    getIssueQuotaTransferKey(couponId, donor),
+                    initialQuota(totalQuantity, bucketCount, donor),
+                    transferId,
+                    bucket);
+            if (amount == 0) {
+                continue;
+            }
+            deposit(couponId, totalQuantity, bucketCount, donor, transferId, bucket, amount);
+            code = redisRepository.issueRequestToBucket(setKey, quotaKey, userId, quota);
+        }
+        return code;
+    }
+
+    /**
+     * 떼어냈지만 받는 버킷에 더하지 못한 이체 기록을 다시 더한다.
+     *
+     * @return 다시 더한 이체가 있다면 true
+     */
+    private boolean recoverTransfers(long couponId, Integer totalQuantity, int bucketCount) {
+        boolean recovered = false;
+        for (int donor = 0; donor < bucketCount; donor++) {
+            final Map<String, String> transfers = redisRepository.hGetAll(getIssueQuotaTransferKey(couponId, donor));
+            for (Map.Entry<String, String> transfer : transfers.entrySet()) {
+                final String[] targetAndAmount = transfer.getValue().split(":");
+                final int target = Integer.parseInt(targetAndAmount[0]);
+                final long amount = Long.parseLong(targetAndAmount[1]);
+                recovered |= deposit(couponId, totalQuantity, bucketCount, donor, transfer.getKey(), target, amount);
+            }
+        }
+        return recovered;
+    }
+
+    private boolean deposit(long couponId, Integer totalQuantity, int bucketCount, int donor, String transferId, int target, long amount) {
+        final boolean deposited = redisRepository.depositBucketQuota(
+                getIssueQuotaBucketKey(couponId, target),
+                getIssueQuotaReceivedKey(couponId, target),
+                initialQuota(totalQuantity, bucketCount, target),
+                transferId,
+                amount);
+        // 더한 뒤에 이체 기록을 지우므로 그 사이에 종료되어도 받은 이체 id로 다시 더해지지 않는다.
+        redisRepository.hDel(getIssueQuotaTransferKey(couponId, donor), transferId);
+        return deposited;
+    }
+
+    /**
+     * 발급 수량을 버킷에 나누어 할당한다.
+     */
+    private long initialQuota(Integer totalQuantity, int bucketCount, int bucket) {
+        if (totalQuantity == null) {
+            return Integer.MAX_VALUE;
+        }
+        return totalQuantity / bucketCount + (bucket < totalQuantity % bucketCount ? 1 : 0);
+    }
+
+    private void enqueue(long couponId, long userId, int bucket) {
+        try {
+            couponIssueQueue.enqueue(couponIssueRequestSerializer.serialize(couponId, userId));
+        } catch (Exception e) {
+            // 적재에 실패하면 버킷에 추가한 요청을 되돌려 수량이 소진되지 않도록 한다.
+            redisRepository.sRem(getIssueRequestBucketKey(couponId, bucket), String.valueOf(userId));
+            throw new CouponIssueException(ErrorCode.FAIL_COUPON_ISSUE_REQUEST, "couponId : %s, userId : %s", couponId, userId);
+        }
+    }
+
+    private int bucketCount() {
+        return couponIssueProperties.getShardedInventory().getBucketCount();
+    }
+}
@@ -0,0 +1,108 @@
+package fc.coupon.core.service;
+
+import fc.coupon.core.component.CouponIssueMetrics;
+import fc.coupon.core.component.CouponIssueMetrics.Stage;
+import fc.coupon.core.component.IssueRequestedUserRegistry;
+import fc.coupon.core.component.SoldOutCouponRegistry;
+import fc.coupon.core.configuration.CouponIssueProperties;
+import fc.coupon.core.exception.CouponIssueException;
+import fc.coupon.core.exception.ErrorCode;
+import fc.coupon.core.repository.redis.CouponIssueQueue;
+import fc.coupon.core.repository.redis.CouponIssueRequestCode;
+import fc.coupon.core.repository.redis.RedisRepository;
+import fc.coupon.core.repository.redis.codec.CouponIssueRequestSerializer;
+import fc.coupon.core.repository.redis.dto.CouponRedisEntity;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import static fc.coupon.core.util.CouponRedisUtils.getIssueRequestKey;
+import static fc.coupon.core.util.CouponRedisUtils.getIssueTokenPoolKey;
+
+/**
+ * 발급 토큰 기반 비동기 쿠폰 발급
+ *
+ * 발급 시작 전에 발급 수량만큼 토큰(issue:token:{couponId})을 생성해두고
+ * 발급시에는 중복 검증 후 토큰을 하나 꺼내는(LPOP) 것으로 수량 검증을 대신한다.
+ * 토큰이 없으면 발급할 수 없으므로 Set 크기를 확인하지 않아도 초과 발급되지 않는다.
+ *
+ * 토큰이 없을 때는 부족한 토큰을 채운 뒤 한번 더 요청한다.
+ * 미리 생성되지 않았거나 생성 중이거나 레디스에서 토큰이 유실되었다면 이때 다시 채워지고, 모두 사용했다면 매진이다.
+ *
+ * 발급 수량이 정해지지 않은 쿠폰은 토큰을 만들 수 없으므로 수량 검증 없이 발급 요청한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TokenPoolAsyncCouponIssueService {
+    private final RedisRepository redisRepository;
+    private final CouponIssueQueue couponIssueQueue;
+    private final CouponIssueRequestSerializer couponIssueRequestSerializer;
+    private final CouponCacheService couponCacheService;
+    private final SoldOutCouponRegistry soldOutCouponRegistry;
+    private final IssueRequestedUserRegistry issueRequestedUserRegistry;
+    private final CouponIssueProperties couponIssueProperties;
+    private final CouponIssueMetrics metrics;
+
+    public void issue(long couponId, long userId) {
+        metrics.observe(Stage.ASYNC_ISSUE_TOKEN, couponId, () -> this.doIssue(couponId, userId));
+    }
+
+    private void doIssue(long couponId, long userId) {
+        soldOutCouponRegistry.checkSoldOut(couponId);
+        issueRequestedUserRegistry.checkDuplicated(couponId, userId);
+
+        final CouponRedisEntity coupon = metrics.observe(Stage.COUPON_LOOKUP, couponId, () -> couponCacheService.getCouponLocalCache(couponId));
+        coupon.checkIssuableCoupon();
+
+        final CouponIssueRequestCode code = metrics.observe(Stage.ENQUEUE, couponId, () -> this.issueRequest(couponId, userId, coupon.totalQuantity()));
+        if (code == CouponIssueRequestCode.INVALID_COUPON_ISSUE_QUANTITY) {
+            soldOutCouponRegistry.markSoldOut(couponId);
+        }
+        issueRequestedUserRegistry.record(couponId, userId, code);
+        CouponIssueRequestCode.checkRequestResult(code);
+    }
+
+    private CouponIssueRequestCode issueRequest(long couponId, long userId, Integer totalQuantity) {
+        try {
+            final byte[] value = couponIssueRequestSerializer.serialize(couponId, userId);
+            if (totalQuantity == null) {
+                return redisRepository.issueRequest(getIssueRequestKey(couponId), couponIssueQueue, userId, value, null);
+            }
+            return this.issueRequestWithToken(couponId, totalQuantity, userId, value);
+        } catch (Exception e) {
+            log.error("쿠폰 발급 요청 실패. couponId : {}, userId : {}", couponId, userId, e);
+            throw new CouponIssueException(ErrorCode.FAIL_COUPON_ISSUE_REQUEST, "couponId : %s, userId : %s", couponId, userId);
+        }
+    }
+
+    private CouponIssueRequestCode issueRequestWithToken(long couponId, int totalQuantity, long userId, byte[] value) {
+        final CouponIssueRequestCode code = redisRepository.issueRequestWithToken(getIssueRequestKey(couponId), getIssueTokenPoolKey(couponId), couponIssueQueue, userId, value);
+        if (code != CouponIssueRequestCode.INVALID_COUPON_ISSUE_QUANTITY) {
+            return code;
+        }
+        // 다른 서버가 채우는 중이라 이번 호출에서 채운 토큰이 없을 수 있으므로 채운 수와 관계없이 다시 요청한다.
+        this.warm(couponId, totalQuantity);
+        return redisRepository.issueRequestWithToken(getIssueRequestKey(couponId), getIssueTokenPoolKey(couponId), couponIssueQueue, userId, value);
+    }
+
+    /**
+     * 발급 수량 중 부족한 토큰을 fillBatchSize 개씩 나눠서 생성한다. 모두 채워져 있다면 아무것도 생성하지 않는다.
+     *
+     * @return 생성한 토큰 수
+     */
+    public long warm(long couponId, int totalQuantity) {
+        final int batchSize = couponIssueProperties.getTokenPool().getFillBatchSize();
+        long total = 0;
+        long count;
+        do {
+            count = redisRepository.fillTokenPool(getIssueTokenPoolKey(couponId), getIssueRequestKey(couponId), totalQuantity, batchSize);
+            total += count;
+        } while (count > 0 && count == batchSize);
+
+        if (total > 0) {
+            log.info("쿠폰 발급 토큰 생성. couponId : {}, count : {}", couponId, total);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,133 @@
+package fc.coupon.core.service;
+
+import fc.coupon.core.component.SoldOutCouponRegistry;
+import fc.coupon.core.configuration.CouponIssueProperties;
+import fc.coupon.core.exception.CouponIssueException;
+import fc.coupon.core.exception.ErrorCode;
+import fc.coupon.core.repository.redis.RedisRepository;
+import fc.coupon.core.repository.redis.dto.CouponRedisEntity;
+import fc.coupon.core.repository.redis.dto.WaitingRoomStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static fc.coupon.core.util.CouponRedisUtils.getWaitingRoomCouponsKey;
+import static fc.coupon.core.util.CouponRedisUtils.getWaitingRoomProcessingKey;
+import static fc.coupon.core.util.CouponRedisUtils.getWaitingRoomQueueKey;
+import static fc.coupon.core.util.CouponRedisUtils.getWaitingRoomResultKey;
+
+/**
+ * 대기열 기반 쿠폰 발급
+ *
+ * 발급 시작 시점에 몰린 요청을 바로 발급하지 않고 도착 순서대로 Sorted Set 대기열에 등록한다.
+ * WaitingRoomAdmissionScheduler 가 발급이 시작된 쿠폰의 대기자를 주기마다 batchSize 명씩 꺼내 발급(V2)하므로
+ * 요청이 아무리 몰려도 발급 서버에 전달되는 요청 수는 일정하다.
+ * 사용자는 ZRANK, HGET 한번의 왕복으로 처리되는 순번 조회로 대기 순번과 발급 결과를 확인한다.
+ *
+ * 입장시킨 서버가 결과를 기록하기 전에 종료되면 processingTimeout 이 지난 뒤 다른 서버가 대기열 맨 앞으로 되돌려 다시 입장시킨다.
+ * 대기열은 선택 사항이며 발급 요청(/v1/issue*, /v2/issue*)은 대기열을 거치지 않는다.
+ * 대기열로만 발급하려면 해당 쿠폰의 발급 요청을 대기열로 안내해야 한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WaitingRoomService {
+    private static final String ADMITTED_METRIC = "coupon.waiting.admitted";
+
+    private final RedisRepository redisRepository;
+    private final CouponCacheService couponCacheService;
+    private final SoldOutCouponRegistry soldOutCouponRegistry;
+    private final AsyncCouponIssueServiceV2 asyncCouponIssueServiceV2;
+    private final CouponIssueProperties couponIssueProperties;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 대기열에 등록한다. 이미 등록했거나 입장했다면 현재 상태를 반환한다.
+     */
+    public WaitingRoomStatus enter(long couponId, long userId) {
+        soldOutCouponRegistry.checkSoldOut(couponId);
+        final CouponRedisEntity coupon = couponCacheService.getCouponLocalCache(couponId);
+        if (!coupon.dateIssueEnd().isAfter(LocalDateTime.now())) {
+            throw new CouponIssueException(ErrorCode.INVALID_COUPON_ISSUE_DATE, "발급이 종료되었습니다. couponId : %s, issueEnd: %s", couponId, coupon.dateIssueEnd());
+        }
+
+        final WaitingRoomStatus status = getStatus(couponId, userId);
+        if (status.state() != WaitingRoomStatus.State.NOT_FOUND) {
+            return status;
+        }
+
+        final Long rank = redisRepository.sAddAndZAddAndRank(getWaitingRoomCouponsKey(), String.valueOf(couponId),
+                getWaitingRoomQueueKey(couponId), String.valueOf(userId), System.currentTimeMillis());
+        return new WaitingRoomStatus(rank == null ? null : rank + 1, null);
+    }
+
+    public WaitingRoomStatus getStatus(long couponId, long userId) {
+        return redisRepository.zRankAndHGet(getWaitingRoomQueueKey(couponId), getWaitingRoomResultKey(couponId), String.valueOf(userId));
+    }
+
+    public Set<Long> getWaitingCouponIds() {
+        final Set<String> couponIds = redisRepository.sMembers(getWaitingRoomCouponsKey());
+        if (couponIds == null) {
+            return Set.of();
+        }
+        return couponIds.stream().map(Long::parseLong).collect(Collectors.toSet());
+    }
+
+    /**
+     * 발급이 시작된 쿠폰이면 대기 순서대로 batchSize 명을 꺼내 발급하고 결과를 기록한다.
+     * 발급이 종료되어 대기자가 없으면 대기열 쿠폰 목록에서 제거한다.
+     *
+     * @return 입장시킨 사용자 수
+     */
+    public int admit(long couponId) {
+        final CouponIssueProperties.WaitingRoom properties = couponIssueProperties.getWaitingRoom();
+        final CouponRedisEntity coupon = couponCacheService.getCouponLocalCache(couponId);
+        final LocalDateTime now = LocalDateTime.now();
+        if (coupon.dateIssueStart().isAfter(now)) {
+            return 0;
+        }
+
+        final List<String> users = redisRepository.admitWaitingRoom(getWaitingRoomQueueKey(couponId), getWaitingRoomResultKey(couponId),
+                getWaitingRoomProcessingKey(couponId), properties.getBatchSize(), properties.getResultTtl(), properties.getProcessingTimeout(),
+                WaitingRoomStatus.PROCESSING);
+        if (users.isEmpty()) {
+            if (!coupon.dateIssueEnd().isAfter(now)) {
+                redisRepository.sRem(getWaitingRoomCouponsKey(), String.valueOf(couponId));
+            }
+            return 0;
+        }
+
+        final Map<String, String> results = new LinkedHashMap<>();
+        for (String user : users) {
+            final String result = issue(couponId, Long.parseLong(user));
+            results.put(user, result);
+            meterRegistry.counter(ADMITTED_METRIC, "result", result).increment();
+        }
+        redisRepository.completeWaitingRoom(getWaitingRoomResultKey(couponId), getWaitingRoomProcessingKey(couponId), results, properties.getResultTtl());
+        return users.size();
+    }
+
+    private String issue(long couponId, long userId) {
+        try {
+            asyncCouponIssueServiceV2.issue(couponId, userId);
+            return WaitingRoomStatus.SUCCESS;
+        } catch (CouponIssueException e) {
+            // 대기열로 되돌려져 다시 입장한 사용자는 이전 입장에서 이미 발급 요청이 처리되었을 수 있다.
+            if (e.getErrorCode() == ErrorCode.DUPLICATED_COUPON_ISSUE) {
+                return WaitingRoomStatus.SUCCESS;
+            }
+            return e.getErrorCode().name();
+        } catch (RuntimeException e) {
+            log.error("대기열 발급 실패. couponId : {}, userId : {}", couponId, userId, e);
+            return ErrorCode.FAIL_COUPON_ISSUE_REQUEST.name();
+        }
+    }
+}
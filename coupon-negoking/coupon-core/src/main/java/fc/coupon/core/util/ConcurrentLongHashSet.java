@@ -0,0 +1,300 @@
+package fc.coupon.core.util;
+
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * long 전용 open addressing(linear probing) Set
+ *
+ * - Set&lt;Long&gt;은 박싱된 Long과 해시 노드 때문에 원소당 40 byte 이상을 사용하지만
+ *   long 배열에 그대로 저장하므로 원소당 약 8 / loadFactor byte만 사용한다. (1천만건 약 130MB)
+ * - 세그먼트 단위로 lock을 나누어 여러 스레드에서 동시에 사용할 수 있다.
+ * - offHeap 이면 Direct ByteBuffer에 저장해 GC 대상 힙 크기를 늘리지 않는다.
+ *   Direct 메모리는 Set이 GC 될 때 함께 해제되므로 -XX:MaxDirectMemorySize를 충분히 설정한다.
+ */
+public class ConcurrentLongHashSet {
+    private static final int SEGMENT_BITS = 6;
+    private static final int SEGMENT_COUNT = 1 << SEGMENT_BITS;
+    private static final float LOAD_FACTOR = 0.6f;
+    private static final int MIN_SEGMENT_CAPACITY = 16;
+
+    private final Segment[] segments = new Segment[SEGMENT_COUNT];
+
+    public ConcurrentLongHashSet(int expectedSize, boolean offHeap) {
+        final int segmentCapacity = tableSizeFor((int) Math.ceil(expectedSize / (double) SEGMENT_COUNT / LOAD_FACTOR));
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment(segmentCapacity, offHeap);
+        }
+    }
+
+    /**
+     * @return 새로 추가되었다면 true, 이미 존재한다면 false
+     */
+    public boolean add(long value) {
+        final long hash = hash(value);
+        return segmentFor(hash).add(value, hash);
+    }
+
+    public boolean contains(long value) {
+        final long hash = hash(value);
+        return segmentFor(hash).contains(value, hash);
+    }
+
+    /**
+     * @return 존재해서 제거했다면 true
+     */
+    public boolean remove(long value) {
+        final long hash = hash(value);
+        return segmentFor(hash).remove(value, hash);
+    }
+
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * 원소를 저장하는 테이블이 사용하는 메모리 (byte)
+     */
+    public long memoryUsage() {
+        long bytes = 0;
+        for (Segment segment : segments) {
+            bytes += segment.memoryUsage();
+        }
+        return bytes;
+    }
+
+    private Segment segmentFor(long hash) {
+        return segments[(int) (hash >>> (Long.SIZE - SEGMENT_BITS))];
+    }
+
+    private static long hash(long value) {
+        long h = value * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 32);
+    }
+
+    private static int tableSizeFor(int capacity) {
+        final int size = Integer.highestOneBit(Math.max(capacity, MIN_SEGMENT_CAPACITY) - 1) << 1;
+        return Math.max(size, MIN_SEGMENT_CAPACITY);
+    }
+
+    /**
+     * 0은 빈 슬롯을 의미하므로 0은 테이블 밖에서 따로 관리한다.
+     * 가상 스레드가 고정(pinning)되지 않도록 synchronized 대신 ReentrantLock을 사용한다.
+     */
+    private static final class Segment {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final boolean offHeap;
+        private LongTable table;
+        private int size;
+        private boolean containsZero;
+
+        Segment(int capacity, boolean offHeap) {
+            this.offHeap = offHeap;
+            this.table = LongTable.allocate(capacity, offHeap);
+        }
+
+        boolean add(long value, long hash) {
+            lock.lock();
+            try {
+                if (value == 0) {
+                    final boolean added = !containsZero;
+                    containsZero = true;
+                    return added;
+                }
+                if (size + 1 > table.capacity() * LOAD_FACTOR) {
+                    resize();
+                }
+                final int mask = table.capacity() - 1;
+                int index = (int) hash & mask;
+                while (true) {
+                    final long current = table.get(index);
+                    if (current == 0) {
+                        table.set(index, value);
+                        size++;
+                        return true;
+                    }
+                    if (current == value) {
+                        return false;
+                    }
+                    index = (index + 1) & mask;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        boolean contains(long value, long hash) {
+            lock.lock();
+            try {
+                if (value == 0) {
+                    return containsZero;
+                }
+                return indexOf(value, hash) >= 0;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        boolean remove(long value, long hash) {
+            lock.lock();
+            try {
+                if (value == 0) {
+                    final boolean removed = containsZero;
+                    containsZero = false;
+                    return removed;
+                }
+                int hole = indexOf(value, hash);
+                if (hole < 0) {
+                    return false;
+                }
+
+                // 이후 슬롯의 원소들을 당겨와서 탐색 중에 빈 슬롯을 만나 원소를 찾지 못하는 경우를 막는다. (backward shift)
+                final int mask = table.capacity() - 1;
+                int index = hole;
+                while (true) {
+                    index = (index + 1) & mask;
+                    final long current = table.get(index);
+                    if (current == 0) {
+                        break;
+                    }
+                    final int home = (int) hash(current) & mask;
+                    if (!isCyclicallyBetween(hole, home, index)) {
+                        table.set(hole, current);
+                        hole = index;
+                    }
+                }
+                table.set(hole, 0);
+                size--;
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        long size() {
+            lock.lock();
+            try {
+                return size + (containsZero ? 1 : 0);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        long memoryUsage() {
+            lock.lock();
+            try {
+                return (long) table.capacity() * Long.BYTES;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private int indexOf(long value, long hash) {
+            final int mask = table.capacity() - 1;
+            int index = (int) hash & mask;
+            for (int probe = 0; probe <= mask; probe++) {
+                final long current = table.get(index);
+                if (current == value) {
+                    return index;
+                }
+                if (current == 0) {
+                    return -1;
+                }
+                index = (index + 1) & mask;
+            }
+            return -1;
+        }
+
+        private void resize() {
+            final LongTable oldTable = table;
+            final LongTable newTable = LongTable.allocate(oldTable.capacity() << 1, offHeap);
+            final int mask = newTable.capacity() - 1;
+            for (int i = 0; i < oldTable.capacity(); i++) {
+                final long value = oldTable.get(i);
+                if (value == 0) {
+                    continue;
+                }
+                int index = (int) hash(value) & mask;
+                while (newTable.get(index) != 0) {
+                    index = (index + 1) & mask;
+                }
+                newTable.set(index, value);
+            }
+            table = newTable;
+        }
+
+        /**
+         * home이 (from, to] 구간에 있는지 (테이블 끝에서 처음으로 이어지는 구간 포함)
+         */
+        private static boolean isCyclicallyBetween(int from, int home, int to) {
+            if (from <= to) {
+                return from < home && home <= to;
+            }
+            return from < home || home <= to;
+        }
+    }
+
+    private interface LongTable {
+        long get(int index);
+
+        void set(int index, long value);
+
+        int capacity();
+
+        static LongTable allocate(int capacity, boolean offHeap) {
+            return offHeap ? new DirectLongTable(capacity) : new HeapLongTable(capacity);
+        }
+    }
+
+    private static final class HeapLongTable implements LongTable {
+        private final long[] values;
+
+        HeapLongTable(int capacity) {
+            this.values = new long[capacity];
+        }
+
+        @Override
+        public long get(int index) {
+            return values[index];
+        }
+
+        @Override
+        public void set(int index, long value) {
+            values[index] = value;
+        }
+
+        @Override
+        public int capacity() {
+            return values.length;
+        }
+    }
+
+    private static final class DirectLongTable implements LongTable {
+        private final LongBuffer values;
+
+        DirectLongTable(int capacity) {
+            // allocateDirect 는 0으로 초기화된다.
+            this.values = ByteBuffer.allocateDirect(capacity * Long.BYTES).asLongBuffer();
+        }
+
+        @Override
+        public long get(int index) {
+            return values.get(index);
+        }
+
+        @Override
+        public void set(int index, long value) {
+            values.put(index, value);
+        }
+
+        @Override
+        public int capacity() {
+            return values.capacity();
+        }
+    }
+}
@@ -5,7 +5,122 @@ public class CouponRedisUtils {
         return "issue:request:%s".formatted(couponId);
     }
 
+    /**
+     * 발급 요청 Set에 추가된 사용자의 Bloom filter 비트맵
+     * 크기가 다르면 비트 위치가 달라지므로 크기별로 다른 키를 사용한다.
+     */
+    public static String getIssueRequestBloomKey(long couponId, long bitSize) {
+        return "issue:bloom:%s:%s".formatted(couponId, bitSize);
+    }
+
+    /**
+     * 버킷마다 hash tag가 달라 클러스터에서 여러 노드로 분산되고,
+     * 같은 버킷의 Set과 할당 수량은 같은 slot에 위치한다.
+     */
+    public static String getIssueRequestBucketKey(long couponId, int bucket) {
+        return "issue:request:{%s-%s}".formatted(couponId, bucket);
+    }
+
+    public static String getIssueQuotaBucketKey(long couponId, int bucket) {
+        return "issue:quota:{%s-%s}".formatted(couponId, bucket);
+    }
+
+    /**
+     * 버킷에서 떼어내 다른 버킷에 아직 더하지 못한 수량 (이체 id -> 받는 버킷:수량)
+     */
+    public static String getIssueQuotaTransferKey(long couponId, int bucket) {
+        return "issue:transfer:{%s-%s}".formatted(couponId, bucket);
+    }
+
+    /**
+     * 버킷이 받은 이체 id
+     */
+    public static String getIssueQuotaReceivedKey(long couponId, int bucket) {
+        return "issue:transfer:received:{%s-%s}".formatted(couponId, bucket);
+    }
+
+    public static String getIssueTokenPoolKey(long couponId) {
+        return "issue:token:%s".formatted(couponId);
+    }
+
+    /**
+     * 대기열과 입장 결과는 하나의 스크립트에서 함께 변경하므로 같은 slot에 위치하도록 hash tag를 사용한다.
+     */
+    public static String getWaitingRoomQueueKey(long couponId) {
+        return "waiting:{%s}:queue".formatted(couponId);
+    }
+
+    public static String getWaitingRoomResultKey(long couponId) {
+        return "waiting:{%s}:result".formatted(couponId);
+    }
+
+    /**
+     * 입장 후 발급 결과를 기록하기 전인 사용자 (score : 입장 시각)
+     */
+    public static String getWaitingRoomProcessingKey(long couponId) {
+        return "waiting:{%s}:processing".formatted(couponId);
+    }
+
+    /**
+     * 대기열이 있는 쿠폰 목록
+     */
+    public static String getWaitingRoomCouponsKey() {
+        return "waiting:coupons";
+    }
+
+    /**
+     * 주기마다 하나의 서버만 입장시키도록 사용하는 키
+     */
+    public static String getWaitingRoomAdmissionKey(long couponId) {
+        return "waiting:{%s}:admission".formatted(couponId);
+    }
+
+    /**
+     * 사용자 버킷과 쿠폰 버킷은 하나의 스크립트에서 함께 검사하므로 같은 slot에 위치하도록 hash tag를 사용한다.
+     */
+    public static String getRateLimitUserKey(long couponId, long userId) {
+        return "rate:{%s}:user:%s".formatted(couponId, userId);
+    }
+
+    public static String getRateLimitCouponKey(long couponId) {
+        return "rate:{%s}:coupon".formatted(couponId);
+    }
+
     public static String getIssueRequestQueue() {
         return "issue:request:queue";
     }
+
+    /**
+     * consumer가 꺼내서 처리중인 발급 요청 (List Queue)
+     */
+    public static String getIssueRequestProcessingQueue(String consumer) {
+        return "issue:request:queue:processing:%s".formatted(consumer);
+    }
+
+    /**
+     * List Queue consumer별 마지막 조회 시간
+     */
+    public static String getIssueRequestQueueConsumers() {
+        return "issue:request:queue:consumers";
+    }
+
+    public static String getIssueRequestDeadLetterQueue() {
+        return "issue:request:queue:dead-letter";
+    }
+
+    public static String getIssueRequestStream() {
+        return "issue:request:stream";
+    }
+
+    public static String getIssueRequestDeadLetterStream() {
+        return "issue:request:stream:dead-letter";
+    }
+
+    public static String getCouponCacheEvictChannel() {
+        return "coupon:cache:evict";
+    }
+
+    public static String getCouponSoldOutChannel() {
+        return "coupon:sold-out";
+    }
 }
@@ -0,0 +1,85 @@
+package fc.coupon.core.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 쿠폰별 사용자 중복 검사
+ * 쿠폰마다 ConcurrentLongHashSet을 하나씩 사용해 userId를 박싱 없이 저장한다.
+ * 쿠폰별로 마지막으로 사용한 시간을 기록해 오래 사용하지 않은 쿠폰(종료된 쿠폰)의 목록을 제거할 수 있다.
+ */
+public class CouponUserDedup {
+    private final ConcurrentHashMap<Long, CouponUsers> users = new ConcurrentHashMap<>();
+    private final int initialCapacity;
+    private final boolean offHeap;
+
+    public CouponUserDedup(int initialCapacity, boolean offHeap) {
+        this.initialCapacity = initialCapacity;
+        this.offHeap = offHeap;
+    }
+
+    /**
+     * @return 처음 추가된 사용자라면 true
+     */
+    public boolean add(long couponId, long userId) {
+        return users.computeIfAbsent(couponId, id -> new CouponUsers(new ConcurrentLongHashSet(initialCapacity, offHeap)))
+                .access()
+                .add(userId);
+    }
+
+    public boolean contains(long couponId, long userId) {
+        final CouponUsers couponUsers = users.get(couponId);
+        return couponUsers != null && couponUsers.access().contains(userId);
+    }
+
+    public boolean remove(long couponId, long userId) {
+        final CouponUsers couponUsers = users.get(couponId);
+        return couponUsers != null && couponUsers.set.remove(userId);
+    }
+
+    public long size(long couponId) {
+        final CouponUsers couponUsers = users.get(couponId);
+        return couponUsers == null ? 0 : couponUsers.set.size();
+    }
+
+    /**
+     * 쿠폰의 사용자를 모두 제거해 메모리를 반환한다.
+     */
+    public void clear(long couponId) {
+        users.remove(couponId);
+    }
+
+    public void clear() {
+        users.clear();
+    }
+
+    /**
+     * accessedBefore 이후로 추가, 조회하지 않은 쿠폰의 사용자를 모두 제거한다.
+     *
+     * @return 제거한 쿠폰 수
+     */
+    public int evictAccessedBefore(long accessedBefore) {
+        int evicted = 0;
+        for (Map.Entry<Long, CouponUsers> entry : users.entrySet()) {
+            if (entry.getValue().lastAccessedAt < accessedBefore && users.remove(entry.getKey(), entry.getValue())) {
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    private static class CouponUsers {
+        private final ConcurrentLongHashSet set;
+        private volatile long lastAccessedAt;
+
+        private CouponUsers(ConcurrentLongHashSet set) {
+            this.set = set;
+            this.lastAccessedAt = System.currentTimeMillis();
+        }
+
+        private ConcurrentLongHashSet access() {
+            lastAccessedAt = System.currentTimeMillis();
+            return set;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package fc.coupon.core.util;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 서버 메모리 토큰 버킷
+ *
+ * 마지막 요청 이후 지난 시간만큼 토큰을 채우고 토큰이 남아있으면 하나를 소비한다.
+ * 버킷 크기와 충전량은 호출할 때 전달하므로 설정이 바뀌면 다음 요청부터 반영된다.
+ * 가상 스레드가 고정(pinning)되지 않도록 synchronized 대신 ReentrantLock을 사용한다.
+ */
+public class LocalTokenBucket {
+    private final ReentrantLock lock = new ReentrantLock();
+    private double tokens;
+    private long lastRefillNanos;
+
+    public LocalTokenBucket(int capacity, long nowNanos) {
+        this.tokens = capacity;
+        this.lastRefillNanos = nowNanos;
+    }
+
+    /**
+     * @return 토큰을 소비했다면 true, 남은 토큰이 없으면 false
+     */
+    public boolean tryAcquire(int capacity, double refillPerSecond, long nowNanos) {
+        lock.lock();
+        try {
+            final long elapsed = Math.max(0, nowNanos - lastRefillNanos);
+            tokens = Math.min(capacity, tokens + elapsed * refillPerSecond / 1_000_000_000d);
+            lastRefillNanos = nowNanos;
+            if (tokens < 1) {
+                return false;
+            }
+            tokens--;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 소비한 토큰을 하나 돌려준다. 다음 단계에서 거절되어 처리되지 않은 요청에 사용한다.
+     */
+    public void release(int capacity) {
+        lock.lock();
+        try {
+            tokens = Math.min(capacity, tokens + 1);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package fc.coupon.core.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * long 전용 Bloom filter
+ *
+ * - 포함되지 않는다고 판단하면 반드시 포함되지 않고, 포함된다고 판단하면 fpp 확률로 틀릴 수 있다.
+ * - 비트 위치는 레디스 비트맵(SETBIT, GET)과 같은 순서를 사용하므로 레디스에 같은 비트를 기록하고 그대로 읽어올 수 있다.
+ * - CAS로 비트를 설정하므로 lock 없이 여러 스레드에서 사용할 수 있다.
+ */
+public class LongBloomFilter {
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray bits;
+    private final long bitSize;
+    private final int hashCount;
+    private final AtomicLong bitCount = new AtomicLong();
+
+    public LongBloomFilter(long expectedInsertions, double fpp) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("expectedInsertions must be positive : " + expectedInsertions);
+        }
+        if (fpp <= 0 || fpp >= 1) {
+            throw new IllegalArgumentException("fpp must be between 0 and 1 : " + fpp);
+        }
+        // 레디스 비트맵과 바이트 단위로 맞추기 위해 64의 배수로 올린다.
+        final long optimalBitSize = (long) Math.ceil(-expectedInsertions * Math.log(fpp) / (LN2 * LN2));
+        this.bitSize = Math.max(64, (optimalBitSize + 63) / 64 * 64);
+        this.hashCount = Math.max(1, (int) Math.round((double) bitSize / expectedInsertions * LN2));
+        this.bits = new AtomicLongArray(Math.toIntExact(bitSize / 64));
+    }
+
+    /**
+     * @return 값에 해당하는 비트 위치, 레디스 SETBIT offset 으로 그대로 사용할 수 있다.
+     */
+    public long[] offsets(long value) {
+        final long hash1 = mix(value);
+        final long hash2 = mix(hash1) | 1;
+        final long[] offsets = new long[hashCount];
+        for (int i = 0; i < hashCount; i++) {
+            offsets[i] = Math.floorMod(hash1 + i * hash2, bitSize);
+        }
+        return offsets;
+    }
+
+    /**
+     * @return 설정한 비트 위치
+     */
+    public long[] put(long value) {
+        final long[] offsets = offsets(value);
+        for (long offset : offsets) {
+            set(offset);
+        }
+        return offsets;
+    }
+
+    public boolean mightContain(long value) {
+        for (long offset : offsets(value)) {
+            if (!get(offset)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 레디스 비트맵(GET)을 합친다. 다른 서버에서 추가한 값도 포함된다고 판단하게 된다.
+     */
+    public void merge(byte[] bitmap) {
+        final long length = Math.min((long) bitmap.length * 8, bitSize);
+        for (long offset = 0; offset < length; offset++) {
+            if ((bitmap[(int) (offset >>> 3)] & (0x80 >>> (offset & 7))) != 0) {
+                set(offset);
+            }
+        }
+    }
+
+    /**
+     * 현재 설정된 비트 수로 계산한 false positive 확률
+     */
+    public double expectedFpp() {
+        return Math.pow((double) bitCount.get() / bitSize, hashCount);
+    }
+
+    public long bitSize() {
+        return bitSize;
+    }
+
+    public int hashCount() {
+        return hashCount;
+    }
+
+    /**
+     * 레디스 비트맵은 바이트의 상위 비트부터 offset 0 이므로 long 에도 상위 비트부터 저장한다.
+     */
+    private void set(long offset) {
+        final int index = (int) (offset >>> 6);
+        final long mask = Long.MIN_VALUE >>> (offset & 63);
+        while (true) {
+            final long current = bits.get(index);
+            if ((current & mask) != 0) {
+                return;
+            }
+            if (bits.compareAndSet(index, current, current | mask)) {
+                bitCount.incrementAndGet();
+                return;
+            }
+        }
+    }
+
+    private boolean get(long offset) {
+        return (bits.get((int) (offset >>> 6)) & (Long.MIN_VALUE >>> (offset & 63))) != 0;
+    }
+
+    private static long mix(long value) {
+        long h = value * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 33;
+        h *= 0xC2B2AE3D27D4EB4FL;
+        return h ^ (h >>> 29);
+    }
+}
@@ -0,0 +1,32 @@
+-- 대기 순서대로 최대 ARGV[1] 명을 대기열에서 꺼내고 결과에 처리중(ARGV[3])으로 기록한다.
+-- 꺼낸 뒤 발급 결과가 기록되기 전까지 순번 조회에서 사용자가 사라지지 않도록 같은 스크립트에서 기록한다.
+-- 입장시킨 서버가 결과를 기록하지 못하고 종료될 수 있으므로 처리중 목록에 입장 시각을 함께 기록하고,
+-- 처리 제한 시간(ARGV[4])이 지난 사용자는 대기열 맨 앞으로 되돌려 다시 입장시킨다.
+-- KEYS[1] : 대기열 Sorted Set
+-- KEYS[2] : 입장 결과 Hash
+-- KEYS[3] : 처리중 Sorted Set (score : 입장 시각)
+-- ARGV[2] : 입장 결과 보관 시간(초)
+-- ARGV[4] : 처리 제한 시간(ms)
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+local expired = redis.call('ZRANGEBYSCORE', KEYS[3], '-inf', now - tonumber(ARGV[4]))
+for _, user in ipairs(expired) do
+    redis.call('ZREM', KEYS[3], user)
+    redis.call('HDEL', KEYS[2], user)
+    redis.call('ZADD', KEYS[1], 0, user)
+end
+
+local popped = redis.call('ZPOPMIN', KEYS[1], ARGV[1])
+local users = {}
+for i = 1, #popped, 2 do
+    users[#users + 1] = popped[i]
+    redis.call('HSET', KEYS[2], popped[i], ARGV[3])
+    redis.call('ZADD', KEYS[3], now, popped[i])
+end
+
+if #users > 0 then
+    redis.call('EXPIRE', KEYS[2], ARGV[2])
+    redis.call('EXPIRE', KEYS[3], ARGV[2])
+end
+return users
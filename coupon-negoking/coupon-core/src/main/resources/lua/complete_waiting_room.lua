@@ -0,0 +1,19 @@
+-- 입장시킨 사용자의 발급 결과를 기록하고 처리중 목록에서 제거한다.
+-- 처리 제한 시간이 지나 대기열로 되돌려진 사용자는 다시 입장한 서버가 결과를 기록하므로 기록하지 않는다.
+-- KEYS[1] : 입장 결과 Hash
+-- KEYS[2] : 처리중 Sorted Set
+-- ARGV[1] : 입장 결과 보관 시간(초)
+-- ARGV[2], ARGV[3] ... : 사용자, 결과 쌍
+-- return 기록한 결과 수
+local recorded = 0
+for i = 2, #ARGV, 2 do
+    if redis.call('ZREM', KEYS[2], ARGV[i]) == 1 then
+        redis.call('HSET', KEYS[1], ARGV[i], ARGV[i + 1])
+        recorded = recorded + 1
+    end
+end
+
+if recorded > 0 then
+    redis.call('EXPIRE', KEYS[1], ARGV[1])
+end
+return recorded
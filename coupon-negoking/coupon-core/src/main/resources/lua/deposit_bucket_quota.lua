@@ -0,0 +1,16 @@
+-- 다른 버킷에서 떼어낸 수량을 더한다.
+-- 이체 id 별로 한번만 더하므로 같은 이체 기록을 다시 처리해도 두번 더해지지 않는다.
+-- KEYS[1] : 버킷 할당 수량
+-- KEYS[2] : 버킷이 받은 이체 id Set
+-- ARGV[1] : 버킷 초기 할당 수량
+-- ARGV[2] : 이체 id
+-- ARGV[3] : 수량
+if redis.call('SADD', KEYS[2], ARGV[2]) == 0 then
+    return 0
+end
+
+if redis.call('EXISTS', KEYS[1]) == 0 then
+    redis.call('SET', KEYS[1], ARGV[1])
+end
+redis.call('INCRBY', KEYS[1], ARGV[3])
+return 1
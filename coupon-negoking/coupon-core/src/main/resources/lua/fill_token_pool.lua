@@ -0,0 +1,27 @@
+-- 부족한 발급 토큰을 최대 ARGV[2] 개까지 채운다.
+-- 수량이 크면 한번에 채우는 동안 다른 명령이 모두 대기하므로 여러 번 나눠서 호출한다.
+-- 토큰 사용(LPOP)과 발급 요청 추가(SADD)는 같은 스크립트에서 처리되므로 남은 토큰 수 + 발급 요청 수는 발급 수량과 같다.
+-- 부족한 만큼만 채우므로 여러 서버에서 동시에 호출하거나 토큰이 유실된 뒤 다시 호출해도 초과 생성되지 않는다.
+-- KEYS[1] : 발급 토큰 List (issue:token:{couponId})
+-- KEYS[2] : 쿠폰 발급 요청 Set (issue:request:{couponId})
+-- ARGV[1] : 발급 가능 최대 수량
+-- ARGV[2] : 한번에 채우는 최대 토큰 수
+-- return 채운 토큰 수
+local missing = tonumber(ARGV[1]) - redis.call('SCARD', KEYS[2]) - redis.call('LLEN', KEYS[1])
+local count = math.min(missing, tonumber(ARGV[2]))
+if count <= 0 then
+    return 0
+end
+
+local tokens = {}
+for i = 1, count do
+    tokens[#tokens + 1] = '1'
+    if #tokens == 1000 then
+        redis.call('RPUSH', KEYS[1], unpack(tokens))
+        tokens = {}
+    end
+end
+if #tokens > 0 then
+    redis.call('RPUSH', KEYS[1], unpack(tokens))
+end
+return count
@@ -0,0 +1,22 @@
+-- KEYS[1] : 쿠폰 발급 요청 Set (issue:request:{couponId})
+-- KEYS[2] : 쿠폰 발급 Queue (issue:request:queue 또는 issue:request:stream)
+-- ARGV[1] : userId
+-- ARGV[2] : 발급 Queue에 적재할 요청
+-- ARGV[3] : 발급 가능 최대 수량 (음수면 수량 제한 없음)
+-- ARGV[4] : 발급 Queue 타입 (LIST, STREAM)
+local limit = tonumber(ARGV[3])
+if limit >= 0 and redis.call('SCARD', KEYS[1]) >= limit then
+    return '3'
+end
+
+if redis.call('SISMEMBER', KEYS[1], ARGV[1]) == 1 then
+    return '2'
+end
+
+redis.call('SADD', KEYS[1], ARGV[1])
+if ARGV[4] == 'STREAM' then
+    redis.call('XADD', KEYS[2], '*', 'payload', ARGV[2])
+else
+    redis.call('RPUSH', KEYS[2], ARGV[2])
+end
+return '1'
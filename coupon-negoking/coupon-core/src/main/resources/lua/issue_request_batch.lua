@@ -0,0 +1,29 @@
+-- KEYS[1] : 쿠폰 발급 요청 Set (issue:request:{couponId})
+-- KEYS[2] : 쿠폰 발급 Queue (issue:request:queue 또는 issue:request:stream)
+-- ARGV[1] : 발급 가능 최대 수량 (음수면 수량 제한 없음)
+-- ARGV[2] : 발급 Queue 타입 (LIST, STREAM)
+-- ARGV[3..] : (userId, 발급 Queue에 적재할 요청) 쌍
+-- 요청 순서대로 issue_request.lua 와 같은 검증을 수행하고 요청별 결과를 반환한다.
+local limit = tonumber(ARGV[1])
+local size = redis.call('SCARD', KEYS[1])
+local results = {}
+
+for i = 3, #ARGV, 2 do
+    local userId = ARGV[i]
+    if limit >= 0 and size >= limit then
+        results[#results + 1] = '3'
+    elseif redis.call('SISMEMBER', KEYS[1], userId) == 1 then
+        results[#results + 1] = '2'
+    else
+        redis.call('SADD', KEYS[1], userId)
+        if ARGV[2] == 'STREAM' then
+            redis.call('XADD', KEYS[2], '*', 'payload', ARGV[i + 1])
+        else
+            redis.call('RPUSH', KEYS[2], ARGV[i + 1])
+        end
+        size = size + 1
+        results[#results + 1] = '1'
+    end
+end
+
+return results
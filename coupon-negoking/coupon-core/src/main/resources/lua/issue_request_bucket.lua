@@ -0,0 +1,21 @@
+-- 샤딩된 재고 버킷에 발급 요청을 추가한다.
+-- KEYS[1] : 버킷 발급 요청 Set (issue:request:{couponId-bucket})
+-- KEYS[2] : 버킷 할당 수량 (issue:quota:{couponId-bucket})
+-- ARGV[1] : userId
+-- ARGV[2] : 버킷 초기 할당 수량, 할당 수량이 없으면 (처음 발급, 레디스 데이터 유실) 이 값으로 할당한다.
+if redis.call('SISMEMBER', KEYS[1], ARGV[1]) == 1 then
+    return '2'
+end
+
+local quota = tonumber(redis.call('GET', KEYS[2]))
+if quota == nil then
+    quota = tonumber(ARGV[2])
+    redis.call('SET', KEYS[2], ARGV[2])
+end
+
+if redis.call('SCARD', KEYS[1]) >= quota then
+    return '3'
+end
+
+redis.call('SADD', KEYS[1], ARGV[1])
+return '1'
@@ -0,0 +1,22 @@
+-- KEYS[1] : 쿠폰 발급 요청 Set (issue:request:{couponId})
+-- KEYS[2] : 발급 토큰 List (issue:token:{couponId})
+-- KEYS[3] : 쿠폰 발급 Queue (issue:request:queue 또는 issue:request:stream)
+-- ARGV[1] : userId
+-- ARGV[2] : 발급 Queue에 적재할 요청
+-- ARGV[3] : 발급 Queue 타입 (LIST, STREAM)
+if redis.call('SISMEMBER', KEYS[1], ARGV[1]) == 1 then
+    return '2'
+end
+
+-- 토큰이 남아있지 않으면 발급 수량을 모두 소진한 것이다.
+if not redis.call('LPOP', KEYS[2]) then
+    return '3'
+end
+
+redis.call('SADD', KEYS[1], ARGV[1])
+if ARGV[3] == 'STREAM' then
+    redis.call('XADD', KEYS[3], '*', 'payload', ARGV[2])
+else
+    redis.call('RPUSH', KEYS[3], ARGV[2])
+end
+return '1'
@@ -0,0 +1,14 @@
+-- 발급 Queue에서 최대 count 개의 요청을 꺼내 처리중 목록으로 옮긴다.
+-- 꺼낸 요청은 ack 전까지 처리중 목록에 남아있어 처리 중에 consumer가 종료되어도 유실되지 않는다.
+-- KEYS[1] : 꺼낼 List
+-- KEYS[2] : 처리중 List
+-- ARGV[1] : count
+local items = {}
+for i = 1, tonumber(ARGV[1]) do
+    local item = redis.call('LMOVE', KEYS[1], KEYS[2], 'LEFT', 'RIGHT')
+    if not item then
+        break
+    end
+    items[i] = item
+end
+return items
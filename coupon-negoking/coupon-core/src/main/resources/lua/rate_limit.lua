@@ -0,0 +1,47 @@
+-- 사용자 버킷과 쿠폰 버킷을 함께 검사하고 두 버킷 모두 토큰이 남아있을 때만 하나씩 소비한다.
+-- 서버마다 시계가 다를 수 있으므로 레디스 서버 시간을 기준으로 토큰을 채운다.
+-- KEYS[1] : 사용자 버킷 Hash (tokens, ts)
+-- KEYS[2] : 쿠폰 버킷 Hash (tokens, ts), 없으면 사용자 버킷만 검사한다.
+-- ARGV[1], ARGV[2] : 사용자 버킷 크기, 초당 충전량
+-- ARGV[3], ARGV[4] : 쿠폰 버킷 크기, 초당 충전량
+-- return 0 : 허용, 1 : 사용자 제한, 2 : 쿠폰 제한
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+local function refill(key, capacity, rate)
+    local bucket = redis.call('HMGET', key, 'tokens', 'ts')
+    local tokens = tonumber(bucket[1])
+    local ts = tonumber(bucket[2])
+    if tokens == nil or ts == nil then
+        return capacity
+    end
+    return math.min(capacity, tokens + math.max(0, now - ts) * rate / 1000)
+end
+
+local function save(key, tokens, capacity, rate)
+    redis.call('HSET', key, 'tokens', tostring(tokens), 'ts', now)
+    -- 가득 찰 때까지 요청이 없으면 버킷이 없는 것과 같으므로 삭제한다.
+    redis.call('PEXPIRE', key, math.ceil(capacity / rate * 1000) + 1000)
+end
+
+local userCapacity, userRate = tonumber(ARGV[1]), tonumber(ARGV[2])
+local couponCapacity, couponRate = tonumber(ARGV[3]), tonumber(ARGV[4])
+
+local userTokens = refill(KEYS[1], userCapacity, userRate)
+if userTokens < 1 then
+    return 1
+end
+
+if KEYS[2] == nil then
+    save(KEYS[1], userTokens - 1, userCapacity, userRate)
+    return 0
+end
+
+local couponTokens = refill(KEYS[2], couponCapacity, couponRate)
+if couponTokens < 1 then
+    return 2
+end
+
+save(KEYS[1], userTokens - 1, userCapacity, userRate)
+save(KEYS[2], couponTokens - 1, couponCapacity, couponRate)
+return 0
@@ -0,0 +1,29 @@
+-- 발급 요청 Set에 새로 추가된 경우에만 발급 Queue에 적재한다.
+-- Bloom filter가 다른 서버에서 추가된 사용자를 놓쳐 SISMEMBER 없이 SADD 하더라도 중복 요청은 적재되지 않는다.
+-- 수량 검증은 lock 안에서 미리 완료되어야 한다.
+-- KEYS[1] : 쿠폰 발급 요청 Set (issue:request:{couponId})
+-- KEYS[2] : 쿠폰 발급 Queue (issue:request:queue 또는 issue:request:stream)
+-- KEYS[3] : Bloom filter 비트맵, 없으면 기록하지 않는다.
+-- ARGV[1] : userId
+-- ARGV[2] : 발급 Queue에 적재할 요청
+-- ARGV[3] : 발급 Queue 타입 (LIST, STREAM)
+-- ARGV[4] : Bloom filter 비트맵 보관 시간(초)
+-- ARGV[5] ... : Bloom filter 비트 위치
+-- return '1' : 추가, '0' : 이미 존재
+if KEYS[3] ~= nil then
+    for i = 5, #ARGV do
+        redis.call('SETBIT', KEYS[3], ARGV[i], 1)
+    end
+    redis.call('EXPIRE', KEYS[3], ARGV[4])
+end
+
+if redis.call('SADD', KEYS[1], ARGV[1]) == 0 then
+    return '0'
+end
+
+if ARGV[3] == 'STREAM' then
+    redis.call('XADD', KEYS[2], '*', 'payload', ARGV[2])
+else
+    redis.call('RPUSH', KEYS[2], ARGV[2])
+end
+return '1'
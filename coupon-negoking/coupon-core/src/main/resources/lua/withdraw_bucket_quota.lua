@@ -0,0 +1,24 @@
+-- 남은 수량이 있는 버킷에서 남은 수량의 절반(올림)을 떼어내고 이체 기록에 남긴다.
+-- 받는 버킷은 다른 slot에 있어 같은 스크립트에서 더할 수 없으므로 이체 기록으로 더한다. (deposit_bucket_quota.lua)
+-- 더하기 전에 서버가 종료되어도 이체 기록이 남아있어 다시 더할 수 있으므로 수량이 사라지지 않는다.
+-- KEYS[1] : 버킷 발급 요청 Set
+-- KEYS[2] : 버킷 할당 수량
+-- KEYS[3] : 버킷 이체 기록 Hash (이체 id -> 받는 버킷:수량)
+-- ARGV[1] : 버킷 초기 할당 수량
+-- ARGV[2] : 이체 id
+-- ARGV[3] : 받는 버킷
+local quota = tonumber(redis.call('GET', KEYS[2]))
+if quota == nil then
+    quota = tonumber(ARGV[1])
+    redis.call('SET', KEYS[2], ARGV[1])
+end
+
+local remain = quota - redis.call('SCARD', KEYS[1])
+if remain <= 0 then
+    return 0
+end
+
+local amount = math.ceil(remain / 2)
+redis.call('DECRBY', KEYS[2], amount)
+redis.call('HSET', KEYS[3], ARGV[2], ARGV[3] .. ':' .. amount)
+return amount
@@ -0,0 +1,16 @@
+# 쿠폰 발급 내역에 (coupon_id, user_id) 유니크 인덱스 추가
+# - 중복 발급 검증 조회가 full scan 대신 인덱스를 탄다.
+# - 중복 발급을 DB 제약 조건으로 막을 수 있다. (INSERT IGNORE, 제약 조건 위반 예외 기반 중복 검증)
+
+# 1. 인덱스 추가 전에 이미 중복된 발급 내역이 있다면 가장 먼저 발급된 내역만 남긴다.
+DELETE ci
+FROM `coupon`.`coupon_issue` ci
+         JOIN `coupon`.`coupon_issue` origin
+              ON ci.coupon_id = origin.coupon_id
+                  AND ci.user_id = origin.user_id
+                  AND ci.id > origin.id;
+
+# 2. 서비스 중에도 쓰기가 막히지 않도록 online DDL로 추가한다.
+ALTER TABLE `coupon`.`coupon_issue`
+    ADD UNIQUE INDEX `uk_coupon_issue_coupon_id_user_id` (`coupon_id`, `user_id`),
+    ALGORITHM = INPLACE, LOCK = NONE;
@@ -27,7 +27,8 @@ CREATE TABLE `coupon`.`coupon_issue`
     `date_used`    datetime(6) NULL COMMENT '사용 일시',
     `date_created` datetime(6) NOT NULL COMMENT '생성 일시',
     `date_updated` datetime(6) NOT NULL COMMENT '수정 일시',
-    PRIMARY KEY (`id`)
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `uk_coupon_issue_coupon_id_user_id` (`coupon_id`, `user_id`)
 ) ENGINE = InnoDB
   DEFAULT CHARSET = utf8mb4
     COMMENT '쿠폰 발급 내역';
@@ -1,13 +1,50 @@
 package fc.coupon.core;
 
+import fc.coupon.core.component.IssueRequestBloomFilterRegistry;
+import fc.coupon.core.component.IssueRequestedUserRegistry;
+import fc.coupon.core.component.SoldOutCouponRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.Objects;
+
 @ActiveProfiles("test")
 @TestPropertySource(properties = "spring.config.name=application-core")
 @SpringBootTest(classes = CoreConfiguration.class)
 @Transactional
 public class TestConfig {
+
+    @Autowired
+    private List<CacheManager> testCacheManagers;
+
+    @Autowired
+    private SoldOutCouponRegistry testSoldOutCouponRegistry;
+
+    @Autowired
+    private IssueRequestedUserRegistry testIssueRequestedUserRegistry;
+
+    @Autowired
+    private IssueRequestBloomFilterRegistry testIssueRequestBloomFilterRegistry;
+
+    /**
+     * 트랜잭션은 테스트마다 롤백되지만 캐시와 서버 메모리의 기록은 남는다.
+     * 롤백된 쿠폰과 같은 id로 저장된 쿠폰이 이전 테스트의 상태를 읽지 않도록 테스트마다 비운다.
+     */
+    @BeforeEach
+    void clearInProcessState() {
+        testCacheManagers.forEach(cacheManager -> cacheManager.getCacheNames().stream()
+                .map(cacheManager::getCache)
+                .filter(Objects::nonNull)
+                .forEach(Cache::clear));
+        testSoldOutCouponRegistry.clear();
+        testIssueRequestedUserRegistry.clear();
+        testIssueRequestBloomFilterRegistry.clear();
+    }
 }
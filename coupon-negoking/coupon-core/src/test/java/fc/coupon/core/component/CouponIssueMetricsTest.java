@@ -0,0 +1,96 @@
+package fc.coupon.core.component;
+
+import fc.coupon.core.TestConfig;
+import fc.coupon.core.component.CouponIssueMetrics.Stage;
+import fc.coupon.core.exception.CouponIssueException;
+import fc.coupon.core.exception.ErrorCode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CouponIssueMetricsTest extends TestConfig {
+
+    @Autowired
+    CouponIssueMetrics metrics;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("단계별 지표 - 성공하면 outcome SUCCESS 로 기록한다.")
+    void observe_success() {
+        // when
+        final String actual = metrics.observe(Stage.COUPON_LOOKUP, 1, () -> "coupon");
+
+        // then
+        assertThat(actual).isEqualTo("coupon");
+        assertThat(findTimer(Stage.COUPON_LOOKUP, "SUCCESS")).isNotNull();
+    }
+
+    @Test
+    @DisplayName("단계별 지표 - 쿠폰 발급 예외가 발생하면 outcome ErrorCode 로 기록하고 예외를 그대로 던진다.")
+    void observe_couponIssueException() {
+        // when
+        final CouponIssueException actual = assertThrows(CouponIssueException.class, () -> metrics.observe(Stage.ENQUEUE, 1, () -> {
+            throw new CouponIssueException(ErrorCode.DUPLICATED_COUPON_ISSUE, "중복 발급");
+        }));
+
+        // then
+        assertThat(actual.getErrorCode()).isEqualTo(ErrorCode.DUPLICATED_COUPON_ISSUE);
+        assertThat(findTimer(Stage.ENQUEUE, ErrorCode.DUPLICATED_COUPON_ISSUE.name())).isNotNull();
+    }
+
+    @Test
+    @DisplayName("단계별 지표 - CompletableFuture 는 완료된 시점에 결과로 기록한다.")
+    void observeAsync() {
+        // given
+        final CompletableFuture<Void> pending = new CompletableFuture<>();
+        final CompletableFuture<Void> actual = metrics.observeAsync(Stage.ASYNC_ISSUE_BATCH, 0, () -> pending);
+        assertThat(findTimer(Stage.ASYNC_ISSUE_BATCH, 0, ErrorCode.INVALID_COUPON_ISSUE_QUANTITY.name())).isNull();
+
+        // when
+        pending.completeExceptionally(new CouponIssueException(ErrorCode.INVALID_COUPON_ISSUE_QUANTITY, "수량 초과"));
+
+        // then
+        assertThat(actual).isSameAs(pending);
+        assertThat(findTimer(Stage.ASYNC_ISSUE_BATCH, 0, ErrorCode.INVALID_COUPON_ISSUE_QUANTITY.name())).isNotNull();
+    }
+
+    @Test
+    @DisplayName("단계별 지표 - Mono 는 구독해서 완료된 시점에 결과로 기록한다.")
+    void observe_mono() {
+        // given
+        final Mono<String> actual = metrics.observe(Stage.ASYNC_ISSUE_REACTIVE, 0, Mono.just("coupon"));
+        assertThat(findTimer(Stage.ASYNC_ISSUE_REACTIVE, 0, "SUCCESS")).isNull();
+
+        // when
+        final String result = actual.block();
+
+        // then
+        assertThat(result).isEqualTo("coupon");
+        assertThat(findTimer(Stage.ASYNC_ISSUE_REACTIVE, 0, "SUCCESS")).isNotNull();
+    }
+
+    private Timer findTimer(Stage stage, String outcome) {
+        return findTimer(stage, 1, outcome);
+    }
+
+    /**
+     * 다른 테스트에서 저장한 쿠폰의 지표와 섞이지 않도록 저장되지 않는 couponId 0 으로 기록 시점을 확인한다.
+     */
+    private Timer findTimer(Stage stage, long couponId, String outcome) {
+        return meterRegistry.find("coupon.issue.stage")
+                .tag("stage", stage.name().toLowerCase())
+                .tag("couponId", String.valueOf(couponId))
+                .tag("outcome", outcome)
+                .timer();
+    }
+}
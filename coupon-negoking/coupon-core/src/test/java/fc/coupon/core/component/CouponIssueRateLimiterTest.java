@@ -0,0 +1,221 @@
+package fc.coupon.core.component;
+
+import fc.coupon.core.TestConfig;
+import fc.coupon.core.configuration.CouponIssueProperties;
+import fc.coupon.core.exception.CouponIssueException;
+import fc.coupon.core.exception.ErrorCode;
+import fc.coupon.core.model.Coupon;
+import fc.coupon.core.model.CouponType;
+import fc.coupon.core.repository.mysql.CouponJpaRepository;
+import fc.coupon.core.repository.redis.RedisRepository;
+import fc.coupon.core.repository.redis.dto.CouponRedisEntity;
+import fc.coupon.core.service.CouponCacheService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CouponIssueRateLimiterTest extends TestConfig {
+    @Autowired
+    CouponIssueRateLimiter couponIssueRateLimiter;
+
+    @Autowired
+    CouponJpaRepository couponJpaRepository;
+
+    @Autowired
+    RedisRepository redisRepository;
+
+    @Autowired
+    CouponCacheService couponCacheService;
+
+    @Autowired
+    CouponIssueProperties couponIssueProperties;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    RedisTemplate<String, String> redisTemplate;
+
+    @BeforeEach
+    void setUp() {
+        Collection<String> redisKeys = redisTemplate.keys("*");
+        redisTemplate.delete(redisKeys);
+        couponIssueProperties.getRateLimit().setEnabled(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        couponIssueProperties.getRateLimit().setEnabled(false);
+    }
+
+    @Test
+    @DisplayName("사용자별 제한 - 버킷 크기를 초과한 요청은 거절한다.")
+    void tryAcquire_user() {
+        // given
+        Coupon coupon = saveCoupon();
+        int capacity = couponIssueProperties.getRateLimit().getRule(CouponType.FIRST_COME_FIRST_SERVED).getUserCapacity();
+        for (int i = 0; i < capacity; i++) {
+            couponIssueRateLimiter.tryAcquire(coupon.getId(), 1);
+        }
+
+        // when
+        boolean actual = couponIssueRateLimiter.tryAcquire(coupon.getId(), 1);
+
+        // then
+        assertThat(actual).isFalse();
+        assertThat(couponIssueRateLimiter.tryAcquire(coupon.getId(), 2)).isTrue();
+    }
+
+    @Test
+    @DisplayName("전체 서버 기준 제한 - 다른 서버에서 버킷을 소진했다면 로컬 버킷이 남아있어도 거절한다.")
+    void tryAcquire_global() {
+        // given
+        Coupon coupon = saveCoupon();
+        int capacity = couponIssueProperties.getRateLimit().getRule(CouponType.FIRST_COME_FIRST_SERVED).getUserCapacity();
+        for (int i = 0; i < capacity; i++) {
+            couponIssueRateLimiter.tryAcquire(coupon.getId(), 1);
+        }
+        CouponIssueRateLimiter otherServer = new CouponIssueRateLimiter(redisRepository, couponCacheService, couponIssueProperties, meterRegistry);
+
+        // when
+        boolean actual = otherServer.tryAcquire(coupon.getId(), 1);
+
+        // then
+        assertThat(actual).isFalse();
+        assertThat(meterRegistry.counter("coupon.rate-limit.dropped",
+                "stage", "global", "scope", "user", "couponType", CouponType.FIRST_COME_FIRST_SERVED.name()).count()).isPositive();
+    }
+
+    @Test
+    @DisplayName("존재하지 않는 쿠폰은 기본 제한을 적용한다.")
+    void tryAcquire_couponNotExist() {
+        // given
+        int capacity = couponIssueProperties.getRateLimit().getRule(null).getUserCapacity();
+        for (int i = 0; i < capacity; i++) {
+            couponIssueRateLimiter.tryAcquire(Long.MAX_VALUE, 1);
+        }
+
+        // when
+        boolean actual = couponIssueRateLimiter.tryAcquire(Long.MAX_VALUE, 1);
+
+        // then
+        assertThat(actual).isFalse();
+        assertThat(meterRegistry.counter("coupon.rate-limit.dropped",
+                "stage", "local", "scope", "user", "couponType", "NONE").count()).isPositive();
+    }
+
+    @Test
+    @DisplayName("전체 서버 기준으로 거절된 요청은 로컬 버킷의 토큰을 소비하지 않는다.")
+    void tryAcquire_globalRejected_keepLocalTokens() {
+        // given
+        Coupon coupon = saveCoupon();
+        int capacity = couponIssueProperties.getRateLimit().getRule(CouponType.FIRST_COME_FIRST_SERVED).getUserCapacity();
+        CouponIssueRateLimiter otherServer = new CouponIssueRateLimiter(redisRepository, couponCacheService, couponIssueProperties, meterRegistry);
+        for (int i = 0; i < capacity; i++) {
+            otherServer.tryAcquire(coupon.getId(), 1);
+        }
+        for (int i = 0; i < capacity; i++) {
+            assertThat(couponIssueRateLimiter.tryAcquire(coupon.getId(), 1)).isFalse();
+        }
+
+        // when
+        // 레디스 버킷이 다시 채워진 상황
+        redisTemplate.delete(redisTemplate.keys("*"));
+
+        // then
+        for (int i = 0; i < capacity; i++) {
+            assertThat(couponIssueRateLimiter.tryAcquire(coupon.getId(), 1)).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("존재하지 않는 쿠폰은 한번만 조회하고 이후 요청은 조회 없이 기본 제한을 적용한다.")
+    void tryAcquire_couponNotExist_cached() {
+        // given
+        CountingCouponCacheService countingCouponCacheService = new CountingCouponCacheService();
+        CouponIssueRateLimiter rateLimiter = new CouponIssueRateLimiter(redisRepository, countingCouponCacheService, couponIssueProperties, meterRegistry);
+
+        // when
+        rateLimiter.tryAcquire(Long.MAX_VALUE, 1);
+        rateLimiter.tryAcquire(Long.MAX_VALUE, 2);
+        rateLimiter.tryAcquireUser(Long.MAX_VALUE, 3);
+
+        // then
+        assertThat(countingCouponCacheService.lookups.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("사용자 버킷만 검사하면 쿠폰 버킷을 소진해도 다른 사용자의 요청은 허용한다.")
+    void tryAcquireUser() {
+        // given
+        Coupon coupon = saveCoupon();
+        CouponIssueProperties properties = new CouponIssueProperties();
+        properties.getRateLimit().setEnabled(true);
+        properties.getRateLimit().getDefaultLimit().setCouponCapacity(1);
+        properties.getRateLimit().getDefaultLimit().setCouponRefillPerSecond(0.001);
+        CouponIssueRateLimiter rateLimiter = new CouponIssueRateLimiter(redisRepository, couponCacheService, properties, meterRegistry);
+        rateLimiter.tryAcquire(coupon.getId(), 1);
+        assertThat(rateLimiter.tryAcquire(coupon.getId(), 2)).isFalse();
+
+        // when
+        boolean actual = rateLimiter.tryAcquireUser(coupon.getId(), 3);
+
+        // then
+        assertThat(actual).isTrue();
+    }
+
+    @Test
+    @DisplayName("사용자 버킷만 검사해도 같은 사용자의 반복 요청은 거절한다.")
+    void tryAcquireUser_user() {
+        // given
+        Coupon coupon = saveCoupon();
+        int capacity = couponIssueProperties.getRateLimit().getRule(CouponType.FIRST_COME_FIRST_SERVED).getUserCapacity();
+        for (int i = 0; i < capacity; i++) {
+            couponIssueRateLimiter.tryAcquireUser(coupon.getId(), 1);
+        }
+
+        // when
+        boolean actual = couponIssueRateLimiter.tryAcquireUser(coupon.getId(), 1);
+
+        // then
+        assertThat(actual).isFalse();
+    }
+
+    /**
+     * 쿠폰 조회 횟수를 세고 항상 존재하지 않는 쿠폰으로 응답한다.
+     */
+    private static class CountingCouponCacheService extends CouponCacheService {
+        private final AtomicInteger lookups = new AtomicInteger();
+
+        CountingCouponCacheService() {
+            super(null, null);
+        }
+
+        @Override
+        public CouponRedisEntity getCouponLocalCache(long couponId) {
+            lookups.incrementAndGet();
+            throw new CouponIssueException(ErrorCode.COUPON_NOT_EXIST, "쿠폰이 존재하지 않습니다. %s", couponId);
+        }
+    }
+
+    private Coupon saveCoupon() {
+        final Coupon coupon = Coupon.builder().couponType(CouponType.FIRST_COME_FIRST_SERVED)
+                .title("선착순 테스트 쿠폰")
+                .totalQuantity(100)
+                .issuedQuantity(0)
+                .dateIssueStart(LocalDateTime.now().minusDays(1))
+                .dateIssueEnd(LocalDateTime.now().plusDays(1))
+                .build();
+        return couponJpaRepository.save(coupon);
+    }
+}
@@ -0,0 +1,163 @@
+package fc.coupon.core.component;
+
+import fc.coupon.core.TestConfig;
+import fc.coupon.core.model.Coupon;
+import fc.coupon.core.model.CouponType;
+import fc.coupon.core.repository.mysql.CouponJpaRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.stream.IntStream;
+
+import static fc.coupon.core.util.CouponRedisUtils.getIssueRequestBucketKey;
+import static fc.coupon.core.util.CouponRedisUtils.getIssueRequestKey;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestPropertySource(properties = "coupon.issue.reconcile.enabled=true")
+class CouponIssuedQuantityReconcilerTest extends TestConfig {
+    @Autowired
+    CouponIssuedQuantityReconciler couponIssuedQuantityReconciler;
+
+    @Autowired
+    CouponJpaRepository couponJpaRepository;
+
+    @Autowired
+    RedisTemplate<String, String> redisTemplate;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        Collection<String> redisKeys = redisTemplate.keys("*");
+        redisTemplate.delete(redisKeys);
+    }
+
+    @Test
+    @DisplayName("발급 수량 반영 - 레디스 발급 요청 수를 쿠폰 발급 수량에 반영한다.")
+    void reconcile() {
+        // given
+        Coupon coupon = saveCoupon(100, 0, LocalDateTime.now().plusDays(1));
+        addRequests(getIssueRequestKey(coupon.getId()), 1, 30);
+
+        // when
+        CouponIssuedQuantityReconciler.Result result = couponIssuedQuantityReconciler.reconcile().get(0);
+
+        // then
+        assertThat(result.updated()).isTrue();
+        assertThat(result.drift()).isEqualTo(30);
+        assertThat(issuedQuantity(coupon.getId())).isEqualTo(30);
+    }
+
+    @Test
+    @DisplayName("발급 수량 반영 - 샤딩된 재고는 버킷별 발급 요청 수를 합쳐서 반영한다.")
+    void reconcile_sharded() {
+        // given
+        Coupon coupon = saveCoupon(100, 0, LocalDateTime.now().plusDays(1));
+        addRequests(getIssueRequestBucketKey(coupon.getId(), 0), 1, 10);
+        addRequests(getIssueRequestBucketKey(coupon.getId(), 1), 11, 15);
+
+        // when
+        couponIssuedQuantityReconciler.reconcile();
+
+        // then
+        assertThat(issuedQuantity(coupon.getId())).isEqualTo(15);
+    }
+
+    @Test
+    @DisplayName("발급 수량 반영 - 발급 수량이 레디스 발급 요청 수보다 크면 줄이지 않는다.")
+    void reconcile_notDecrease() {
+        // given
+        Coupon coupon = saveCoupon(100, 50, LocalDateTime.now().plusDays(1));
+        addRequests(getIssueRequestKey(coupon.getId()), 1, 10);
+
+        // when
+        CouponIssuedQuantityReconciler.Result result = couponIssuedQuantityReconciler.reconcile().get(0);
+
+        // then
+        assertThat(result.updated()).isFalse();
+        assertThat(result.drift()).isEqualTo(-40);
+        assertThat(issuedQuantity(coupon.getId())).isEqualTo(50);
+    }
+
+    @Test
+    @DisplayName("발급 수량 반영 - 발급 수량이 이미 발급 가능 수량이라면 발급 요청 수가 더 많아도 변경하지 않는다.")
+    void reconcile_capped() {
+        // given
+        Coupon coupon = saveCoupon(10, 10, LocalDateTime.now().plusDays(1));
+        addRequests(getIssueRequestKey(coupon.getId()), 1, 15);
+        double updatedBefore = meterRegistry.counter("coupon.issue.reconcile.updated").count();
+
+        // when
+        CouponIssuedQuantityReconciler.Result result = couponIssuedQuantityReconciler.reconcile().get(0);
+
+        // then
+        assertThat(result.updated()).isFalse();
+        assertThat(result.drift()).isEqualTo(5);
+        assertThat(issuedQuantity(coupon.getId())).isEqualTo(10);
+        assertThat(meterRegistry.counter("coupon.issue.reconcile.updated").count()).isEqualTo(updatedBefore);
+    }
+
+    @Test
+    @DisplayName("발급 수량 반영 - 발급 가능 수량까지만 반영한다.")
+    void reconcile_cap() {
+        // given
+        Coupon coupon = saveCoupon(10, 3, LocalDateTime.now().plusDays(1));
+        addRequests(getIssueRequestKey(coupon.getId()), 1, 15);
+        double updatedBefore = meterRegistry.counter("coupon.issue.reconcile.updated").count();
+
+        // when
+        CouponIssuedQuantityReconciler.Result result = couponIssuedQuantityReconciler.reconcile().get(0);
+
+        // then
+        assertThat(result.updated()).isTrue();
+        assertThat(issuedQuantity(coupon.getId())).isEqualTo(10);
+        assertThat(meterRegistry.counter("coupon.issue.reconcile.updated").count()).isEqualTo(updatedBefore + 1);
+    }
+
+    @Test
+    @DisplayName("수동 반영 - 발급이 종료된 쿠폰도 반영한다.")
+    void reconcile_couponId() {
+        // given
+        Coupon coupon = saveCoupon(100, 0, LocalDateTime.now().minusDays(2));
+        addRequests(getIssueRequestKey(coupon.getId()), 1, 20);
+
+        // when
+        CouponIssuedQuantityReconciler.Result result = couponIssuedQuantityReconciler.reconcile(coupon.getId());
+
+        // then
+        assertThat(couponIssuedQuantityReconciler.reconcile()).isEmpty();
+        assertThat(result.updated()).isTrue();
+        assertThat(issuedQuantity(coupon.getId())).isEqualTo(20);
+    }
+
+    private Coupon saveCoupon(int totalQuantity, int issuedQuantity, LocalDateTime dateIssueEnd) {
+        final Coupon coupon = Coupon.builder().couponType(CouponType.FIRST_COME_FIRST_SERVED)
+                .title("선착순 테스트 쿠폰")
+                .totalQuantity(totalQuantity)
+                .issuedQuantity(issuedQuantity)
+                .dateIssueStart(dateIssueEnd.minusDays(3))
+                .dateIssueEnd(dateIssueEnd)
+                .build();
+        return couponJpaRepository.save(coupon);
+    }
+
+    private void addRequests(String key, int fromUserId, int toUserId) {
+        IntStream.rangeClosed(fromUserId, toUserId).forEach(userId -> redisTemplate.opsForSet().add(key, String.valueOf(userId)));
+    }
+
+    private int issuedQuantity(long couponId) {
+        return jdbcTemplate.queryForObject("SELECT issued_quantity FROM coupon WHERE id = ?", Integer.class, couponId);
+    }
+}
@@ -0,0 +1,83 @@
+package fc.coupon.core.component;
+
+import fc.coupon.core.TestConfig;
+import fc.coupon.core.configuration.CouponIssueProperties;
+import fc.coupon.core.exception.CouponIssueException;
+import fc.coupon.core.exception.ErrorCode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DistributeLockExecutorTest extends TestConfig {
+    private static final String LOCK_NAME = "lock_test";
+
+    @Autowired
+    DistributeLockExecutor lockExecutor;
+
+    @Autowired
+    RedissonClient redissonClient;
+
+    @AfterEach
+    void tearDown() {
+        redissonClient.getLock(LOCK_NAME).forceUnlock();
+    }
+
+    @Test
+    @DisplayName("분산락 - 락을 획득하면 작업을 실행하고 락을 반환한다.")
+    void execute() {
+        // given
+        AtomicBoolean executed = new AtomicBoolean();
+
+        // when
+        lockExecutor.execute(LOCK_NAME, () -> executed.set(true));
+
+        // then
+        assertThat(executed).isTrue();
+        assertThat(redissonClient.getLock(LOCK_NAME).isLocked()).isFalse();
+    }
+
+    @Test
+    @DisplayName("분산락 - fast-fail 모드에서 다른 요청이 락을 소유하고 있으면 대기하지 않고 FAIL_LOCK_ACQUIRE 예외를 발생한다.")
+    void execute_fastFail() {
+        // given
+        CompletableFuture.runAsync(() -> redissonClient.getLock(LOCK_NAME).lock(10, TimeUnit.SECONDS)).join();
+        CouponIssueProperties.Lock options = new CouponIssueProperties.Lock();
+        options.setMode(CouponIssueProperties.LockMode.FAST_FAIL);
+
+        // when
+        long startedAt = System.nanoTime();
+        CouponIssueException actual = assertThrows(CouponIssueException.class, () -> lockExecutor.execute(LOCK_NAME, options, () -> {
+        }));
+
+        // then
+        assertThat(actual.getErrorCode()).isEqualTo(ErrorCode.FAIL_LOCK_ACQUIRE);
+        assertThat(Duration.ofNanos(System.nanoTime() - startedAt)).isLessThan(Duration.ofSeconds(1));
+    }
+
+    @Test
+    @DisplayName("분산락 - spin 모드에서 시도 횟수 안에 락을 획득하지 못하면 FAIL_LOCK_ACQUIRE 예외를 발생한다.")
+    void execute_spin() {
+        // given
+        CompletableFuture.runAsync(() -> redissonClient.getLock(LOCK_NAME).lock(10, TimeUnit.SECONDS)).join();
+        CouponIssueProperties.Lock options = new CouponIssueProperties.Lock();
+        options.setMode(CouponIssueProperties.LockMode.SPIN);
+        options.setSpinAttempts(3);
+
+        // when
+        CouponIssueException actual = assertThrows(CouponIssueException.class, () -> lockExecutor.execute(LOCK_NAME, options, () -> {
+        }));
+
+        // then
+        assertThat(actual.getErrorCode()).isEqualTo(ErrorCode.FAIL_LOCK_ACQUIRE);
+    }
+}
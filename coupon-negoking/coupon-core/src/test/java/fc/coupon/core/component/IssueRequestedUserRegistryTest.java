@@ -0,0 +1,86 @@
+package fc.coupon.core.component;
+
+import fc.coupon.core.TestConfig;
+import fc.coupon.core.exception.CouponIssueException;
+import fc.coupon.core.exception.ErrorCode;
+import fc.coupon.core.repository.redis.CouponIssueRequestCode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import static fc.coupon.core.util.CouponRedisUtils.getCouponSoldOutChannel;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IssueRequestedUserRegistryTest extends TestConfig {
+    @Autowired
+    IssueRequestedUserRegistry issueRequestedUserRegistry;
+
+    @Autowired
+    RedisTemplate<String, String> redisTemplate;
+
+    @Test
+    @DisplayName("중복 검증 - 기록된 사용자는 중복 발급 예외를 발생한다.")
+    void checkDuplicated() {
+        // given
+        long couponId = 1_000_001;
+        long userId = 1;
+        issueRequestedUserRegistry.record(couponId, userId);
+
+        // when
+        final CouponIssueException actual = assertThrows(CouponIssueException.class, () -> issueRequestedUserRegistry.checkDuplicated(couponId, userId));
+
+        // then
+        assertThat(actual.getErrorCode()).isEqualTo(ErrorCode.DUPLICATED_COUPON_ISSUE);
+        assertDoesNotThrow(() -> issueRequestedUserRegistry.checkDuplicated(couponId, 2));
+    }
+
+    @Test
+    @DisplayName("중복 검증 - 레디스에 기록되지 않은 결과(수량 초과)는 기록하지 않는다.")
+    void record_code() {
+        // given
+        long couponId = 1_000_002;
+
+        // when
+        issueRequestedUserRegistry.record(couponId, 1, CouponIssueRequestCode.SUCCESS);
+        issueRequestedUserRegistry.record(couponId, 2, CouponIssueRequestCode.DUPLICATED_COUPON_ISSUE);
+        issueRequestedUserRegistry.record(couponId, 3, CouponIssueRequestCode.INVALID_COUPON_ISSUE_QUANTITY);
+
+        // then
+        assertThrows(CouponIssueException.class, () -> issueRequestedUserRegistry.checkDuplicated(couponId, 1));
+        assertThrows(CouponIssueException.class, () -> issueRequestedUserRegistry.checkDuplicated(couponId, 2));
+        assertDoesNotThrow(() -> issueRequestedUserRegistry.checkDuplicated(couponId, 3));
+    }
+
+    @Test
+    @DisplayName("매진 - 매진 메시지를 받으면 해당 쿠폰의 기록만 제거한다.")
+    void onMessage_soldOut() throws InterruptedException {
+        // given
+        long couponId = 1_000_003;
+        long otherCouponId = 1_000_004;
+        issueRequestedUserRegistry.record(couponId, 1);
+        issueRequestedUserRegistry.record(otherCouponId, 1);
+
+        // when
+        redisTemplate.convertAndSend(getCouponSoldOutChannel(), String.valueOf(couponId));
+
+        // then
+        assertThat(awaitCleared(couponId, 1)).isTrue();
+        assertThrows(CouponIssueException.class, () -> issueRequestedUserRegistry.checkDuplicated(otherCouponId, 1));
+    }
+
+    private boolean awaitCleared(long couponId, long userId) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 3000;
+        while (System.currentTimeMillis() < deadline) {
+            try {
+                issueRequestedUserRegistry.checkDuplicated(couponId, userId);
+                return true;
+            } catch (CouponIssueException e) {
+                Thread.sleep(20);
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,54 @@
+package fc.coupon.core.component;
+
+import fc.coupon.core.TestConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+class ScheduledTaskIntervalTest extends TestConfig {
+
+    @Autowired
+    Environment environment;
+
+    @Test
+    @DisplayName("스케줄 주기 - fixedDelayString 은 Spring 이 해석할 수 있는 밀리초 또는 ISO-8601 형식이다.")
+    void fixedDelayString() {
+        // given
+        final List<Class<?>> components = List.of(CouponTokenPoolWarmer.class, WaitingRoomAdmissionScheduler.class, CouponIssuedQuantityReconciler.class);
+
+        for (Class<?> component : components) {
+            for (Method method : component.getDeclaredMethods()) {
+                final Scheduled scheduled = method.getAnnotation(Scheduled.class);
+                if (scheduled == null) {
+                    continue;
+                }
+
+                // when
+                final String value = environment.resolveRequiredPlaceholders(scheduled.fixedDelayString());
+
+                // then
+                assertThat(value).as(component.getSimpleName()).isNotBlank();
+                assertThatCode(() -> parse(value)).as("%s : %s", component.getSimpleName(), value).doesNotThrowAnyException();
+            }
+        }
+    }
+
+    /**
+     * ScheduledAnnotationBeanPostProcessor 와 같은 방식으로 해석한다.
+     */
+    private static Duration parse(String value) {
+        if (value.startsWith("P") || value.startsWith("-P")) {
+            return Duration.parse(value);
+        }
+        return Duration.ofMillis(Long.parseLong(value));
+    }
+}
@@ -0,0 +1,41 @@
+package fc.coupon.core.configuration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OnCouponIssueStrategyConditionTest {
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(InMemoryConfiguration.class);
+
+    @ParameterizedTest
+    @ValueSource(strings = {"in-memory", "IN_MEMORY", "in_memory", "In-Memory"})
+    @DisplayName("발급 방식을 enum과 같은 방식으로 비교하므로 표기법과 관계없이 빈을 등록한다.")
+    void match(String strategy) {
+        contextRunner.withPropertyValues("coupon.issue.strategy=" + strategy)
+                .run(context -> assertThat(context).hasBean("inMemoryBean"));
+    }
+
+    @Test
+    @DisplayName("다른 발급 방식이거나 설정하지 않으면 빈을 등록하지 않는다.")
+    void noMatch() {
+        contextRunner.withPropertyValues("coupon.issue.strategy=redis-lock")
+                .run(context -> assertThat(context).doesNotHaveBean("inMemoryBean"));
+        contextRunner.run(context -> assertThat(context).doesNotHaveBean("inMemoryBean"));
+    }
+
+    @Configuration
+    static class InMemoryConfiguration {
+        @Bean
+        @ConditionalOnCouponIssueStrategy(CouponIssueProperties.Strategy.IN_MEMORY)
+        String inMemoryBean() {
+            return "in-memory";
+        }
+    }
+}
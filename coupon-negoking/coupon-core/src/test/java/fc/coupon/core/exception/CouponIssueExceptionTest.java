@@ -0,0 +1,36 @@
+package fc.coupon.core.exception;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CouponIssueExceptionTest {
+
+    @Test
+    @DisplayName("스택 트레이스를 만들지 않는다.")
+    void stackless() {
+        CouponIssueException exception = new CouponIssueException(ErrorCode.DUPLICATED_COUPON_ISSUE, "쿠폰 중복 발급");
+
+        assertEquals(0, exception.getStackTrace().length);
+    }
+
+    @Test
+    @DisplayName("상세 메시지는 인자로 조회할 때 만든다.")
+    void getMessage() {
+        CouponIssueException exception = new CouponIssueException(ErrorCode.DUPLICATED_COUPON_ISSUE, "couponId : %s, userId : %s", 1L, 2L);
+
+        assertEquals("[DUPLICATED_COUPON_ISSUE] couponId : 1, userId : 2", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("미리 만든 예외는 ErrorCode 별로 같은 인스턴스를 반환하고 suppressed 예외가 추가되지 않는다.")
+    void of() {
+        CouponIssueException exception = CouponIssueException.of(ErrorCode.INVALID_COUPON_ISSUE_QUANTITY);
+        exception.addSuppressed(new IllegalStateException());
+
+        assertSame(exception, CouponIssueException.of(ErrorCode.INVALID_COUPON_ISSUE_QUANTITY));
+        assertEquals(ErrorCode.INVALID_COUPON_ISSUE_QUANTITY, exception.getErrorCode());
+        assertEquals(0, exception.getSuppressed().length);
+    }
+}
@@ -0,0 +1,155 @@
+package fc.coupon.core.repository.redis;
+
+import fc.coupon.core.TestConfig;
+import fc.coupon.core.configuration.CouponIssueProperties;
+import fc.coupon.core.repository.redis.dto.CouponIssueQueueMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+
+import static fc.coupon.core.util.CouponRedisUtils.getIssueRequestDeadLetterQueue;
+import static fc.coupon.core.util.CouponRedisUtils.getIssueRequestProcessingQueue;
+import static fc.coupon.core.util.CouponRedisUtils.getIssueRequestQueueConsumers;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestPropertySource(properties = {
+        "coupon.issue.queue.type=list",
+        "coupon.issue.queue.reclaim-min-idle=0s"
+})
+class ListCouponIssueQueueTest extends TestConfig {
+
+    @Autowired
+    ListCouponIssueQueue couponIssueQueue;
+
+    @Autowired
+    RedisTemplate<String, byte[]> couponIssueQueueRedisTemplate;
+
+    @Autowired
+    RedisTemplate<String, String> redisTemplate;
+
+    @Autowired
+    CouponIssueProperties couponIssueProperties;
+
+    @BeforeEach
+    void setUp() {
+        Collection<String> redisKeys = redisTemplate.keys("*");
+        redisTemplate.delete(redisKeys);
+    }
+
+    @Test
+    @DisplayName("발급 요청 조회 - 가져간 요청은 ack 전까지 처리중 목록에 남아있다.")
+    void poll() {
+        // given
+        couponIssueQueue.enqueue(bytes("1"));
+        couponIssueQueue.enqueue(bytes("2"));
+
+        // when
+        final List<CouponIssueQueueMessage> actual = couponIssueQueue.poll(10);
+
+        // then
+        assertThat(values(actual)).containsExactly("1", "2");
+        assertThat(couponIssueQueue.size()).isZero();
+        assertThat(processingSize()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("발급 요청 ack - ack 한 요청은 처리중 목록에서 제거된다.")
+    void ack() {
+        // given
+        couponIssueQueue.enqueue(bytes("1"));
+        final List<CouponIssueQueueMessage> messages = couponIssueQueue.poll(10);
+
+        // when
+        couponIssueQueue.ack(messages);
+
+        // then
+        assertThat(processingSize()).isZero();
+    }
+
+    @Test
+    @DisplayName("발급 요청 retry - 되돌린 요청은 기존 순서대로 Queue 앞에 추가된다.")
+    void retry() {
+        // given
+        couponIssueQueue.enqueue(bytes("1"));
+        couponIssueQueue.enqueue(bytes("2"));
+        couponIssueQueue.enqueue(bytes("3"));
+        final List<CouponIssueQueueMessage> messages = couponIssueQueue.poll(2);
+
+        // when
+        couponIssueQueue.retry(messages);
+
+        // then
+        assertThat(processingSize()).isZero();
+        assertThat(values(couponIssueQueue.poll(10))).containsExactly("1", "2", "3");
+    }
+
+    @Test
+    @DisplayName("발급 요청 dead letter - 처리중 목록에서 제거하고 dead letter Queue에 추가한다.")
+    void deadLetter() {
+        // given
+        couponIssueQueue.enqueue(bytes("1"));
+        final List<CouponIssueQueueMessage> messages = couponIssueQueue.poll(10);
+
+        // when
+        couponIssueQueue.deadLetter(messages);
+
+        // then
+        assertThat(processingSize()).isZero();
+        assertThat(couponIssueQueueRedisTemplate.opsForList().size(getIssueRequestDeadLetterQueue())).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("발급 요청 reclaim - 종료된 consumer가 처리중이던 요청을 가져온다.")
+    void reclaim() {
+        // given
+        final String deadConsumer = "dead-consumer";
+        couponIssueQueueRedisTemplate.opsForList().rightPushAll(getIssueRequestProcessingQueue(deadConsumer), bytes("1"), bytes("2"));
+        couponIssueQueueRedisTemplate.opsForZSet().add(getIssueRequestQueueConsumers(), bytes(deadConsumer), 0);
+
+        // when
+        final List<CouponIssueQueueMessage> actual = couponIssueQueue.reclaim(10);
+
+        // then
+        assertThat(values(actual)).containsExactly("1", "2");
+        assertThat(couponIssueQueueRedisTemplate.opsForList().size(getIssueRequestProcessingQueue(deadConsumer))).isZero();
+        assertThat(processingSize()).isEqualTo(2);
+        assertThat(couponIssueQueueRedisTemplate.opsForZSet().size(getIssueRequestQueueConsumers())).isZero();
+    }
+
+    @Test
+    @DisplayName("발급 요청 reclaim - 같은 서버에서 재시작한 consumer도 종료 전에 처리중이던 요청을 가져온다.")
+    void reclaim_restarted() {
+        // given
+        couponIssueQueue.enqueue(bytes("1"));
+        couponIssueQueue.poll(10);
+        final ListCouponIssueQueue restarted = new ListCouponIssueQueue(couponIssueQueueRedisTemplate, couponIssueProperties);
+
+        // when
+        final List<CouponIssueQueueMessage> actual = restarted.reclaim(10);
+
+        // then
+        assertThat(values(actual)).containsExactly("1");
+        assertThat(processingSize()).isEqualTo(1);
+    }
+
+    private long processingSize() {
+        return couponIssueQueueRedisTemplate.keys(getIssueRequestProcessingQueue("*")).stream()
+                .mapToLong(key -> couponIssueQueueRedisTemplate.opsForList().size(key))
+                .sum();
+    }
+
+    private static List<String> values(List<CouponIssueQueueMessage> messages) {
+        return messages.stream().map(message -> new String(message.value(), StandardCharsets.UTF_8)).toList();
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,93 @@
+package fc.coupon.core.repository.redis;
+
+import fc.coupon.core.TestConfig;
+import fc.coupon.core.repository.redis.dto.BloomFilterBits;
+import fc.coupon.core.repository.redis.dto.CouponIssueRequestSetStatus;
+import fc.coupon.core.util.LongBloomFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RedisRepositoryTest extends TestConfig {
+
+    @Autowired
+    RedisRepository redisRepository;
+
+    @Autowired
+    CouponIssueQueue couponIssueQueue;
+
+    @Autowired
+    RedisTemplate<String, String> redisTemplate;
+
+    @BeforeEach
+    void setUp() {
+        Collection<String> redisKeys = redisTemplate.keys("*");
+        redisTemplate.delete(redisKeys);
+    }
+
+    @Test
+    @DisplayName("파이프라인 조회 - Set 크기와 포함 여부를 함께 반환한다.")
+    void sCardAndIsMember() {
+        // given
+        redisRepository.sAdd("set", "1");
+        redisRepository.sAdd("set", "2");
+
+        // when
+        final CouponIssueRequestSetStatus actual = redisRepository.sCardAndIsMember("set", "1");
+
+        // then
+        assertThat(actual).isEqualTo(new CouponIssueRequestSetStatus(2, true));
+    }
+
+    @Test
+    @DisplayName("파이프라인 적재 - Set에 추가하고 발급 Queue에 적재한다.")
+    void sAddAndEnqueue() {
+        // when
+        redisRepository.sAddAndEnqueue("set", "1", couponIssueQueue, "request".getBytes(StandardCharsets.UTF_8));
+
+        // then
+        assertThat(redisRepository.sIsMember("set", "1")).isTrue();
+        assertThat(couponIssueQueue.poll(10))
+                .extracting(message -> new String(message.value(), StandardCharsets.UTF_8))
+                .containsExactly("request");
+    }
+
+    @Test
+    @DisplayName("파이프라인 적재 - 이미 Set에 존재하면 Queue에 적재하지 않고 false를 반환한다.")
+    void sAddAndEnqueue_duplicated() {
+        // given
+        redisRepository.sAdd("set", "1");
+
+        // when
+        final boolean actual = redisRepository.sAddAndEnqueue("set", "1", couponIssueQueue, "request".getBytes(StandardCharsets.UTF_8));
+
+        // then
+        assertThat(actual).isFalse();
+        assertThat(couponIssueQueue.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("파이프라인 적재 - Bloom filter 비트를 함께 기록하고, 기록한 비트맵을 다른 Bloom filter에 합칠 수 있다.")
+    void sAddAndEnqueue_bloomFilter() {
+        // given
+        final LongBloomFilter filter = new LongBloomFilter(1_000, 0.01);
+        final BloomFilterBits bits = new BloomFilterBits("bloom", filter.put(1), Duration.ofMinutes(1));
+
+        // when
+        redisRepository.sAddAndEnqueue("set", "1", couponIssueQueue, "request".getBytes(StandardCharsets.UTF_8), bits);
+
+        // then
+        final LongBloomFilter otherFilter = new LongBloomFilter(1_000, 0.01);
+        otherFilter.merge(redisRepository.getBitmap("bloom"));
+        assertThat(otherFilter.mightContain(1)).isTrue();
+        assertThat(redisTemplate.getExpire("bloom")).isPositive();
+    }
+}
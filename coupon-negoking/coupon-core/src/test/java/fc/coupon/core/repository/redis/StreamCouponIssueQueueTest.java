@@ -0,0 +1,136 @@
+package fc.coupon.core.repository.redis;
+
+import fc.coupon.core.TestConfig;
+import fc.coupon.core.configuration.CouponIssueProperties;
+import fc.coupon.core.repository.redis.dto.CouponIssueQueueMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+import static fc.coupon.core.util.CouponRedisUtils.getIssueRequestDeadLetterStream;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+
+@TestPropertySource(properties = {
+        "coupon.issue.queue.type=stream",
+        "coupon.issue.queue.reclaim-min-idle=0s",
+        "coupon.issue.queue.max-delivery-count=2"
+})
+class StreamCouponIssueQueueTest extends TestConfig {
+
+    @Autowired
+    StreamCouponIssueQueue couponIssueQueue;
+
+    @Autowired
+    RedisTemplate<String, String> redisTemplate;
+
+    @Autowired
+    RedisTemplate<String, byte[]> couponIssueQueueRedisTemplate;
+
+    @BeforeEach
+    void setUp() {
+        Collection<String> redisKeys = redisTemplate.keys("*");
+        redisTemplate.delete(redisKeys);
+        couponIssueQueue.createGroup();
+    }
+
+    @Test
+    @DisplayName("발급 요청 조회 - 적재한 순서대로 요청을 가져온다.")
+    void poll() {
+        // given
+        couponIssueQueue.enqueue(bytes("1"));
+        couponIssueQueue.enqueue(bytes("2"));
+
+        // when
+        final List<CouponIssueQueueMessage> actual = couponIssueQueue.poll(10);
+
+        // then
+        assertThat(actual).extracting(message -> new String(message.value(), StandardCharsets.UTF_8)).containsExactly("1", "2");
+    }
+
+    @Test
+    @DisplayName("발급 요청 ack - ack 한 요청은 Stream에서 제거된다.")
+    void ack() {
+        // given
+        couponIssueQueue.enqueue(bytes("1"));
+        final List<CouponIssueQueueMessage> messages = couponIssueQueue.poll(10);
+
+        // when
+        couponIssueQueue.ack(messages);
+
+        // then
+        assertThat(couponIssueQueue.size()).isZero();
+        assertThat(couponIssueQueue.reclaim(10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("발급 요청 reclaim - ack 되지 않은 요청은 다시 가져올 수 있다.")
+    void reclaim() {
+        // given
+        couponIssueQueue.enqueue(bytes("1"));
+        couponIssueQueue.poll(10);
+
+        // when
+        final List<CouponIssueQueueMessage> actual = couponIssueQueue.reclaim(10);
+
+        // then
+        assertThat(actual).extracting(message -> new String(message.value(), StandardCharsets.UTF_8)).containsExactly("1");
+        assertThat(couponIssueQueue.poll(10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("consumer group 생성 - 이미 존재하는 group을 다시 생성해도 예외가 발생하지 않는다.")
+    void createGroup_busyGroup() {
+        assertDoesNotThrow(() -> couponIssueQueue.createGroup());
+    }
+
+    @Test
+    @DisplayName("발급 요청 reclaim - 앞쪽에 처리중인 요청이 있어도 뒤쪽의 방치된 요청을 가져온다.")
+    void reclaim_idleBehindBusy() throws InterruptedException {
+        // given
+        final CouponIssueProperties properties = new CouponIssueProperties();
+        properties.getQueue().setReclaimMinIdle(Duration.ofMillis(200));
+        final StreamCouponIssueQueue queue = new StreamCouponIssueQueue(couponIssueQueueRedisTemplate, properties);
+        queue.enqueue(bytes("1"));
+        queue.enqueue(bytes("2"));
+        queue.poll(10);
+        Thread.sleep(300);
+        // 1번 요청을 다시 가져가 처리중 상태로 만든다.
+        assertThat(queue.reclaim(1)).extracting(message -> new String(message.value(), StandardCharsets.UTF_8)).containsExactly("1");
+
+        // when
+        final List<CouponIssueQueueMessage> actual = queue.reclaim(1);
+
+        // then
+        assertThat(actual).extracting(message -> new String(message.value(), StandardCharsets.UTF_8)).containsExactly("2");
+    }
+
+    @Test
+    @DisplayName("발급 요청 reclaim - 최대 전달 횟수만큼 전달된 요청은 dead letter Stream으로 옮긴다.")
+    void reclaim_deadLetter() {
+        // given
+        couponIssueQueue.enqueue(bytes("1"));
+        couponIssueQueue.poll(10);
+        couponIssueQueue.reclaim(10);
+
+        // when
+        final List<CouponIssueQueueMessage> actual = couponIssueQueue.reclaim(10);
+
+        // then
+        assertThat(actual).isEmpty();
+        assertThat(couponIssueQueue.size()).isZero();
+        assertThat(couponIssueQueueRedisTemplate.opsForStream().size(getIssueRequestDeadLetterStream())).isEqualTo(1);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
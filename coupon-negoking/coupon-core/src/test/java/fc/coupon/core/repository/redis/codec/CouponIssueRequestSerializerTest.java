@@ -0,0 +1,84 @@
+package fc.coupon.core.repository.redis.codec;
+
+import fc.coupon.core.configuration.CouponIssueProperties;
+import fc.coupon.core.repository.redis.dto.CouponIssueRequestDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CouponIssueRequestSerializerTest {
+
+    @Test
+    @DisplayName("binary 형식으로 인코딩한 발급 요청을 디코딩한다.")
+    void serialize_binary() {
+        // given
+        final CouponIssueRequestSerializer serializer = serializer(CouponIssueRequestFormat.BINARY);
+
+        // when
+        final byte[] payload = serializer.serialize(3L, 1_234_567L);
+
+        // then
+        assertEquals(payload[0], BinaryCouponIssueRequestCodec.HEADER);
+        assertEquals(payload.length, 5);
+        assertEquals(serializer.deserialize(payload), new CouponIssueRequestDto(3L, 1_234_567L));
+    }
+
+    @Test
+    @DisplayName("binary 형식은 long 범위의 id를 모두 인코딩할 수 있다.")
+    void serialize_binary_maxValue() {
+        final CouponIssueRequestSerializer serializer = serializer(CouponIssueRequestFormat.BINARY);
+
+        final byte[] payload = serializer.serialize(0L, Long.MAX_VALUE);
+
+        assertEquals(serializer.deserialize(payload), new CouponIssueRequestDto(0L, Long.MAX_VALUE));
+    }
+
+    @Test
+    @DisplayName("json 형식은 기존과 같은 JSON으로 인코딩한다.")
+    void serialize_json() {
+        final CouponIssueRequestSerializer serializer = serializer(CouponIssueRequestFormat.JSON);
+
+        final byte[] payload = serializer.serialize(3L, 1L);
+
+        assertArrayEquals(payload, "{\"couponId\":3,\"userId\":1}".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("설정한 형식과 관계없이 기존에 적재된 JSON 요청을 디코딩한다.")
+    void deserialize_legacyJson() {
+        final CouponIssueRequestSerializer serializer = serializer(CouponIssueRequestFormat.BINARY);
+
+        final CouponIssueRequestDto actual = serializer.deserialize("{\"couponId\":3,\"userId\":1}".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(actual, new CouponIssueRequestDto(3L, 1L));
+    }
+
+    @Test
+    @DisplayName("지원하지 않는 header인 경우 예외를 반환한다.")
+    void deserialize_fail_unknownHeader() {
+        final CouponIssueRequestSerializer serializer = serializer(CouponIssueRequestFormat.BINARY);
+
+        assertThrows(IllegalArgumentException.class, () -> serializer.deserialize(new byte[]{0x7F, 0x01, 0x01}));
+    }
+
+    @Test
+    @DisplayName("binary 형식의 요청이 중간에 잘린 경우 예외를 반환한다.")
+    void deserialize_fail_truncated() {
+        final CouponIssueRequestSerializer serializer = serializer(CouponIssueRequestFormat.BINARY);
+        final byte[] payload = serializer.serialize(3L, 1_234_567L);
+
+        assertThrows(IllegalArgumentException.class, () -> serializer.deserialize(Arrays.copyOf(payload, payload.length - 1)));
+    }
+
+    private CouponIssueRequestSerializer serializer(CouponIssueRequestFormat format) {
+        final CouponIssueProperties properties = new CouponIssueProperties();
+        properties.getQueue().setFormat(format);
+        return new CouponIssueRequestSerializer(properties);
+    }
+}
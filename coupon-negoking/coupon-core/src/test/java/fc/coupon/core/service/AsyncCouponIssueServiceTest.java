@@ -137,7 +137,7 @@ class AsyncCouponIssueServiceTest extends TestConfig {
     }
 
     @Test
-    @DisplayName("쿠폰 발급 - 쿠폰이 이미 발급된 유저라면 예외를 발생한다.")
+    @DisplayName("쿠폰 발급 - 쿠폰이 이미 발급된 유저라면 Bloom filter에 없더라도 Queue에 적재하지 않고 예외를 발생한다.")
     void issue_alreadyIssued() {
         // given
         long userId = 1;
@@ -156,6 +156,7 @@ class AsyncCouponIssueServiceTest extends TestConfig {
 
         // then
         assertThat(actual.getErrorCode()).isEqualTo(ErrorCode.DUPLICATED_COUPON_ISSUE);
+        assertThat(redisTemplate.opsForList().size(getIssueRequestQueue())).isZero();
     }
 
     @Test
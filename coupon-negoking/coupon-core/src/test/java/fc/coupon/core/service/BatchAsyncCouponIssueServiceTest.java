@@ -0,0 +1,101 @@
+package fc.coupon.core.service;
+
+import fc.coupon.core.TestConfig;
+import fc.coupon.core.exception.CouponIssueException;
+import fc.coupon.core.exception.ErrorCode;
+import fc.coupon.core.model.Coupon;
+import fc.coupon.core.model.CouponType;
+import fc.coupon.core.repository.mysql.CouponJpaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.LongStream;
+
+import static fc.coupon.core.util.CouponRedisUtils.getIssueRequestKey;
+import static fc.coupon.core.util.CouponRedisUtils.getIssueRequestQueue;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@TestPropertySource(properties = {
+        "coupon.issue.batch.enabled=true",
+        "coupon.issue.batch.window=50ms"
+})
+class BatchAsyncCouponIssueServiceTest extends TestConfig {
+    @Autowired
+    BatchAsyncCouponIssueService batchAsyncCouponIssueService;
+
+    @Autowired
+    RedisTemplate<String, String> redisTemplate;
+
+    @Autowired
+    CouponJpaRepository couponJpaRepository;
+
+    @BeforeEach
+    void setUp() {
+        Collection<String> redisKeys = redisTemplate.keys("*");
+        redisTemplate.delete(redisKeys);
+    }
+
+    @Test
+    @DisplayName("쿠폰 발급 - 모아서 처리한 요청 중 발급 수량을 초과한 요청만 실패한다.")
+    void issue_quantityExceeded() {
+        // given
+        final Coupon coupon = saveCoupon(10);
+
+        // when
+        final List<CompletableFuture<Void>> futures = LongStream.rangeClosed(1, 15)
+                .mapToObj(userId -> batchAsyncCouponIssueService.issue(coupon.getId(), userId))
+                .toList();
+
+        // then
+        final long failed = futures.stream()
+                .filter(future -> {
+                    try {
+                        future.join();
+                        return false;
+                    } catch (CompletionException e) {
+                        return ((CouponIssueException) e.getCause()).getErrorCode() == ErrorCode.INVALID_COUPON_ISSUE_QUANTITY;
+                    }
+                })
+                .count();
+        assertThat(failed).isEqualTo(5);
+        assertThat(redisTemplate.opsForSet().size(getIssueRequestKey(coupon.getId()))).isEqualTo(10);
+        assertThat(redisTemplate.opsForList().size(getIssueRequestQueue())).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("쿠폰 발급 - 같은 batch 안에서 중복된 요청은 실패한다.")
+    void issue_duplicatedInBatch() {
+        // given
+        final Coupon coupon = saveCoupon(10);
+
+        // when
+        final CompletableFuture<Void> first = batchAsyncCouponIssueService.issue(coupon.getId(), 1);
+        final CompletableFuture<Void> second = batchAsyncCouponIssueService.issue(coupon.getId(), 1);
+
+        // then
+        first.join();
+        final CompletionException actual = assertThrows(CompletionException.class, second::join);
+        assertThat(((CouponIssueException) actual.getCause()).getErrorCode()).isEqualTo(ErrorCode.DUPLICATED_COUPON_ISSUE);
+    }
+
+    private Coupon saveCoupon(int totalQuantity) {
+        final Coupon coupon = Coupon.builder().couponType(CouponType.FIRST_COME_FIRST_SERVED)
+                .title("선착순 테스트 쿠폰")
+                .totalQuantity(totalQuantity)
+                .issuedQuantity(0)
+                .dateIssueStart(LocalDateTime.now().minusDays(1))
+                .dateIssueEnd(LocalDateTime.now().plusDays(2))
+                .build();
+        return couponJpaRepository.save(coupon);
+    }
+}
@@ -0,0 +1,113 @@
+package fc.coupon.core.service;
+
+import fc.coupon.core.TestConfig;
+import fc.coupon.core.exception.CouponIssueException;
+import fc.coupon.core.exception.ErrorCode;
+import fc.coupon.core.model.Coupon;
+import fc.coupon.core.model.CouponType;
+import fc.coupon.core.repository.mysql.CouponIssueJpaRepository;
+import fc.coupon.core.repository.mysql.CouponJpaRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 여러 스레드의 트랜잭션이 같은 쿠폰 row를 변경해야 하므로 테스트 트랜잭션 없이 실행하고 저장한 데이터는 직접 삭제한다.
+ */
+class ConditionalUpdateCouponIssueServiceTest extends TestConfig {
+    @Autowired
+    ConditionalUpdateCouponIssueService conditionalUpdateCouponIssueService;
+
+    @Autowired
+    CouponJpaRepository couponJpaRepository;
+
+    @Autowired
+    CouponIssueJpaRepository couponIssueJpaRepository;
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("쿠폰 발급 - 동시에 요청해도 발급 수량만큼만 발급하고 발급 수량과 발급 내역 수가 같다.")
+    void issue_concurrent() throws InterruptedException {
+        // given
+        final Coupon coupon = saveCoupon(10);
+        final AtomicInteger success = new AtomicInteger();
+        final Map<ErrorCode, AtomicInteger> failures = new ConcurrentHashMap<>();
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            // when
+            for (long userId = 1; userId <= 30; userId++) {
+                final long id = userId;
+                executor.execute(() -> {
+                    try {
+                        conditionalUpdateCouponIssueService.issue(coupon.getId(), id);
+                        success.incrementAndGet();
+                    } catch (CouponIssueException e) {
+                        failures.computeIfAbsent(e.getErrorCode(), code -> new AtomicInteger()).incrementAndGet();
+                    }
+                });
+            }
+            executor.shutdown();
+            executor.awaitTermination(30, TimeUnit.SECONDS);
+
+            // then
+            final int issuedQuantity = couponJpaRepository.findById(coupon.getId()).orElseThrow().getIssuedQuantity();
+            assertThat(success.get()).isEqualTo(10);
+            assertThat(issuedQuantity).isEqualTo(10);
+            assertThat(couponIssueJpaRepository.findAllUserIdByCouponId(coupon.getId())).hasSize(10);
+            assertThat(failures.keySet()).containsOnly(ErrorCode.INVALID_COUPON_ISSUE_QUANTITY);
+        } finally {
+            couponIssueJpaRepository.deleteAll(couponIssueJpaRepository.findAll().stream()
+                    .filter(couponIssue -> couponIssue.getCouponId().equals(coupon.getId()))
+                    .toList());
+            couponJpaRepository.deleteById(coupon.getId());
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("쿠폰 발급 - 이미 발급된 사용자라면 증가시킨 발급 수량도 롤백한다.")
+    void issue_duplicated() {
+        // given
+        final Coupon coupon = saveCoupon(10);
+        try {
+            conditionalUpdateCouponIssueService.issue(coupon.getId(), 1);
+
+            // when
+            final CouponIssueException actual = assertThrows(CouponIssueException.class,
+                    () -> conditionalUpdateCouponIssueService.issue(coupon.getId(), 1));
+
+            // then
+            assertThat(actual.getErrorCode()).isEqualTo(ErrorCode.DUPLICATED_COUPON_ISSUE);
+            assertThat(couponJpaRepository.findById(coupon.getId()).orElseThrow().getIssuedQuantity()).isEqualTo(1);
+        } finally {
+            couponIssueJpaRepository.deleteAll(couponIssueJpaRepository.findAll().stream()
+                    .filter(couponIssue -> couponIssue.getCouponId().equals(coupon.getId()))
+                    .toList());
+            couponJpaRepository.deleteById(coupon.getId());
+        }
+    }
+
+    private Coupon saveCoupon(Integer totalQuantity) {
+        final Coupon coupon = Coupon.builder().couponType(CouponType.FIRST_COME_FIRST_SERVED)
+                .title("선착순 테스트 쿠폰")
+                .totalQuantity(totalQuantity)
+                .issuedQuantity(0)
+                .dateIssueStart(LocalDateTime.now().minusDays(1))
+                .dateIssueEnd(LocalDateTime.now().plusDays(1))
+                .build();
+        return couponJpaRepository.save(coupon);
+    }
+}
@@ -0,0 +1,118 @@
+package fc.coupon.core.service;
+
+import fc.coupon.core.TestConfig;
+import fc.coupon.core.model.Coupon;
+import fc.coupon.core.model.CouponType;
+import fc.coupon.core.repository.mysql.CouponJpaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static fc.coupon.core.configuration.CacheConfiguration.COUPON_CACHE;
+import static fc.coupon.core.configuration.CacheConfiguration.LOCAL_CACHE_MANAGER;
+import static fc.coupon.core.util.CouponRedisUtils.getCouponCacheEvictChannel;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CouponCacheServiceTest extends TestConfig {
+    @Autowired
+    CouponCacheService couponCacheService;
+
+    @Autowired
+    CouponJpaRepository couponJpaRepository;
+
+    @Autowired
+    CacheManager redisCacheManager;
+
+    @Autowired
+    @Qualifier(LOCAL_CACHE_MANAGER)
+    CacheManager localCacheManager;
+
+    @Autowired
+    RedisMessageListenerContainer listenerContainer;
+
+    @Autowired
+    RedisTemplate<String, String> redisTemplate;
+
+    @BeforeEach
+    void setUp() {
+        Collection<String> redisKeys = redisTemplate.keys("*");
+        redisTemplate.delete(redisKeys);
+    }
+
+    @Test
+    @DisplayName("캐시 삭제 - 레디스 캐시를 지우고 다른 서버의 로컬 캐시도 삭제된다.")
+    void evictCouponCache() throws InterruptedException {
+        // given
+        final Coupon coupon = saveCoupon();
+        couponCacheService.getCouponLocalCache(coupon.getId());
+
+        // when
+        couponCacheService.evictCouponCache(coupon.getId());
+
+        // then
+        assertThat(redisCacheManager.getCache(COUPON_CACHE).get(coupon.getId())).isNull();
+        assertThat(awaitLocalCacheEvicted(coupon.getId())).isTrue();
+    }
+
+    @Test
+    @DisplayName("캐시 삭제 - 삭제 메시지를 받았을 때 레디스 캐시는 이미 삭제되어 있다.")
+    void evictCouponCache_beforePublish() throws InterruptedException {
+        // given
+        final Coupon coupon = saveCoupon();
+        couponCacheService.getCouponCache(coupon.getId());
+
+        final CountDownLatch received = new CountDownLatch(1);
+        final AtomicBoolean redisCacheExists = new AtomicBoolean(true);
+        final MessageListener listener = (message, pattern) -> {
+            redisCacheExists.set(redisCacheManager.getCache(COUPON_CACHE).get(coupon.getId()) != null);
+            received.countDown();
+        };
+        listenerContainer.addMessageListener(listener, ChannelTopic.of(getCouponCacheEvictChannel()));
+
+        try {
+            // when
+            couponCacheService.evictCouponCache(coupon.getId());
+
+            // then
+            assertThat(received.await(3, TimeUnit.SECONDS)).isTrue();
+            assertThat(redisCacheExists.get()).isFalse();
+        } finally {
+            listenerContainer.removeMessageListener(listener);
+        }
+    }
+
+    private boolean awaitLocalCacheEvicted(long couponId) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 3000;
+        while (System.currentTimeMillis() < deadline) {
+            if (localCacheManager.getCache(COUPON_CACHE).get(couponId) == null) {
+                return true;
+            }
+            Thread.sleep(20);
+        }
+        return false;
+    }
+
+    private Coupon saveCoupon() {
+        final Coupon coupon = Coupon.builder().couponType(CouponType.FIRST_COME_FIRST_SERVED)
+                .title("선착순 테스트 쿠폰")
+                .totalQuantity(100)
+                .issuedQuantity(0)
+                .dateIssueStart(LocalDateTime.now().minusDays(1))
+                .dateIssueEnd(LocalDateTime.now().plusDays(1))
+                .build();
+        return couponJpaRepository.save(coupon);
+    }
+}
@@ -0,0 +1,65 @@
+package fc.coupon.core.service;
+
+import fc.coupon.core.TestConfig;
+import fc.coupon.core.exception.CouponIssueException;
+import fc.coupon.core.model.CouponIssue;
+import fc.coupon.core.repository.mysql.CouponIssueJpaRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.TestPropertySource;
+
+import static fc.coupon.core.exception.ErrorCode.DUPLICATED_COUPON_ISSUE;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@TestPropertySource(properties = "coupon.issue.duplicate-check=constraint")
+class CouponIssueServiceConstraintTest extends TestConfig {
+
+    @Autowired
+    CouponIssueService service;
+
+    @Autowired
+    CouponIssueJpaRepository couponIssueJpaRepository;
+
+    @Test
+    @DisplayName("유니크 제약 조건 기반 검증 - 쿠폰 발급 내역이 존재하면 예외를 반환한다.")
+    void saveCouponIssue_fail_alreadyIssuedCoupon() {
+        final CouponIssue couponIssue = CouponIssue.builder().couponId(1L).userId(1L).build();
+        this.couponIssueJpaRepository.save(couponIssue);
+
+        final CouponIssueException couponIssueException = assertThrows(CouponIssueException.class, () -> service.saveCouponIssue(couponIssue.getCouponId(), couponIssue.getUserId()));
+
+        Assertions.assertEquals(couponIssueException.getErrorCode(), DUPLICATED_COUPON_ISSUE);
+    }
+
+    @Test
+    @DisplayName("유니크 제약 조건 기반 검증 - 쿠폰 발급 내역이 존재하지 않는 경우 쿠폰 발급을 성공한다.")
+    void saveCouponIssue_success() {
+        final CouponIssue actual = this.service.saveCouponIssue(1L, 2L);
+
+        Assertions.assertTrue(this.couponIssueJpaRepository.findById(actual.getId()).isPresent());
+    }
+
+    @Test
+    @DisplayName("유니크 제약 조건 기반 검증 - (coupon_id, user_id) 유니크 제약 조건 위반만 중복 발급으로 판단한다.")
+    void isDuplicatedCouponIssue() {
+        // given
+        final DataIntegrityViolationException duplicated = new DataIntegrityViolationException("duplicate",
+                new ConstraintViolationException("Duplicate entry '1-1'", null, "coupon_issue.uk_coupon_issue_coupon_id_user_id"));
+        final DataIntegrityViolationException h2Duplicated = new DataIntegrityViolationException("duplicate",
+                new RuntimeException("Unique index or primary key violation: \"PUBLIC.UK_COUPON_ISSUE_COUPON_ID_USER_ID_INDEX_A ON PUBLIC.COUPON_ISSUE(COUPON_ID, USER_ID)\""));
+        final DataIntegrityViolationException notNull = new DataIntegrityViolationException("not null",
+                new ConstraintViolationException("Column 'date_issued' cannot be null", null, null));
+        final DataIntegrityViolationException otherConstraint = new DataIntegrityViolationException("other",
+                new ConstraintViolationException("Duplicate entry '1' for key 'PRIMARY'", null, "PRIMARY"));
+
+        // when & then
+        Assertions.assertTrue(CouponIssueService.isDuplicatedCouponIssue(duplicated));
+        Assertions.assertTrue(CouponIssueService.isDuplicatedCouponIssue(h2Duplicated));
+        Assertions.assertFalse(CouponIssueService.isDuplicatedCouponIssue(notNull));
+        Assertions.assertFalse(CouponIssueService.isDuplicatedCouponIssue(otherConstraint));
+    }
+}
@@ -9,6 +9,7 @@ import fc.coupon.core.model.CouponType;
 import fc.coupon.core.repository.mysql.CouponIssueJpaRepository;
 import fc.coupon.core.repository.mysql.CouponIssueRepository;
 import fc.coupon.core.repository.mysql.CouponJpaRepository;
+import fc.coupon.core.repository.redis.dto.CouponIssueRequestDto;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -16,8 +17,10 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static fc.coupon.core.exception.ErrorCode.*;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 
 class CouponIssueServiceTest extends TestConfig {
@@ -59,8 +62,46 @@ class CouponIssueServiceTest extends TestConfig {
 
         final CouponIssue actual = this.service.saveCouponIssue(couponId, userId);
 
-        Assertions.assertTrue(this.couponIssueJpaRepository.findById(actual.getId()).isPresent());
-        Assertions.assertEquals(actual.getId(), couponId);
+        // IDENTITY id 는 테스트 순서에 따라 달라지므로 저장된 발급 내역의 쿠폰, 사용자로 확인한다.
+        final CouponIssue saved = this.couponIssueJpaRepository.findById(actual.getId()).orElseThrow();
+        assertAll(
+                () -> Assertions.assertEquals(couponId, saved.getCouponId()),
+                () -> Assertions.assertEquals(userId, saved.getUserId())
+        );
+    }
+
+    @Test
+    @DisplayName("쿠폰 발급 요청을 한번에 저장하고 중복된 요청은 한번만 저장한다.")
+    void saveCouponIssues_success() {
+        long couponId = 1L;
+        final List<CouponIssueRequestDto> requests = List.of(
+                new CouponIssueRequestDto(couponId, 1L),
+                new CouponIssueRequestDto(couponId, 2L),
+                new CouponIssueRequestDto(couponId, 2L)
+        );
+
+        final int saved = this.service.saveCouponIssues(requests);
+
+        assertAll(
+                () -> Assertions.assertEquals(saved, 2),
+                () -> Assertions.assertEquals(this.couponIssueJpaRepository.count(), 2),
+                () -> Assertions.assertNotNull(this.couponIssueRepository.findCouponIssue(couponId, 1L)),
+                () -> Assertions.assertNotNull(this.couponIssueRepository.findCouponIssue(couponId, 2L))
+        );
+    }
+
+    @Test
+    @DisplayName("쿠폰 발급 요청을 한번에 저장할 때 이미 발급된 내역은 무시한다.")
+    void saveCouponIssues_ignoreAlreadyIssued() {
+        long couponId = 1L;
+        this.couponIssueJpaRepository.save(CouponIssue.builder().couponId(couponId).userId(1L).build());
+
+        this.service.saveCouponIssues(List.of(
+                new CouponIssueRequestDto(couponId, 1L),
+                new CouponIssueRequestDto(couponId, 2L)
+        ));
+
+        assertThat(this.couponIssueJpaRepository.findAllUserIdByCouponId(couponId)).containsExactlyInAnyOrder(1L, 2L);
     }
 
     @Test
@@ -172,4 +213,72 @@ class CouponIssueServiceTest extends TestConfig {
         });
         Assertions.assertEquals(exception.getErrorCode(), COUPON_NOT_EXIST);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("조건부 UPDATE 발급 - 발급 가능한 쿠폰이면 발급 수량을 증가시키고 발급 내역을 저장한다.")
+    void issueWithConditionalUpdate_success() {
+        // given
+        long userId = 1L;
+        Coupon coupon = Coupon.builder().couponType(CouponType.FIRST_COME_FIRST_SERVED)
+                .title("선착순 테스트 쿠폰")
+                .totalQuantity(100)
+                .issuedQuantity(0)
+                .dateIssueStart(LocalDateTime.now().minusDays(1))
+                .dateIssueEnd(LocalDateTime.now().plusDays(1))
+                .build();
+        this.couponJpaRepository.save(coupon);
+
+        // when
+        this.service.issueWithConditionalUpdate(coupon.getId(), userId);
+
+        // then
+        Coupon result = this.couponJpaRepository.findById(coupon.getId()).get();
+        CouponIssue issueResult = this.couponIssueRepository.findCouponIssue(coupon.getId(), userId);
+        assertAll(
+                () -> Assertions.assertEquals(result.getIssuedQuantity(), 1),
+                () -> Assertions.assertNotNull(issueResult)
+        );
+    }
+
+    @Test
+    @DisplayName("조건부 UPDATE 발급 - 발급 수량을 초과하면 예외를 반환한다.")
+    void issueWithConditionalUpdate_fail_quantity() {
+        // given
+        long userId = 1L;
+        Coupon coupon = Coupon.builder().couponType(CouponType.FIRST_COME_FIRST_SERVED)
+                .title("선착순 테스트 쿠폰")
+                .totalQuantity(100)
+                .issuedQuantity(100)
+                .dateIssueStart(LocalDateTime.now().minusDays(1))
+                .dateIssueEnd(LocalDateTime.now().plusDays(1))
+                .build();
+        this.couponJpaRepository.save(coupon);
+
+        // when
+        CouponIssueException actual = assertThrows(CouponIssueException.class, () -> this.service.issueWithConditionalUpdate(coupon.getId(), userId));
+
+        // then
+        assertEquals(actual.getErrorCode(), ErrorCode.INVALID_COUPON_ISSUE_QUANTITY);
+    }
+
+    @Test
+    @DisplayName("조건부 UPDATE 발급 - 발급 기한이 아니면 예외를 반환한다.")
+    void issueWithConditionalUpdate_fail_dateIssue() {
+        // given
+        long userId = 1L;
+        Coupon coupon = Coupon.builder().couponType(CouponType.FIRST_COME_FIRST_SERVED)
+                .title("선착순 테스트 쿠폰")
+                .totalQuantity(100)
+                .issuedQuantity(0)
+                .dateIssueStart(LocalDateTime.now().minusDays(2))
+                .dateIssueEnd(LocalDateTime.now().minusDays(1))
+                .build();
+        this.couponJpaRepository.save(coupon);
+
+        // when
+        CouponIssueException actual = assertThrows(CouponIssueException.class, () -> this.service.issueWithConditionalUpdate(coupon.getId(), userId));
+
+        // then
+        assertEquals(actual.getErrorCode(), INVALID_COUPON_ISSUE_DATE);
+    }
+}
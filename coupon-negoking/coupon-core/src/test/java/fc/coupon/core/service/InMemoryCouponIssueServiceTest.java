@@ -0,0 +1,137 @@
+package fc.coupon.core.service;
+
+import fc.coupon.core.TestConfig;
+import fc.coupon.core.exception.CouponIssueException;
+import fc.coupon.core.exception.ErrorCode;
+import fc.coupon.core.model.Coupon;
+import fc.coupon.core.model.CouponIssue;
+import fc.coupon.core.model.CouponType;
+import fc.coupon.core.repository.mysql.CouponIssueJpaRepository;
+import fc.coupon.core.repository.mysql.CouponJpaRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 테스트 트랜잭션 안에서 저장한 쿠폰은 flush 스레드에서 보이지 않으므로
+ * 저장을 검증하는 테스트는 트랜잭션 없이 실행하고 flush 스레드 대신 직접 저장한다.
+ */
+@TestPropertySource(properties = {
+        "coupon.issue.strategy=in-memory",
+        "coupon.issue.in-memory.flush-interval=1h"
+})
+class InMemoryCouponIssueServiceTest extends TestConfig {
+    @Autowired
+    InMemoryCouponIssueService inMemoryCouponIssueService;
+
+    @Autowired
+    CouponJpaRepository couponJpaRepository;
+
+    @Autowired
+    CouponIssueJpaRepository couponIssueJpaRepository;
+
+    @Test
+    @DisplayName("쿠폰 발급 - 동시에 요청해도 발급 수량만큼만 발급한다.")
+    void issue_concurrent() throws InterruptedException {
+        // given
+        final Coupon coupon = saveCoupon(100);
+        inMemoryCouponIssueService.issue(coupon.getId(), 0);
+        final AtomicInteger success = new AtomicInteger(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(16);
+
+        // when
+        for (long userId = 1; userId <= 1000; userId++) {
+            final long id = userId;
+            executor.execute(() -> {
+                try {
+                    inMemoryCouponIssueService.issue(coupon.getId(), id);
+                    success.incrementAndGet();
+                } catch (CouponIssueException ignored) {
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        // then
+        assertThat(success.get()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("쿠폰 발급 - 이미 발급된 사용자는 예외를 발생한다.")
+    void issue_duplicated() {
+        // given
+        final Coupon coupon = saveCoupon(10);
+        inMemoryCouponIssueService.issue(coupon.getId(), 1);
+
+        // when
+        final CouponIssueException actual = assertThrows(CouponIssueException.class, () -> inMemoryCouponIssueService.issue(coupon.getId(), 1));
+
+        // then
+        assertThat(actual.getErrorCode()).isEqualTo(ErrorCode.DUPLICATED_COUPON_ISSUE);
+    }
+
+    @Test
+    @DisplayName("쿠폰 발급 - DB에 이미 발급 내역이 있는 사용자는 예외를 발생한다.")
+    void issue_alreadyIssuedInDatabase() {
+        // given
+        final Coupon coupon = saveCoupon(10);
+        couponIssueJpaRepository.save(CouponIssue.builder().couponId(coupon.getId()).userId(1L).build());
+
+        // when
+        final CouponIssueException actual = assertThrows(CouponIssueException.class, () -> inMemoryCouponIssueService.issue(coupon.getId(), 1));
+
+        // then
+        assertThat(actual.getErrorCode()).isEqualTo(ErrorCode.DUPLICATED_COUPON_ISSUE);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("쿠폰 발급 - 메모리에서 발급한 내역과 발급 수량을 DB에 저장한다.")
+    void flushAll() {
+        // given
+        final Coupon coupon = saveCoupon(10);
+        try {
+            inMemoryCouponIssueService.issue(coupon.getId(), 1);
+            inMemoryCouponIssueService.issue(coupon.getId(), 2);
+            inMemoryCouponIssueService.issue(coupon.getId(), 3);
+
+            // when
+            inMemoryCouponIssueService.flushAll();
+
+            // then
+            final List<Long> userIds = couponIssueJpaRepository.findAllUserIdByCouponId(coupon.getId());
+            assertThat(userIds).containsExactlyInAnyOrder(1L, 2L, 3L);
+            assertThat(couponJpaRepository.findById(coupon.getId()).orElseThrow().getIssuedQuantity()).isEqualTo(3);
+        } finally {
+            couponIssueJpaRepository.deleteAll(couponIssueJpaRepository.findAll().stream()
+                    .filter(couponIssue -> couponIssue.getCouponId().equals(coupon.getId()))
+                    .toList());
+            couponJpaRepository.deleteById(coupon.getId());
+        }
+    }
+
+    private Coupon saveCoupon(Integer totalQuantity) {
+        final Coupon coupon = Coupon.builder().couponType(CouponType.FIRST_COME_FIRST_SERVED)
+                .title("선착순 테스트 쿠폰")
+                .totalQuantity(totalQuantity)
+                .issuedQuantity(0)
+                .dateIssueStart(LocalDateTime.now().minusDays(1))
+                .dateIssueEnd(LocalDateTime.now().plusDays(1))
+                .build();
+        return couponJpaRepository.save(coupon);
+    }
+}
@@ -0,0 +1,248 @@
+package fc.coupon.core.service;
+
+import fc.coupon.core.TestConfig;
+import fc.coupon.core.component.CouponIssueMetrics;
+import fc.coupon.core.component.IssueRequestedUserRegistry;
+import fc.coupon.core.component.SoldOutCouponRegistry;
+import fc.coupon.core.configuration.CouponIssueProperties;
+import fc.coupon.core.exception.CouponIssueException;
+import fc.coupon.core.exception.ErrorCode;
+import fc.coupon.core.model.Coupon;
+import fc.coupon.core.model.CouponType;
+import fc.coupon.core.repository.mysql.CouponJpaRepository;
+import fc.coupon.core.repository.redis.CouponIssueQueue;
+import fc.coupon.core.repository.redis.CouponIssueQueueType;
+import fc.coupon.core.repository.redis.RedisRepository;
+import fc.coupon.core.repository.redis.codec.CouponIssueRequestSerializer;
+import fc.coupon.core.repository.redis.dto.CouponIssueQueueMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static fc.coupon.core.util.CouponRedisUtils.getIssueQuotaBucketKey;
+import static fc.coupon.core.util.CouponRedisUtils.getIssueQuotaTransferKey;
+import static fc.coupon.core.util.CouponRedisUtils.getIssueRequestBucketKey;
+import static fc.coupon.core.util.CouponRedisUtils.getIssueRequestQueue;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ShardedAsyncCouponIssueServiceTest extends TestConfig {
+    @Autowired
+    ShardedAsyncCouponIssueService shardedAsyncCouponIssueService;
+
+    @Autowired
+    RedisTemplate<String, String> redisTemplate;
+
+    @Autowired
+    CouponJpaRepository couponJpaRepository;
+
+    @Autowired
+    RedisRepository redisRepository;
+
+    @Autowired
+    CouponIssueQueue couponIssueQueue;
+
+    @Autowired
+    CouponIssueRequestSerializer couponIssueRequestSerializer;
+
+    @Autowired
+    CouponCacheService couponCacheService;
+
+    @Autowired
+    SoldOutCouponRegistry soldOutCouponRegistry;
+
+    @Autowired
+    IssueRequestedUserRegistry issueRequestedUserRegistry;
+
+    @Autowired
+    CouponIssueProperties couponIssueProperties;
+
+    @Autowired
+    CouponIssueMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        Collection<String> redisKeys = redisTemplate.keys("*");
+        redisTemplate.delete(redisKeys);
+    }
+
+    @Test
+    @DisplayName("쿠폰 발급 - 버킷이 소진되어도 다른 버킷의 남은 수량으로 발급 수량만큼 발급 요청을 성공한다.")
+    void issue_rebalance() {
+        // given
+        final Coupon coupon = saveCoupon(10);
+
+        // when
+        LongStream.rangeClosed(1, 10).forEach(userId -> shardedAsyncCouponIssueService.issue(coupon.getId(), userId));
+
+        // then
+        assertThat(redisTemplate.opsForList().size(getIssueRequestQueue())).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("쿠폰 발급 - 모든 버킷의 수량이 소진되면 예외를 발생한다.")
+    void issue_notAvailableQuantity() {
+        // given
+        final Coupon coupon = saveCoupon(10);
+        LongStream.rangeClosed(1, 10).forEach(userId -> shardedAsyncCouponIssueService.issue(coupon.getId(), userId));
+
+        // when
+        final CouponIssueException actual = assertThrows(CouponIssueException.class, () -> shardedAsyncCouponIssueService.issue(coupon.getId(), 99));
+
+        // then
+        assertThat(actual.getErrorCode()).isEqualTo(ErrorCode.INVALID_COUPON_ISSUE_QUANTITY);
+    }
+
+    @Test
+    @DisplayName("쿠폰 발급 - 쿠폰이 이미 발급된 유저라면 예외를 발생한다.")
+    void issue_alreadyIssued() {
+        // given
+        long userId = 1;
+        final Coupon coupon = saveCoupon(10);
+        shardedAsyncCouponIssueService.issue(coupon.getId(), userId);
+
+        // when
+        final CouponIssueException actual = assertThrows(CouponIssueException.class, () -> shardedAsyncCouponIssueService.issue(coupon.getId(), userId));
+
+        // then
+        assertThat(actual.getErrorCode()).isEqualTo(ErrorCode.DUPLICATED_COUPON_ISSUE);
+    }
+
+    @Test
+    @DisplayName("쿠폰 발급 - Queue 적재에 실패한 유저는 다시 요청하면 중복 발급으로 거절되지 않고 발급된다.")
+    void issue_enqueueFailed() {
+        // given
+        long userId = 1;
+        final Coupon coupon = saveCoupon(10);
+        final FailingCouponIssueQueue queue = new FailingCouponIssueQueue(couponIssueQueue);
+        final ShardedAsyncCouponIssueService service = new ShardedAsyncCouponIssueService(redisRepository, queue, couponIssueRequestSerializer,
+                couponCacheService, soldOutCouponRegistry, issueRequestedUserRegistry, couponIssueProperties, metrics);
+
+        queue.failing = true;
+        final CouponIssueException failed = assertThrows(CouponIssueException.class, () -> service.issue(coupon.getId(), userId));
+        queue.failing = false;
+
+        // when
+        service.issue(coupon.getId(), userId);
+
+        // then
+        assertThat(failed.getErrorCode()).isEqualTo(ErrorCode.FAIL_COUPON_ISSUE_REQUEST);
+        assertThat(redisTemplate.opsForList().size(getIssueRequestQueue())).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("쿠폰 발급 - 발급 중에 레디스 데이터가 유실되어도 버킷 수량을 다시 할당해 발급 요청을 성공한다.")
+    void issue_redisDataLost() {
+        // given
+        final Coupon coupon = saveCoupon(10);
+        LongStream.rangeClosed(1, 5).forEach(userId -> shardedAsyncCouponIssueService.issue(coupon.getId(), userId));
+        redisTemplate.delete(redisTemplate.keys("*"));
+
+        // when
+        LongStream.rangeClosed(6, 15).forEach(userId -> shardedAsyncCouponIssueService.issue(coupon.getId(), userId));
+
+        // then
+        assertThat(redisTemplate.opsForList().size(getIssueRequestQueue())).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("쿠폰 발급 - 버킷에서 떼어낸 수량을 더하기 전에 서버가 종료되어도 이체 기록으로 다시 더해 발급 수량만큼 발급 요청을 성공한다.")
+    void issue_recoverTransfer() {
+        // given
+        final Coupon coupon = saveCoupon(10);
+        final int bucketCount = couponIssueProperties.getShardedInventory().getBucketCount();
+        final long withdrawn = redisRepository.withdrawBucketQuota(
+                getIssueRequestBucketKey(coupon.getId(), 0),
+                getIssueQuotaBucketKey(coupon.getId(), 0),
+                getIssueQuotaTransferKey(coupon.getId(), 0),
+                10 / bucketCount + (10 % bucketCount > 0 ? 1 : 0),
+                "crashed-transfer",
+                1);
+
+        // when
+        LongStream.rangeClosed(1, 10).forEach(userId -> shardedAsyncCouponIssueService.issue(coupon.getId(), userId));
+
+        // then
+        assertThat(withdrawn).isPositive();
+        assertThat(redisTemplate.opsForList().size(getIssueRequestQueue())).isEqualTo(10);
+        assertThat(redisTemplate.opsForHash().size(getIssueQuotaTransferKey(coupon.getId(), 0))).isZero();
+    }
+
+    private Coupon saveCoupon(Integer totalQuantity) {
+        final Coupon coupon = Coupon.builder().couponType(CouponType.FIRST_COME_FIRST_SERVED)
+                .title("선착순 테스트 쿠폰")
+                .totalQuantity(totalQuantity)
+                .issuedQuantity(0)
+                .dateIssueStart(LocalDateTime.now().minusDays(1))
+                .dateIssueEnd(LocalDateTime.now().plusDays(1))
+                .build();
+        return couponJpaRepository.save(coupon);
+    }
+
+    /**
+     * failing 이면 적재에 실패하고, 그 외에는 실제 Queue에 위임한다.
+     */
+    private static class FailingCouponIssueQueue implements CouponIssueQueue {
+        private final CouponIssueQueue delegate;
+        private volatile boolean failing;
+
+        FailingCouponIssueQueue(CouponIssueQueue delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public CouponIssueQueueType type() {
+            return delegate.type();
+        }
+
+        @Override
+        public String key() {
+            return delegate.key();
+        }
+
+        @Override
+        public void enqueue(byte[] value) {
+            if (failing) {
+                throw new IllegalStateException("enqueue failed");
+            }
+            delegate.enqueue(value);
+        }
+
+        @Override
+        public List<CouponIssueQueueMessage> poll(int count) {
+            return delegate.poll(count);
+        }
+
+        @Override
+        public void ack(List<CouponIssueQueueMessage> messages) {
+            delegate.ack(messages);
+        }
+
+        @Override
+        public void retry(List<CouponIssueQueueMessage> messages) {
+            delegate.retry(messages);
+        }
+
+        @Override
+        public void deadLetter(List<CouponIssueQueueMessage> messages) {
+            delegate.deadLetter(messages);
+        }
+
+        @Override
+        public List<CouponIssueQueueMessage> reclaim(int count) {
+            return delegate.reclaim(count);
+        }
+
+        @Override
+        public long size() {
+            return delegate.size();
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package fc.coupon.core.service;
+
+import fc.coupon.core.TestConfig;
+import fc.coupon.core.configuration.CouponIssueProperties;
+import fc.coupon.core.exception.CouponIssueException;
+import fc.coupon.core.exception.ErrorCode;
+import fc.coupon.core.model.Coupon;
+import fc.coupon.core.model.CouponType;
+import fc.coupon.core.repository.mysql.CouponJpaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.stream.LongStream;
+
+import static fc.coupon.core.util.CouponRedisUtils.getIssueRequestQueue;
+import static fc.coupon.core.util.CouponRedisUtils.getIssueTokenPoolKey;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TokenPoolAsyncCouponIssueServiceTest extends TestConfig {
+    @Autowired
+    TokenPoolAsyncCouponIssueService tokenPoolAsyncCouponIssueService;
+
+    @Autowired
+    RedisTemplate<String, String> redisTemplate;
+
+    @Autowired
+    CouponJpaRepository couponJpaRepository;
+
+    @Autowired
+    CouponIssueProperties couponIssueProperties;
+
+    @BeforeEach
+    void setUp() {
+        Collection<String> redisKeys = redisTemplate.keys("*");
+        redisTemplate.delete(redisKeys);
+    }
+
+    @Test
+    @DisplayName("토큰 생성 - 발급 수량만큼 토큰을 한번만 생성한다.")
+    void warm() {
+        // given
+        final Coupon coupon = saveCoupon(10);
+
+        // when
+        tokenPoolAsyncCouponIssueService.warm(coupon.getId(), coupon.getTotalQuantity());
+        tokenPoolAsyncCouponIssueService.warm(coupon.getId(), coupon.getTotalQuantity());
+
+        // then
+        assertThat(redisTemplate.opsForList().size(getIssueTokenPoolKey(coupon.getId()))).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("토큰 생성 - 스크립트 한번에 fillBatchSize 개씩 나눠서 발급 수량만큼 생성한다.")
+    void warm_batch() {
+        // given
+        final Coupon coupon = saveCoupon(10);
+        final int fillBatchSize = couponIssueProperties.getTokenPool().getFillBatchSize();
+        couponIssueProperties.getTokenPool().setFillBatchSize(3);
+
+        // when
+        final long count;
+        try {
+            count = tokenPoolAsyncCouponIssueService.warm(coupon.getId(), coupon.getTotalQuantity());
+        } finally {
+            couponIssueProperties.getTokenPool().setFillBatchSize(fillBatchSize);
+        }
+
+        // then
+        assertThat(count).isEqualTo(10);
+        assertThat(redisTemplate.opsForList().size(getIssueTokenPoolKey(coupon.getId()))).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("쿠폰 발급 - 토큰이 유실되면 발급 요청된 수량을 제외한 토큰을 다시 생성해 발급한다.")
+    void issue_tokenPoolLost() {
+        // given
+        final Coupon coupon = saveCoupon(10);
+        LongStream.rangeClosed(1, 3).forEach(userId -> tokenPoolAsyncCouponIssueService.issue(coupon.getId(), userId));
+        redisTemplate.delete(getIssueTokenPoolKey(coupon.getId()));
+
+        // when
+        tokenPoolAsyncCouponIssueService.issue(coupon.getId(), 4);
+
+        // then
+        assertThat(redisTemplate.opsForList().size(getIssueTokenPoolKey(coupon.getId()))).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("쿠폰 발급 - 토큰이 남아있다면 발급 요청을 성공하고 토큰을 하나 사용한다.")
+    void issue() {
+        // given
+        final Coupon coupon = saveCoupon(10);
+
+        // when
+        tokenPoolAsyncCouponIssueService.issue(coupon.getId(), 1);
+
+        // then
+        assertThat(redisTemplate.opsForList().size(getIssueTokenPoolKey(coupon.getId()))).isEqualTo(9);
+        assertThat(redisTemplate.opsForList().size(getIssueRequestQueue())).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("쿠폰 발급 - 토큰을 모두 사용하면 예외를 발생한다.")
+    void issue_notAvailableQuantity() {
+        // given
+        final Coupon coupon = saveCoupon(10);
+        LongStream.rangeClosed(1, 10).forEach(userId -> tokenPoolAsyncCouponIssueService.issue(coupon.getId(), userId));
+
+        // when
+        final CouponIssueException actual = assertThrows(CouponIssueException.class, () -> tokenPoolAsyncCouponIssueService.issue(coupon.getId(), 99));
+
+        // then
+        assertThat(actual.getErrorCode()).isEqualTo(ErrorCode.INVALID_COUPON_ISSUE_QUANTITY);
+    }
+
+    @Test
+    @DisplayName("쿠폰 발급 - 이미 발급 요청한 사용자는 토큰을 사용하지 않고 예외를 발생한다.")
+    void issue_duplicated() {
+        // given
+        final Coupon coupon = saveCoupon(10);
+        tokenPoolAsyncCouponIssueService.issue(coupon.getId(), 1);
+
+        // when
+        final CouponIssueException actual = assertThrows(CouponIssueException.class, () -> tokenPoolAsyncCouponIssueService.issue(coupon.getId(), 1));
+
+        // then
+        assertThat(actual.getErrorCode()).isEqualTo(ErrorCode.DUPLICATED_COUPON_ISSUE);
+        assertThat(redisTemplate.opsForList().size(getIssueTokenPoolKey(coupon.getId()))).isEqualTo(9);
+    }
+
+    private Coupon saveCoupon(Integer totalQuantity) {
+        final Coupon coupon = Coupon.builder().couponType(CouponType.FIRST_COME_FIRST_SERVED)
+                .title("선착순 테스트 쿠폰")
+                .totalQuantity(totalQuantity)
+                .issuedQuantity(0)
+                .dateIssueStart(LocalDateTime.now().minusDays(1))
+                .dateIssueEnd(LocalDateTime.now().plusDays(1))
+                .build();
+        return couponJpaRepository.save(coupon);
+    }
+}
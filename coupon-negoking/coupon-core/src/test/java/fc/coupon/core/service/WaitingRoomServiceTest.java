@@ -0,0 +1,187 @@
+package fc.coupon.core.service;
+
+import fc.coupon.core.TestConfig;
+import fc.coupon.core.exception.ErrorCode;
+import fc.coupon.core.model.Coupon;
+import fc.coupon.core.model.CouponType;
+import fc.coupon.core.repository.mysql.CouponJpaRepository;
+import fc.coupon.core.repository.redis.RedisRepository;
+import fc.coupon.core.repository.redis.dto.WaitingRoomStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+
+import static fc.coupon.core.util.CouponRedisUtils.getIssueRequestKey;
+import static fc.coupon.core.util.CouponRedisUtils.getWaitingRoomCouponsKey;
+import static fc.coupon.core.util.CouponRedisUtils.getWaitingRoomProcessingKey;
+import static fc.coupon.core.util.CouponRedisUtils.getWaitingRoomQueueKey;
+import static fc.coupon.core.util.CouponRedisUtils.getWaitingRoomResultKey;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WaitingRoomServiceTest extends TestConfig {
+    @Autowired
+    WaitingRoomService waitingRoomService;
+
+    @Autowired
+    CouponJpaRepository couponJpaRepository;
+
+    @Autowired
+    RedisRepository redisRepository;
+
+    @Autowired
+    RedisTemplate<String, String> redisTemplate;
+
+    @BeforeEach
+    void setUp() {
+        Collection<String> redisKeys = redisTemplate.keys("*");
+        redisTemplate.delete(redisKeys);
+    }
+
+    @Test
+    @DisplayName("대기열 등록 - 도착 순서대로 순번을 받고, 다시 등록해도 순번이 바뀌지 않는다.")
+    void enter() {
+        // given
+        Coupon coupon = saveCoupon(100, LocalDateTime.now().plusMinutes(1));
+
+        // when
+        WaitingRoomStatus first = waitingRoomService.enter(coupon.getId(), 1);
+        WaitingRoomStatus second = waitingRoomService.enter(coupon.getId(), 2);
+        WaitingRoomStatus again = waitingRoomService.enter(coupon.getId(), 1);
+
+        // then
+        assertThat(first.position()).isEqualTo(1);
+        assertThat(second.position()).isEqualTo(2);
+        assertThat(again.position()).isEqualTo(1);
+        assertThat(again.state()).isEqualTo(WaitingRoomStatus.State.WAITING);
+    }
+
+    @Test
+    @DisplayName("대기열 입장 - 발급이 시작되지 않았다면 입장시키지 않는다.")
+    void admit_beforeStart() {
+        // given
+        Coupon coupon = saveCoupon(100, LocalDateTime.now().plusMinutes(1));
+        waitingRoomService.enter(coupon.getId(), 1);
+
+        // when
+        int admitted = waitingRoomService.admit(coupon.getId());
+
+        // then
+        assertThat(admitted).isZero();
+        assertThat(waitingRoomService.getStatus(coupon.getId(), 1).state()).isEqualTo(WaitingRoomStatus.State.WAITING);
+    }
+
+    @Test
+    @DisplayName("대기열 입장 - 발급이 시작되면 대기 순서대로 발급하고 결과를 기록한다.")
+    void admit() {
+        // given
+        Coupon coupon = saveCoupon(1, LocalDateTime.now().minusMinutes(1));
+        waitingRoomService.enter(coupon.getId(), 1);
+        waitingRoomService.enter(coupon.getId(), 2);
+
+        // when
+        int admitted = waitingRoomService.admit(coupon.getId());
+
+        // then
+        WaitingRoomStatus first = waitingRoomService.getStatus(coupon.getId(), 1);
+        WaitingRoomStatus second = waitingRoomService.getStatus(coupon.getId(), 2);
+        assertThat(admitted).isEqualTo(2);
+        assertThat(first.state()).isEqualTo(WaitingRoomStatus.State.ADMITTED);
+        assertThat(first.result()).isEqualTo(WaitingRoomStatus.SUCCESS);
+        assertThat(second.result()).isEqualTo(ErrorCode.INVALID_COUPON_ISSUE_QUANTITY.name());
+        assertThat(redisTemplate.opsForSet().isMember(getIssueRequestKey(coupon.getId()), "1")).isTrue();
+    }
+
+    @Test
+    @DisplayName("대기열 등록 - 이미 입장했다면 다시 등록하지 않고 발급 결과를 반환한다.")
+    void enter_admitted() {
+        // given
+        Coupon coupon = saveCoupon(100, LocalDateTime.now().minusMinutes(1));
+        waitingRoomService.enter(coupon.getId(), 1);
+        waitingRoomService.admit(coupon.getId());
+
+        // when
+        WaitingRoomStatus status = waitingRoomService.enter(coupon.getId(), 1);
+
+        // then
+        assertThat(status.state()).isEqualTo(WaitingRoomStatus.State.ADMITTED);
+        assertThat(status.position()).isNull();
+        assertThat(waitingRoomService.admit(coupon.getId())).isZero();
+    }
+
+    @Test
+    @DisplayName("대기열 등록 - 쿠폰 목록이 유실되어도 다음 등록에서 다시 등록한다.")
+    void enter_couponsLost() {
+        // given
+        Coupon coupon = saveCoupon(100, LocalDateTime.now().plusMinutes(1));
+        waitingRoomService.enter(coupon.getId(), 1);
+        redisTemplate.delete(getWaitingRoomCouponsKey());
+
+        // when
+        waitingRoomService.enter(coupon.getId(), 2);
+
+        // then
+        assertThat(waitingRoomService.getWaitingCouponIds()).containsExactly(coupon.getId());
+    }
+
+    @Test
+    @DisplayName("대기열 입장 - 입장시킨 서버가 결과를 기록하지 못하고 종료되면 제한 시간 후 다시 입장시킨다.")
+    void admit_processingTimeout() {
+        // given
+        Coupon coupon = saveCoupon(100, LocalDateTime.now().minusMinutes(1));
+        waitingRoomService.enter(coupon.getId(), 1);
+        waitingRoomService.enter(coupon.getId(), 2);
+        redisRepository.admitWaitingRoom(getWaitingRoomQueueKey(coupon.getId()), getWaitingRoomResultKey(coupon.getId()),
+                getWaitingRoomProcessingKey(coupon.getId()), 1, Duration.ofHours(1), Duration.ofSeconds(30), WaitingRoomStatus.PROCESSING);
+        assertThat(waitingRoomService.getStatus(coupon.getId(), 1).result()).isEqualTo(WaitingRoomStatus.PROCESSING);
+        redisTemplate.opsForZSet().add(getWaitingRoomProcessingKey(coupon.getId()), "1", 0);
+
+        // when
+        int admitted = waitingRoomService.admit(coupon.getId());
+
+        // then
+        assertThat(admitted).isEqualTo(2);
+        assertThat(waitingRoomService.getStatus(coupon.getId(), 1).result()).isEqualTo(WaitingRoomStatus.SUCCESS);
+        assertThat(waitingRoomService.getStatus(coupon.getId(), 2).result()).isEqualTo(WaitingRoomStatus.SUCCESS);
+        assertThat(redisTemplate.opsForZSet().size(getWaitingRoomProcessingKey(coupon.getId()))).isZero();
+    }
+
+    @Test
+    @DisplayName("대기열 입장 - 대기열로 되돌려진 사용자의 이전 입장 결과는 기록하지 않는다.")
+    void complete_requeued() {
+        // given
+        Coupon coupon = saveCoupon(100, LocalDateTime.now().minusMinutes(1));
+        waitingRoomService.enter(coupon.getId(), 1);
+        redisRepository.admitWaitingRoom(getWaitingRoomQueueKey(coupon.getId()), getWaitingRoomResultKey(coupon.getId()),
+                getWaitingRoomProcessingKey(coupon.getId()), 1, Duration.ofHours(1), Duration.ofMillis(0), WaitingRoomStatus.PROCESSING);
+        redisRepository.admitWaitingRoom(getWaitingRoomQueueKey(coupon.getId()), getWaitingRoomResultKey(coupon.getId()),
+                getWaitingRoomProcessingKey(coupon.getId()), 0, Duration.ofHours(1), Duration.ofMillis(0), WaitingRoomStatus.PROCESSING);
+
+        // when
+        long recorded = redisRepository.completeWaitingRoom(getWaitingRoomResultKey(coupon.getId()), getWaitingRoomProcessingKey(coupon.getId()),
+                Map.of("1", ErrorCode.FAIL_COUPON_ISSUE_REQUEST.name()), Duration.ofHours(1));
+
+        // then
+        WaitingRoomStatus status = waitingRoomService.getStatus(coupon.getId(), 1);
+        assertThat(recorded).isZero();
+        assertThat(status.state()).isEqualTo(WaitingRoomStatus.State.WAITING);
+        assertThat(status.position()).isEqualTo(1);
+    }
+
+    private Coupon saveCoupon(int totalQuantity, LocalDateTime dateIssueStart) {
+        final Coupon coupon = Coupon.builder().couponType(CouponType.FIRST_COME_FIRST_SERVED)
+                .title("선착순 테스트 쿠폰")
+                .totalQuantity(totalQuantity)
+                .issuedQuantity(0)
+                .dateIssueStart(dateIssueStart)
+                .dateIssueEnd(LocalDateTime.now().plusDays(1))
+                .build();
+        return couponJpaRepository.save(coupon);
+    }
+}
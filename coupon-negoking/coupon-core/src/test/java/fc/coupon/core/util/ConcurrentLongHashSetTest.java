@@ -0,0 +1,85 @@
+package fc.coupon.core.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentLongHashSetTest {
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    @DisplayName("추가한 값은 포함되고, 같은 값을 다시 추가하면 false를 반환한다.")
+    void add(boolean offHeap) {
+        ConcurrentLongHashSet set = new ConcurrentLongHashSet(16, offHeap);
+
+        assertTrue(set.add(1));
+        assertFalse(set.add(1));
+
+        assertTrue(set.contains(1));
+        assertFalse(set.contains(2));
+        assertEquals(1, set.size());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    @DisplayName("0은 빈 슬롯과 구분해서 저장한다.")
+    void add_zero(boolean offHeap) {
+        ConcurrentLongHashSet set = new ConcurrentLongHashSet(16, offHeap);
+
+        assertFalse(set.contains(0));
+        assertTrue(set.add(0));
+        assertTrue(set.contains(0));
+        assertTrue(set.remove(0));
+        assertFalse(set.contains(0));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    @DisplayName("예상 크기를 초과해서 추가해도 모든 값을 포함한다.")
+    void add_resize(boolean offHeap) {
+        ConcurrentLongHashSet set = new ConcurrentLongHashSet(16, offHeap);
+
+        LongStream.rangeClosed(1, 100_000).forEach(set::add);
+
+        assertEquals(100_000, set.size());
+        assertTrue(LongStream.rangeClosed(1, 100_000).allMatch(set::contains));
+        assertFalse(set.contains(100_001));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    @DisplayName("값을 제거해도 같은 슬롯 묶음에 있는 나머지 값은 포함된다.")
+    void remove(boolean offHeap) {
+        ConcurrentLongHashSet set = new ConcurrentLongHashSet(1_000, offHeap);
+        LongStream.rangeClosed(1, 1_000).forEach(set::add);
+
+        LongStream.rangeClosed(1, 1_000).filter(value -> value % 2 == 0).forEach(set::remove);
+
+        assertEquals(500, set.size());
+        assertTrue(LongStream.rangeClosed(1, 1_000).allMatch(value -> set.contains(value) == (value % 2 == 1)));
+        assertFalse(set.remove(2));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    @DisplayName("여러 스레드에서 동시에 같은 값을 추가해도 한번만 추가된다.")
+    void add_concurrently(boolean offHeap) throws InterruptedException {
+        ConcurrentLongHashSet set = new ConcurrentLongHashSet(16, offHeap);
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+
+        for (int i = 0; i < 8; i++) {
+            executorService.execute(() -> LongStream.rangeClosed(1, 10_000).forEach(set::add));
+        }
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(10_000, set.size());
+    }
+}
@@ -0,0 +1,71 @@
+package fc.coupon.core.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CouponUserDedupTest {
+
+    @Test
+    @DisplayName("같은 사용자도 쿠폰별로 따로 기록한다.")
+    void add() {
+        CouponUserDedup dedup = new CouponUserDedup(16, false);
+
+        assertTrue(dedup.add(1, 100));
+        assertFalse(dedup.add(1, 100));
+        assertTrue(dedup.add(2, 100));
+
+        assertTrue(dedup.contains(1, 100));
+        assertFalse(dedup.contains(1, 200));
+        assertFalse(dedup.contains(3, 100));
+        assertEquals(1, dedup.size(1));
+    }
+
+    @Test
+    @DisplayName("쿠폰의 사용자를 제거하면 다른 쿠폰의 사용자는 유지된다.")
+    void clear() {
+        CouponUserDedup dedup = new CouponUserDedup(16, false);
+        dedup.add(1, 100);
+        dedup.add(2, 100);
+
+        dedup.clear(1);
+
+        assertFalse(dedup.contains(1, 100));
+        assertTrue(dedup.contains(2, 100));
+        assertEquals(0, dedup.size(1));
+    }
+
+    @Test
+    @DisplayName("기준 시간 이후로 사용하지 않은 쿠폰의 사용자만 제거한다.")
+    void evictAccessedBefore() throws InterruptedException {
+        CouponUserDedup dedup = new CouponUserDedup(16, false);
+        dedup.add(1, 100);
+        Thread.sleep(10);
+        final long accessedBefore = System.currentTimeMillis();
+        Thread.sleep(10);
+        dedup.add(2, 100);
+
+        final int evicted = dedup.evictAccessedBefore(accessedBefore);
+
+        assertEquals(1, evicted);
+        assertFalse(dedup.contains(1, 100));
+        assertTrue(dedup.contains(2, 100));
+    }
+
+    @Test
+    @DisplayName("조회한 쿠폰은 사용한 것으로 기록되어 제거되지 않는다.")
+    void evictAccessedBefore_contains() throws InterruptedException {
+        CouponUserDedup dedup = new CouponUserDedup(16, false);
+        dedup.add(1, 100);
+        Thread.sleep(10);
+        final long accessedBefore = System.currentTimeMillis();
+        Thread.sleep(10);
+        dedup.contains(1, 100);
+
+        final int evicted = dedup.evictAccessedBefore(accessedBefore);
+
+        assertEquals(0, evicted);
+        assertTrue(dedup.contains(1, 100));
+    }
+}
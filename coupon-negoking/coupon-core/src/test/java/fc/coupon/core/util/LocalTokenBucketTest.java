@@ -0,0 +1,52 @@
+package fc.coupon.core.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalTokenBucketTest {
+
+    @Test
+    @DisplayName("버킷 크기만큼 연속으로 허용하고 이후에는 거절한다.")
+    void tryAcquire_capacity() {
+        LocalTokenBucket bucket = new LocalTokenBucket(3, 0);
+
+        assertTrue(bucket.tryAcquire(3, 1, 0));
+        assertTrue(bucket.tryAcquire(3, 1, 0));
+        assertTrue(bucket.tryAcquire(3, 1, 0));
+        assertFalse(bucket.tryAcquire(3, 1, 0));
+    }
+
+    @Test
+    @DisplayName("지난 시간만큼 토큰을 채우고 버킷 크기를 넘지 않는다.")
+    void tryAcquire_refill() {
+        LocalTokenBucket bucket = new LocalTokenBucket(2, 0);
+        bucket.tryAcquire(2, 2, 0);
+        bucket.tryAcquire(2, 2, 0);
+
+        long halfSecond = TimeUnit.MILLISECONDS.toNanos(500);
+        assertTrue(bucket.tryAcquire(2, 2, halfSecond));
+        assertFalse(bucket.tryAcquire(2, 2, halfSecond));
+
+        long tenSeconds = TimeUnit.SECONDS.toNanos(10);
+        assertTrue(bucket.tryAcquire(2, 2, tenSeconds));
+        assertTrue(bucket.tryAcquire(2, 2, tenSeconds));
+        assertFalse(bucket.tryAcquire(2, 2, tenSeconds));
+    }
+
+    @Test
+    @DisplayName("돌려받은 토큰은 다시 사용할 수 있고 버킷 크기를 넘지 않는다.")
+    void release() {
+        LocalTokenBucket bucket = new LocalTokenBucket(1, 0);
+        assertTrue(bucket.tryAcquire(1, 1, 0));
+
+        bucket.release(1);
+        bucket.release(1);
+
+        assertTrue(bucket.tryAcquire(1, 1, 0));
+        assertFalse(bucket.tryAcquire(1, 1, 0));
+    }
+}
@@ -0,0 +1,47 @@
+package fc.coupon.core.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongBloomFilterTest {
+
+    @Test
+    @DisplayName("추가한 값은 항상 포함된다고 판단한다.")
+    void mightContain() {
+        LongBloomFilter filter = new LongBloomFilter(10_000, 0.01);
+
+        LongStream.rangeClosed(1, 10_000).forEach(filter::put);
+
+        assertTrue(LongStream.rangeClosed(1, 10_000).allMatch(filter::mightContain));
+    }
+
+    @Test
+    @DisplayName("예상 수량만큼 추가했을 때 추가하지 않은 값을 포함된다고 판단하는 비율은 fpp와 비슷하다.")
+    void falsePositiveRate() {
+        LongBloomFilter filter = new LongBloomFilter(10_000, 0.01);
+        LongStream.rangeClosed(1, 10_000).forEach(filter::put);
+
+        long falsePositives = LongStream.rangeClosed(10_001, 110_000).filter(filter::mightContain).count();
+
+        assertTrue(falsePositives / 100_000.0 < 0.02);
+        assertTrue(filter.expectedFpp() < 0.02);
+    }
+
+    @Test
+    @DisplayName("레디스 비트맵 순서(바이트의 상위 비트부터)로 기록된 비트를 합친다.")
+    void merge() {
+        LongBloomFilter filter = new LongBloomFilter(1_000, 0.01);
+        byte[] bitmap = new byte[(int) (filter.bitSize() / 8)];
+        for (long offset : filter.offsets(7)) {
+            bitmap[(int) (offset >>> 3)] |= (byte) (0x80 >>> (offset & 7));
+        }
+
+        filter.merge(bitmap);
+
+        assertTrue(filter.mightContain(7));
+    }
+}
@@ -0,0 +1,15 @@
+import random
+from locust import task, FastHttpUser
+
+class CouponIssueV1(FastHttpUser):
+    connection_timeout = 10
+    network_timeout = 10
+
+    @task
+    def issue(self):
+        payload = {
+            "userId" : random.randint(1, 10_000_000),
+            "couponId" : 3,
+        }
+        with self.rest("POST", "/v2/issue-async-reactive", json=payload):
+            pass
\ No newline at end of file
@@ -1,3 +1,3 @@
 rootProject.name = "coupon-negoking"
 
-include("coupon-core", "coupon-api", "coupon-consumer")
+include("coupon-core", "coupon-api", "coupon-consumer", "coupon-benchmark")